@@ -0,0 +1,58 @@
+package com.sliit.benchmark;
+
+import com.sliit.healthins.config.ApplicationConfig;
+import com.sliit.healthins.pattern.factory.DTOMapperImpl;
+import com.sliit.healthins.search.SearchIndex;
+import com.sliit.healthins.service.ClaimsService;
+import com.sliit.healthins.service.CustomerSupportService;
+import com.sliit.healthins.service.DashboardCounters;
+import com.sliit.healthins.service.DocumentStorageService;
+import com.sliit.healthins.service.IdGeneratorService;
+import com.sliit.healthins.service.PolicyCatalogService;
+import com.sliit.healthins.util.EmailSenderUtil;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * The services under benchmark on an in-memory H2 database, without the web layer,
+ * security, schedulers or the MySQL {@code DatabaseConfig}. Lives outside
+ * {@code com.sliit.healthins} so the application's component scan never sees it.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = SecurityAutoConfiguration.class)
+@EntityScan("com.sliit.healthins.model")
+@EnableJpaRepositories("com.sliit.healthins.repository")
+@Import({ApplicationConfig.class, DTOMapperImpl.class, SearchIndex.class, EmailSenderUtil.class, DashboardCounters.class,
+        PolicyCatalogService.class, IdGeneratorService.class, DocumentStorageService.class,
+        CustomerSupportService.class, ClaimsService.class})
+public class BenchmarkApplication {
+
+    /**
+     * Starts a context on a fresh H2 database named after {@code rows} and fills it with
+     * that many synthetic customers, policies and claims.
+     */
+    public static ConfigurableApplicationContext start(int rows) {
+        // Command-line arguments, so they win over src/main/resources/application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench" + rows + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--ids.node-id=0",
+                        "--documents.storage.root=target/benchmark-documents");
+        SyntheticData.load(context, rows);
+        return context;
+    }
+}
@@ -0,0 +1,65 @@
+package com.sliit.benchmark;
+
+import com.sliit.healthins.dto.CustomerDTO;
+import com.sliit.healthins.service.ClaimsService;
+import com.sliit.healthins.service.CustomerSupportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database-backed service paths against H2 holding {@code rows} customers, policies and
+ * claims (see {@link SyntheticData}). Each size gets its own fork and database; loading a
+ * million rows of each needs the larger heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class DatabaseBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private CustomerSupportService customerSupportService;
+    private ClaimsService claimsService;
+    private LocalDate reportFrom;
+    private LocalDate reportTo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(rows);
+        customerSupportService = context.getBean(CustomerSupportService.class);
+        claimsService = context.getBean(ClaimsService.class);
+        // One month of claims: about rows / 12
+        reportTo = LocalDate.now();
+        reportFrom = reportTo.minusDays(30);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerDTO> getAllCustomers() {
+        return customerSupportService.getAllCustomers();
+    }
+
+    @Benchmark
+    public List<CustomerDTO> searchCustomers() {
+        // Matches "Customer 4242", "Customer 42420".. so the result grows slowly with rows
+        return customerSupportService.searchCustomers("Customer 4242");
+    }
+
+    @Benchmark
+    public byte[] generateClaimsReport() {
+        return claimsService.generateClaimsReport(reportFrom, reportTo, "ALL");
+    }
+}
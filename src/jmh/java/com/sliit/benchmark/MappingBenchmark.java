@@ -0,0 +1,125 @@
+package com.sliit.benchmark;
+
+import com.sliit.healthins.config.ApplicationConfig;
+import com.sliit.healthins.dto.ClaimDTO;
+import com.sliit.healthins.dto.CustomerDTO;
+import com.sliit.healthins.model.Claim;
+import com.sliit.healthins.model.ClaimStatus;
+import com.sliit.healthins.model.Policy;
+import com.sliit.healthins.model.PolicyStatus;
+import com.sliit.healthins.model.Role;
+import com.sliit.healthins.model.User;
+import com.sliit.healthins.pattern.factory.DTOMapper;
+import com.sliit.healthins.pattern.factory.DTOMapperImpl;
+import com.sliit.healthins.pattern.factory.impl.GeneratedDTOFactory;
+import com.sliit.healthins.pattern.factory.impl.StandardDTOFactory;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping, reflective {@code ModelMapper} against the generated {@link DTOMapper}:
+ * single claims and customers (through {@link StandardDTOFactory} and {@link GeneratedDTOFactory}),
+ * and a claims list endpoint's worth of rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private static final int LIST_ROWS = 100_000;
+
+    private ModelMapper modelMapper;
+    private DTOMapper dtoMapper;
+    private StandardDTOFactory dtoFactory;
+    private GeneratedDTOFactory generatedDtoFactory;
+    private Claim claim;
+    private User customer;
+    private List<Claim> claims;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ApplicationConfig().modelMapper();
+        dtoMapper = new DTOMapperImpl();
+        dtoFactory = new StandardDTOFactory(modelMapper);
+        generatedDtoFactory = new GeneratedDTOFactory(dtoMapper);
+
+        customer = new User("user1", "secret", "Customer 1", "0771234567", "user1@example.com", "+94771234567",
+                true, Role.POLICYHOLDER);
+        customer.setId(1L);
+        Policy policy = new Policy("POL-1", PolicyStatus.ACTIVE, new BigDecimal("15000.00"),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1), customer, "Comprehensive Health Coverage");
+        policy.setId(1L);
+        customer.setPolicies(new ArrayList<>(List.of(policy)));
+
+        claim = new Claim();
+        claim.setId(1L);
+        claim.setClaimId("CLM-1");
+        claim.setStatus(ClaimStatus.PENDING);
+        claim.setAmount(1250.0);
+        claim.setClaimDate(LocalDate.of(2024, 6, 1));
+        claim.setNotes("Hospitalisation");
+        claim.setPolicy(policy);
+
+        claims = new ArrayList<>(LIST_ROWS);
+        for (long id = 1; id <= LIST_ROWS; id++) {
+            Claim row = new Claim();
+            row.setId(id);
+            row.setClaimId("CLM-" + id);
+            row.setStatus(ClaimStatus.PENDING);
+            row.setAmount(100.0 + id % 900);
+            row.setClaimDate(LocalDate.of(2024, 6, 1));
+            row.setNotes("Synthetic claim " + id);
+            row.setPolicy(policy);
+            claims.add(row);
+        }
+    }
+
+    @Benchmark
+    public ClaimDTO claimToDto() {
+        return modelMapper.map(claim, ClaimDTO.class);
+    }
+
+    @Benchmark
+    public ClaimDTO claimToDtoGenerated() {
+        return dtoMapper.toClaimDTO(claim);
+    }
+
+    @Benchmark
+    public CustomerDTO customerToDtoViaFactory() {
+        return dtoFactory.createCustomerDTO(customer);
+    }
+
+    @Benchmark
+    public CustomerDTO customerToDtoViaGeneratedFactory() {
+        return generatedDtoFactory.createCustomerDTO(customer);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<ClaimDTO> claimListToDto() {
+        List<ClaimDTO> result = new ArrayList<>(claims.size());
+        for (Claim row : claims) {
+            result.add(modelMapper.map(row, ClaimDTO.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<ClaimDTO> claimListToDtoGenerated() {
+        List<ClaimDTO> result = new ArrayList<>(claims.size());
+        for (Claim row : claims) {
+            result.add(dtoMapper.toClaimDTO(row));
+        }
+        return result;
+    }
+}
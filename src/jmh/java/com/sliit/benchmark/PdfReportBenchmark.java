@@ -0,0 +1,41 @@
+package com.sliit.benchmark;
+
+import com.sliit.healthins.util.PdfGeneratorUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PdfGeneratorUtil#generatePdf} for report bodies of increasing length, the way
+ * the admin, HR and marketing reports build them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfReportBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int lines;
+
+    private final PdfGeneratorUtil pdfGeneratorUtil = new PdfGeneratorUtil();
+    private String content;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 1; i <= lines; i++) {
+            builder.append("Row ").append(i).append(": CLM-").append(i).append(", PENDING, $").append(100 + i % 900)
+                    .append(".00, Customer ").append(i).append('\n');
+        }
+        content = builder.toString();
+    }
+
+    @Benchmark
+    public byte[] generatePdf() throws IOException {
+        return pdfGeneratorUtil.generatePdf("Claims Report - ALL", content);
+    }
+}
@@ -0,0 +1,64 @@
+package com.sliit.benchmark;
+
+import com.sliit.healthins.model.ClaimStatus;
+import com.sliit.healthins.model.PolicyStatus;
+import com.sliit.healthins.model.Role;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data: {@code rows} customers, each with one policy and one claim,
+ * claim dates spread over the last year. Inserted with plain JDBC batches because
+ * going through JPA would dominate set-up time at a million rows.
+ */
+final class SyntheticData {
+
+    private static final int BATCH = 10_000;
+    private static final long SEED = 20240101L;
+
+    private SyntheticData() {
+    }
+
+    static void load(ApplicationContext context, int rows) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDate today = LocalDate.now();
+        ClaimStatus[] claimStatuses = ClaimStatus.values();
+
+        List<Object[]> users = new ArrayList<>(BATCH);
+        List<Object[]> policies = new ArrayList<>(BATCH);
+        List<Object[]> claims = new ArrayList<>(BATCH);
+        for (long id = 1; id <= rows; id++) {
+            Timestamp created = Timestamp.valueOf(now.minusMinutes(rows - id));
+            users.add(new Object[]{id, "user" + id, "{noop}secret", "Customer " + id, "07" + id,
+                    "user" + id + "@example.com", "+94" + id, true,
+                    (id % 2 == 0 ? Role.POLICYHOLDER : Role.CUSTOMER).name(), created, created});
+            policies.add(new Object[]{id, "POL-" + id, PolicyStatus.ACTIVE.name(), 1000 + random.nextInt(20000),
+                    Date.valueOf(today.minusYears(1)), Date.valueOf(today.plusYears(1)), id, "Basic Health Coverage",
+                    created, created});
+            claims.add(new Object[]{id, "CLM-" + id, claimStatuses[random.nextInt(claimStatuses.length)].name(),
+                    100 + random.nextInt(5000) + random.nextDouble(), "N/A",
+                    Date.valueOf(today.minusDays(random.nextInt(365))), "Synthetic claim " + id, id, created, created});
+            if (users.size() == BATCH || id == rows) {
+                jdbc.batchUpdate("INSERT INTO users (id, username, password, name, contact, email, phone, is_active, role, " +
+                        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", users);
+                jdbc.batchUpdate("INSERT INTO policies (id, policy_number, status, premium_amount, start_date, end_date, " +
+                        "user_id, coverage, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", policies);
+                jdbc.batchUpdate("INSERT INTO claim (id, claim_id, status, amount, document_path, claim_date, notes, " +
+                        "policy_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", claims);
+                users.clear();
+                policies.clear();
+                claims.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.sliit.healthins.config;
+
+import com.sliit.healthins.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for {@code /api/**}, applied by {@link AdmissionControlFilter}.
+ * Requests are grouped by the first path segment after {@code /api/} ({@code claims},
+ * {@code customer}, ...; anything else is {@code other}), and each request must pass two
+ * checks:
+ * <ul>
+ *   <li>a token bucket per caller and group, refilled at {@code ApiConfigDTO.apiRateLimit}
+ *   requests per minute (falling back to {@code admission.rate-per-minute}) and holding
+ *   {@code admission.burst-seconds} worth of requests;</li>
+ *   <li>a cap on the group's requests in progress, {@code admission.max-concurrent} or the
+ *   group's {@code admission.max-concurrent.<group>}, overridable at runtime with the
+ *   {@code api.maxConcurrent.<group>} setting, so one slow group cannot take every
+ *   server thread and pooled connection.</li>
+ * </ul>
+ * Limits follow {@link SystemConfigChangedEvent}s. Refusals are counted as
+ * {@code http.admission.rejected} (tags {@code group}, {@code reason}); requests in progress
+ * per group are the {@code http.admission.in.flight} gauge.
+ */
+@Component
+public class AdmissionControl {
+
+    public static final String RATE_LIMIT_CONFIG = "api.apiRateLimit";
+    public static final String MAX_CONCURRENT_CONFIG_PREFIX = "api.maxConcurrent.";
+    static final String OTHER_GROUP = "other";
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControl.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final Set<String> groupNames;
+    private final int defaultRatePerMinute;
+    private final int defaultMaxConcurrent;
+    private final long burstSeconds;
+    private final LongSupplier nanoTime;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlightByGroup = new ConcurrentHashMap<>();
+    private volatile Limits limits;
+
+    @Autowired
+    public AdmissionControl(MeterRegistry meterRegistry, Environment environment,
+                               @Value("${admission.groups:admin,auth,claims,customer,customer-support,hr,marketing,search}") List<String> groups,
+                               @Value("${admission.rate-per-minute:1000}") int ratePerMinute,
+                               @Value("${admission.burst-seconds:10}") long burstSeconds,
+                               @Value("${admission.max-concurrent:32}") int maxConcurrent) {
+        this(meterRegistry, environment, groups, ratePerMinute, burstSeconds, maxConcurrent, System::nanoTime);
+    }
+
+    public AdmissionControl(MeterRegistry meterRegistry, Environment environment, List<String> groups,
+                               int ratePerMinute, long burstSeconds, int maxConcurrent, LongSupplier nanoTime) {
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.groupNames = Set.copyOf(groups);
+        this.defaultRatePerMinute = ratePerMinute;
+        this.burstSeconds = burstSeconds;
+        this.defaultMaxConcurrent = maxConcurrent;
+        this.nanoTime = nanoTime;
+        this.limits = limits(SystemConfigSnapshot.EMPTY);
+        for (String group : groupNames) {
+            inFlight(group);
+        }
+        inFlight(OTHER_GROUP);
+    }
+
+    /**
+     * The group for a servlet path, or null for paths outside {@code /api/}.
+     */
+    public String groupOf(String path) {
+        if (path == null || !path.startsWith("/api/")) {
+            return null;
+        }
+        int end = path.indexOf('/', 5);
+        String segment = end < 0 ? path.substring(5) : path.substring(5, end);
+        return groupNames.contains(segment) ? segment : OTHER_GROUP;
+    }
+
+    /**
+     * Admits a request from {@code caller} to {@code group}, or says why not and when to
+     * retry. An admitted request holds a slot in its group until {@link #release}.
+     */
+    public Optional<Rejection> admit(String group, String caller) {
+        Limits current = limits;
+        if (current.ratePerMinute() > 0) {
+            long intervalNanos = TimeUnit.MINUTES.toNanos(1) / current.ratePerMinute();
+            long capacity = Math.max(1, current.ratePerMinute() * burstSeconds / 60);
+            long waitNanos = buckets.computeIfAbsent(group + "|" + caller, key -> new TokenBucket())
+                    .tryAcquire(nanoTime.getAsLong(), intervalNanos, capacity);
+            if (waitNanos > 0) {
+                return Optional.of(reject(group, "rate", Duration.ofNanos(waitNanos)));
+            }
+        }
+        int maxConcurrent = current.maxConcurrent(group);
+        AtomicInteger active = inFlight(group);
+        while (true) {
+            int running = active.get();
+            if (maxConcurrent > 0 && running >= maxConcurrent) {
+                return Optional.of(reject(group, "concurrency", Duration.ofSeconds(1)));
+            }
+            if (active.compareAndSet(running, running + 1)) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    public void release(String group) {
+        inFlight(group).decrementAndGet();
+    }
+
+    @EventListener
+    public void onConfigChanged(SystemConfigChangedEvent event) {
+        boolean relevant = event.changedKeys().stream()
+                .anyMatch(key -> key.equals(RATE_LIMIT_CONFIG) || key.startsWith(MAX_CONCURRENT_CONFIG_PREFIX));
+        if (!relevant) {
+            return;
+        }
+        limits = limits(event.snapshot());
+        logger.info("API admission limits: {} requests/minute per caller, concurrency {}", limits.ratePerMinute(),
+                limits.maxConcurrent());
+    }
+
+    // Full buckets carry no state, so idle callers do not accumulate
+    @Scheduled(fixedDelay = 60000)
+    public void purgeIdle() {
+        long now = nanoTime.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private Rejection reject(String group, String reason, Duration retryAfter) {
+        Counter.builder("http.admission.rejected")
+                .tag("group", group)
+                .tag("reason", reason)
+                .description("API requests refused by admission control")
+                .register(meterRegistry)
+                .increment();
+        return new Rejection(reason, retryAfter);
+    }
+
+    private AtomicInteger inFlight(String group) {
+        return inFlightByGroup.computeIfAbsent(group, name -> {
+            AtomicInteger active = new AtomicInteger();
+            Gauge.builder("http.admission.in.flight", active, AtomicInteger::get)
+                    .tag("group", name)
+                    .description("API requests in progress")
+                    .register(meterRegistry);
+            return active;
+        });
+    }
+
+    private Limits limits(SystemConfigSnapshot snapshot) {
+        Map<String, Integer> maxConcurrent = new HashMap<>();
+        for (String group : groupNames) {
+            maxConcurrent.put(group, environment.getProperty("admission.max-concurrent." + group, Integer.class,
+                    defaultMaxConcurrent));
+        }
+        maxConcurrent.put(OTHER_GROUP, defaultMaxConcurrent);
+        snapshot.section("api").forEach((field, value) -> {
+            String group = field.startsWith("maxConcurrent.") ? field.substring("maxConcurrent.".length()) : null;
+            if (maxConcurrent.containsKey(group)) {
+                maxConcurrent.put(group, snapshot.getInt(MAX_CONCURRENT_CONFIG_PREFIX + group,
+                        maxConcurrent.get(group)));
+            }
+        });
+        return new Limits(snapshot.getInt(RATE_LIMIT_CONFIG, defaultRatePerMinute), Map.copyOf(maxConcurrent));
+    }
+
+    /**
+     * Why a request was refused ({@code rate} or {@code concurrency}) and when to try again.
+     */
+    public record Rejection(String reason, Duration retryAfter) {
+    }
+
+    // A non-positive rate or concurrency means unlimited
+    private record Limits(int ratePerMinute, Map<String, Integer> maxConcurrent) {
+
+        int maxConcurrent(String group) {
+            return maxConcurrent.getOrDefault(group, 0);
+        }
+    }
+}
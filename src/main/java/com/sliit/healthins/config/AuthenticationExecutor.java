@@ -0,0 +1,105 @@
+package com.sliit.healthins.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Small dedicated pool for CPU-heavy authentication work (password hashing), so a login
+ * storm is capped at {@code security.auth-executor.threads} cores and cannot starve the
+ * request threads serving everything else. Work beyond the bounded queue, or waiting
+ * longer than the timeout, fails fast as an {@link AuthenticationServiceException}.
+ * <p>
+ * Meters: {@code auth.executor.queue} (time waiting for a worker), {@code auth.executor.run}
+ * (time on a worker), {@code auth.executor.rejected} and the {@code auth.executor.queued} gauge.
+ */
+@Component
+public class AuthenticationExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Timer queueTimer;
+    private final Timer runTimer;
+    private final Counter rejected;
+
+    @Autowired
+    public AuthenticationExecutor(MeterRegistry meterRegistry,
+                                  @Value("${security.auth-executor.threads:0}") int threads,
+                                  @Value("${security.auth-executor.queue-capacity:200}") int queueCapacity,
+                                  @Value("${security.auth-executor.timeout-ms:10000}") long timeoutMillis) {
+        // 0 means half the cores: hashing never gets the whole machine
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "auth-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timeoutMillis = timeoutMillis;
+        this.queueTimer = Timer.builder("auth.executor.queue")
+                .description("Time authentication work waited for a worker").register(meterRegistry);
+        this.runTimer = Timer.builder("auth.executor.run")
+                .description("Time authentication work ran on a worker").register(meterRegistry);
+        this.rejected = Counter.builder("auth.executor.rejected")
+                .description("Authentication work refused because the pool was saturated").register(meterRegistry);
+        Gauge.builder("auth.executor.queued", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    public <T> T run(Supplier<T> work) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return work.get();
+                } finally {
+                    runTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new AuthenticationServiceException("Authentication is busy, please retry", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new AuthenticationServiceException("Authentication timed out, please retry", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Authentication interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new AuthenticationServiceException("Authentication failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,33 @@
+package com.sliit.healthins.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs hashing and verification of the wrapped encoder on the {@link AuthenticationExecutor}
+ * instead of the calling request thread.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AuthenticationExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, AuthenticationExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
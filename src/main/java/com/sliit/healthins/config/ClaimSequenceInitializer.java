@@ -0,0 +1,39 @@
+package com.sliit.healthins.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Claims moved from IDENTITY to the pooled {@code claim_seq} generator. On MySQL that is
+ * a one-row table which {@code ddl-auto=update} creates starting at 1, below the ids
+ * already in {@code claim}; this moves it past the highest existing id (plus one
+ * allocation block) before anything inserts claims. Depends on the entity manager
+ * factory so it runs after the schema update.
+ */
+@Component
+public class ClaimSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimSequenceInitializer.class);
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClaimSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignClaimSequence() {
+        try {
+            jdbcTemplate.update("UPDATE claim_seq SET next_val = GREATEST(next_val, " +
+                    "(SELECT COALESCE(MAX(id), 0) FROM claim) + " + (ALLOCATION_SIZE + 1) + ")");
+        } catch (Exception e) {
+            // Databases with native sequences (e.g. H2 in tests) have no claim_seq table
+            logger.warn("Could not align claim_seq with existing claims: {}", e.getMessage());
+        }
+    }
+}
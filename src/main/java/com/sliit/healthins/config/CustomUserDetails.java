@@ -1,6 +1,7 @@
 package com.sliit.healthins.config;
 
-import com.sliit.healthins.model.User;
+import com.sliit.healthins.dto.UserPrincipalDTO;
+import com.sliit.healthins.model.Role;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,25 +10,25 @@ import java.util.Collection;
 import java.util.Collections;
 
 public class CustomUserDetails implements UserDetails {
-    private final User user;
+    private final UserPrincipalDTO principal;
 
-    public CustomUserDetails(User user) {
-        this.user = user;
+    public CustomUserDetails(UserPrincipalDTO principal) {
+        this.principal = principal;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singleton(new SimpleGrantedAuthority("ROLE_" + user.getRole().name().toUpperCase()));
+        return Collections.singleton(new SimpleGrantedAuthority("ROLE_" + principal.getRole().name().toUpperCase()));
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return principal.getPassword();
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return principal.getUsername();
     }
 
     @Override
@@ -49,16 +50,24 @@ public class CustomUserDetails implements UserDetails {
     public boolean isEnabled() {
         // For CUSTOMER and POLICYHOLDER roles, allow login if user exists (they can activate later)
         // For other roles, require isActive to be true
-        if (user.getRole() == com.sliit.healthins.model.Role.CUSTOMER || 
-            user.getRole() == com.sliit.healthins.model.Role.POLICYHOLDER) {
+        if (principal.getRole() == Role.CUSTOMER ||
+            principal.getRole() == Role.POLICYHOLDER) {
             // Customers should be able to log in if they exist in database
             // If inactive, we'll auto-activate them on first login
             return true;
         }
-        return user.isActive();
+        return principal.isActive();
     }
 
-    public User getUser() {
-        return user;
+    public UserPrincipalDTO getPrincipal() {
+        return principal;
+    }
+
+    public Long getId() {
+        return principal.getId();
+    }
+
+    public Role getRole() {
+        return principal.getRole();
     }
 }
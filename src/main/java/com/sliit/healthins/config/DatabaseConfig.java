@@ -34,6 +34,8 @@ public class DatabaseConfig {
         dataSource.setUsername(username);
         dataSource.setPassword(password);
         dataSource.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        // Names the hikaricp.* meters' pool tag
+        dataSource.setPoolName("health-ins");
         dataSource.setMinimumIdle(5);
         dataSource.setMaximumPoolSize(20);
         dataSource.setAutoCommit(true);
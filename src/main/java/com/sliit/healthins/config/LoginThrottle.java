@@ -0,0 +1,167 @@
+package com.sliit.healthins.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts failed logins per username and per client IP in a fixed window of
+ * {@code security.login.lockout-seconds}. Once either reaches its limit, further login
+ * attempts for that key are refused until the window ends, before any password hashing
+ * is spent on them. A successful login clears the username's count.
+ * <p>
+ * The client IP is {@code request.getRemoteAddr()}, which is the forwarded client address
+ * only behind a trusted proxy ({@code server.forward-headers-strategy}); a per-IP limit of 0
+ * turns IP counting off. Counts are per node: without sticky sessions, N nodes allow up to
+ * N times either limit.
+ * <p>
+ * The per-username limit is {@code SecurityConfigDTO.maxLoginAttempts}, stored by
+ * {@link SystemConfigStore} under {@value #MAX_ATTEMPTS_CONFIG}; it falls back to
+ * {@code security.login.max-attempts} while no valid value is stored.
+ */
+@Component
+public class LoginThrottle {
+
+    public static final String MAX_ATTEMPTS_CONFIG = "security.maxLoginAttempts";
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private final Map<String, Window> failures = new ConcurrentHashMap<>();
+    private final Counter throttled;
+    private final int maxAttemptsPerIp;
+    private final Duration lockout;
+    private final Clock clock;
+    private final int defaultMaxAttempts;
+    private volatile int maxAttempts;
+
+    @Autowired
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${security.login.max-attempts:5}") int maxAttempts,
+                         @Value("${security.login.max-attempts-per-ip:50}") int maxAttemptsPerIp,
+                         @Value("${security.login.lockout-seconds:900}") long lockoutSeconds) {
+        this(meterRegistry, maxAttempts, maxAttemptsPerIp, Duration.ofSeconds(lockoutSeconds), Clock.systemUTC());
+    }
+
+    public LoginThrottle(MeterRegistry meterRegistry, int maxAttempts, int maxAttemptsPerIp, Duration lockout,
+                         Clock clock) {
+        this.defaultMaxAttempts = maxAttempts;
+        this.maxAttempts = maxAttempts;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.lockout = lockout;
+        this.clock = clock;
+        this.throttled = Counter.builder("auth.login.throttled")
+                .description("Login attempts refused by the failed-attempt limit").register(meterRegistry);
+    }
+
+    @EventListener
+    public void onConfigChanged(SystemConfigChangedEvent event) {
+        if (!event.changed(MAX_ATTEMPTS_CONFIG)) {
+            return;
+        }
+        int limit = event.snapshot().getInt(MAX_ATTEMPTS_CONFIG, defaultMaxAttempts);
+        if (limit < 1) {
+            logger.warn("Ignoring stored {}={}; keeping {}", MAX_ATTEMPTS_CONFIG, limit, maxAttempts);
+            return;
+        }
+        maxAttempts = limit;
+        logger.info("Login throttle: {} attempts per username, {} per IP, window {}", maxAttempts, maxAttemptsPerIp, lockout);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Time left before the username or IP may try again, or empty if neither is blocked.
+     */
+    public Optional<Duration> blockedFor(String username, String ip) {
+        Instant now = clock.instant();
+        Optional<Duration> blocked = remaining(userKey(username), maxAttempts, now)
+                .or(() -> maxAttemptsPerIp > 0 ? remaining(ipKey(ip), maxAttemptsPerIp, now) : Optional.empty());
+        blocked.ifPresent(duration -> throttled.increment());
+        return blocked;
+    }
+
+    public void recordFailure(String username, String ip) {
+        Instant now = clock.instant();
+        increment(userKey(username), now);
+        if (maxAttemptsPerIp > 0) {
+            increment(ipKey(ip), now);
+        }
+    }
+
+    public void recordSuccess(String username) {
+        failures.remove(userKey(username));
+    }
+
+    @EventListener
+    public void onFailure(AuthenticationFailureBadCredentialsEvent event) {
+        recordFailure(event.getAuthentication().getName(), currentIp());
+    }
+
+    @EventListener
+    public void onSuccess(AuthenticationSuccessEvent event) {
+        recordSuccess(event.getAuthentication().getName());
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        failures.values().removeIf(window -> window.isOver(now, lockout));
+    }
+
+    private Optional<Duration> remaining(String key, int limit, Instant now) {
+        Window window = key == null ? null : failures.get(key);
+        if (window == null || window.count() < limit || window.isOver(now, lockout)) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.between(now, window.start().plus(lockout)));
+    }
+
+    private void increment(String key, Instant now) {
+        if (key == null) {
+            return;
+        }
+        failures.compute(key, (k, window) -> window == null || window.isOver(now, lockout)
+                ? new Window(now, 1)
+                : new Window(window.start(), window.count() + 1));
+    }
+
+    private static String userKey(String username) {
+        return username == null ? null : "user:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String ip) {
+        return ip == null ? null : "ip:" + ip;
+    }
+
+    private static String currentIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest().getRemoteAddr() : null;
+    }
+
+    private record Window(Instant start, int count) {
+        boolean isOver(Instant now, Duration lockout) {
+            return !now.isBefore(start.plus(lockout));
+        }
+    }
+}
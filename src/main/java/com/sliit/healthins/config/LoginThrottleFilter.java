@@ -0,0 +1,54 @@
+package com.sliit.healthins.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Refuses login submissions for a username or IP that {@link LoginThrottle} has blocked,
+ * before the request reaches password verification. Not a bean: {@link SecurityConfig}
+ * adds it to the security chain.
+ */
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LOGIN_PATHS = Set.of("/login", "/api/auth/login");
+
+    private final LoginThrottle loginThrottle;
+
+    public LoginThrottleFilter(LoginThrottle loginThrottle) {
+        this.loginThrottle = loginThrottle;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !LOGIN_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<Duration> blocked = loginThrottle.blockedFor(request.getParameter("username"), request.getRemoteAddr());
+        if (blocked.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long retryAfter = Math.max(1, blocked.get().toSeconds());
+        if (request.getServletPath().startsWith("/api/")) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Too many failed login attempts, retry in " + retryAfter + " seconds\"}");
+        } else {
+            response.sendRedirect("/login.html?error=locked");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.sliit.healthins.config;
+
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * {@link JavaMailSender} whose SMTP settings follow the admin email settings
+ * ({@code SystemConfigStore.EMAIL}), falling back to {@code spring.mail.*} for anything not
+ * stored. The password always comes from {@code spring.mail.password}. A change builds a new {@link JavaMailSenderImpl} and swaps it in, so a send
+ * already in progress finishes on the settings it started with.
+ */
+public class ReconfigurableMailSender implements JavaMailSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconfigurableMailSender.class);
+
+    private final String defaultHost;
+    private final int defaultPort;
+    private final String defaultUsername;
+    private final String defaultPassword;
+    private volatile JavaMailSenderImpl delegate;
+
+    public ReconfigurableMailSender(String host, int port, String username, String password) {
+        this.defaultHost = host;
+        this.defaultPort = port;
+        this.defaultUsername = username;
+        this.defaultPassword = password;
+        this.delegate = create(host, port, username, password, false);
+    }
+
+    @EventListener
+    public void onConfigChanged(SystemConfigChangedEvent event) {
+        if (!event.sectionChanged(SystemConfigStore.EMAIL)) {
+            return;
+        }
+        SystemConfigSnapshot settings = event.snapshot();
+        String host = settings.getString("email.smtpServer", defaultHost);
+        int port = settings.getInt("email.smtpPort", defaultPort);
+        delegate = create(host, port,
+                settings.getString("email.smtpUsername", defaultUsername),
+                defaultPassword,
+                settings.getBoolean("email.smtpSSL", false));
+        logger.info("Mail sender now using {}:{}", host, port);
+    }
+
+    private static JavaMailSenderImpl create(String host, int port, String username, String password, boolean ssl) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(host);
+        mailSender.setPort(port);
+        mailSender.setUsername(username);
+        mailSender.setPassword(password);
+
+        Properties props = mailSender.getJavaMailProperties();
+        props.put("mail.smtp.auth", "true");
+        props.put("mail.smtp.starttls.enable", "true");
+        props.put("mail.smtp.ssl.enable", String.valueOf(ssl));
+        props.put("mail.smtp.ssl.trust", host);
+        // Bound every SMTP step so a stalled server cannot pin outbox workers
+        props.put("mail.smtp.connectiontimeout", "10000");
+        props.put("mail.smtp.timeout", "10000");
+        props.put("mail.smtp.writetimeout", "10000");
+        return mailSender;
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return delegate.createMimeMessage();
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) {
+        return delegate.createMimeMessage(contentStream);
+    }
+
+    @Override
+    public void send(MimeMessage mimeMessage) {
+        delegate.send(mimeMessage);
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) {
+        delegate.send(mimeMessages);
+    }
+
+    @Override
+    public void send(MimeMessagePreparator mimeMessagePreparator) {
+        delegate.send(mimeMessagePreparator);
+    }
+
+    @Override
+    public void send(MimeMessagePreparator... mimeMessagePreparators) {
+        delegate.send(mimeMessagePreparators);
+    }
+
+    @Override
+    public void send(SimpleMailMessage simpleMessage) {
+        delegate.send(simpleMessage);
+    }
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) {
+        delegate.send(simpleMessages);
+    }
+}
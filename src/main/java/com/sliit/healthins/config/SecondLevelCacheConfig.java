@@ -0,0 +1,131 @@
+package com.sliit.healthins.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate second-level cache for reference data that is read far more often than it is
+ * written. Each cached entity (and the segment member collection) gets its own Caffeine
+ * region, bounded in entries and expiring entries a fixed time after they were written;
+ * defaults are below and can be overridden with {@code cache.l2.<region>.max-size} and
+ * {@code cache.l2.<region>.ttl-seconds}. Cacheable repository queries share the query results
+ * region. The update timestamps region is never bounded or expired, since Hibernate relies
+ * on it to tell whether a cached query result is stale.
+ * <p>
+ * Regions live in this node's memory only; another node's write does not evict them. Only
+ * entities whose staleness up to the region TTL is acceptable belong here; settings that
+ * must reach every node promptly (such as {@code SystemConfig}) are kept out.
+ * <p>
+ * Each application context gets its own JCache {@code CacheManager} under a unique URI, so
+ * a second context in the same JVM (tests, devtools restarts) does not find the regions
+ * already created in the JVM-wide default manager.
+ * <p>
+ * Per-region hits, misses and hit ratio are published as {@code hibernate.cache.region.*}
+ * meters (tag {@code region}) from Hibernate's statistics.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheConfig.class);
+
+    public static final String CAMPAIGN = "campaign";
+    public static final String CUSTOMER_SEGMENT = "customerSegment";
+    public static final String CUSTOMER_SEGMENT_MEMBERS = "customerSegment.customerIds";
+    public static final String EMPLOYEE = "employee";
+
+    static final List<Region> REGIONS = List.of(
+            new Region(CAMPAIGN, 2_000, Duration.ofMinutes(10)),
+            new Region(CUSTOMER_SEGMENT, 1_000, Duration.ofMinutes(10)),
+            // One entry per segment, but each holds the segment's whole member list
+            new Region(CUSTOMER_SEGMENT_MEMBERS, 100, Duration.ofMinutes(10)),
+            new Region(EMPLOYEE, 5_000, Duration.ofMinutes(30)),
+            new Region(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, 1_000, Duration.ofMinutes(5)));
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("urn:healthins:l2:" + UUID.randomUUID()),
+                SecondLevelCacheConfig.class.getClassLoader());
+        for (Region region : REGIONS) {
+            if (cacheManager.getCache(region.name()) != null) {
+                continue;
+            }
+            long maxSize = environment.getProperty("cache.l2." + region.name() + ".max-size", Long.class,
+                    region.maxSize());
+            long ttlSeconds = environment.getProperty("cache.l2." + region.name() + ".ttl-seconds", Long.class,
+                    region.ttl().toSeconds());
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+            cacheManager.createCache(region.name(), configuration);
+            logger.info("Second-level cache region {}: max {} entries, ttl {}s", region.name(), maxSize, ttlSeconds);
+        }
+        if (cacheManager.getCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME) == null) {
+            cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                    new CaffeineConfiguration<>());
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (Region region : REGIONS) {
+                String name = region.name();
+                FunctionCounter.builder("hibernate.cache.region.hits", statistics,
+                                stats -> count(stats, name, CacheRegionStatistics::getHitCount))
+                        .tag("region", name).description("Second-level cache hits").register(registry);
+                FunctionCounter.builder("hibernate.cache.region.misses", statistics,
+                                stats -> count(stats, name, CacheRegionStatistics::getMissCount))
+                        .tag("region", name).description("Second-level cache misses").register(registry);
+                Gauge.builder("hibernate.cache.region.hit.ratio", statistics, stats -> hitRatio(stats, name))
+                        .tag("region", name).description("Hits over lookups since start-up").register(registry);
+            }
+        };
+    }
+
+    private static double count(Statistics statistics, String region, ToDoubleFunction<CacheRegionStatistics> counter) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        return regionStatistics == null ? 0 : counter.applyAsDouble(regionStatistics);
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        double hits = count(statistics, region, CacheRegionStatistics::getHitCount);
+        double lookups = hits + count(statistics, region, CacheRegionStatistics::getMissCount);
+        return lookups == 0 ? Double.NaN : hits / lookups;
+    }
+
+    record Region(String name, long maxSize, Duration ttl) {
+    }
+}
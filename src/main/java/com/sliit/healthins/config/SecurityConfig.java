@@ -1,28 +1,40 @@
 package com.sliit.healthins.config;
 
 import com.sliit.healthins.repository.UserRepository;
-import com.sliit.healthins.model.User;
+import com.sliit.healthins.dto.UserPrincipalDTO;
+import com.sliit.healthins.model.Role;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
+import org.springframework.security.config.annotation.web.configurers.ExceptionHandlingConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -32,30 +44,52 @@ public class SecurityConfig {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private ObjectProvider<TokenService> tokenService;
+
+    @Autowired
+    private ObjectProvider<TokenRevocationList> tokenRevocationList;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    /**
+     * Token mode only: {@code /api/**} authenticates bearer tokens and never creates a session,
+     * so any node can serve an API client. A session the UI's form login created is still
+     * honoured here, which keeps the HTML pages' own API calls working; those browser users
+     * need session affinity at the load balancer, as in session mode.
+     */
+    @Bean
+    @Order(1)
+    @ConditionalOnProperty(name = "security.auth.mode", havingValue = "token")
+    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/api/**")
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(this::authorizeRequests)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.NEVER))
+                .exceptionHandling(this::handleAuthFailures);
+
+        http.addFilterBefore(new LoginThrottleFilter(loginThrottle), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(new TokenAuthenticationFilter(tokenService.getObject(), tokenRevocationList.getObject()),
+                UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(new AdmissionControlFilter(admissionControl), AnonymousAuthenticationFilter.class);
+
+        return http.build();
+    }
+
+    // Form login and the HTML UI, in both modes; in token mode /api/** is served by apiSecurityFilterChain
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF for stateless APIs; enable with token in production
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/public/**").permitAll() // Public endpoints
-                        .requestMatchers("/api/auth/**").permitAll() // Authentication endpoints
-                        .requestMatchers("/api/customer_support/**").hasRole("CUSTOMER_SERVICE") // Customer service API endpoints
-                        .requestMatchers("/api/admin/**").hasRole("ADMIN") // Admin-only API endpoints
-                        .requestMatchers("/api/claims/**").hasRole("CLAIMS_PROCESSING") // Claims processing API endpoints
-                        .requestMatchers("/admin-system-settings.html").hasRole("ADMIN") // Static HTML pages
-                        .requestMatchers("/claims-processing.html").hasRole("CLAIMS_PROCESSING")
-                        .requestMatchers("/customer-support.html").hasRole("CUSTOMER_SERVICE")
-                        .requestMatchers("/customer_support.html").hasRole("CUSTOMER_SERVICE")
-                        .requestMatchers("/hr-manager.html").hasRole("HR")
-                        .requestMatchers("/marketing-manager.html").hasRole("MARKETING")
-                        .requestMatchers("/customer-portal.html").hasAnyRole("CUSTOMER", "POLICYHOLDER")
-                        .requestMatchers("/login.html").permitAll() // Public login page
-                        .requestMatchers("/dashboard").authenticated() // Role-based dashboard
-                        .requestMatchers("/dashboard.html").authenticated() // Requires any authenticated user
-                        .requestMatchers("/*.css", "/*.js", "/*.jpg", "/*.jpeg", "/*.png", "/*.gif", "/*.svg", "/*.ico").permitAll() // Allow static resources
-                        .requestMatchers("/images/**", "/css/**", "/js/**").permitAll() // Allow static resource folders
-                        .anyRequest().authenticated() // All other requests need authentication
-                )
+                .authorizeHttpRequests(this::authorizeRequests)
                   // Enable basic authentication
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)) // Allow sessions for form login
                 .formLogin(form -> form
@@ -69,51 +103,102 @@ public class SecurityConfig {
                         .permitAll() // Allow logout for all
                         .logoutUrl("/logout") // Default logout URL
                 )
-                .exceptionHandling(ex -> ex
-                        .accessDeniedHandler((request, response, e) -> {
-                            if (request.getRequestURI().startsWith("/api/")) {
-                                response.setStatus(403);
-                                response.setContentType("application/json");
-                                response.getWriter().write("{\"error\": \"Access Denied\"}");
-                            } else {
-                                response.sendError(403, "Access Denied");
-                            }
-                        })
-                        .authenticationEntryPoint((request, response, e) -> {
-                            if (request.getRequestURI().startsWith("/api/")) {
-                                response.setStatus(401);
-                                response.setContentType("application/json");
-                                response.getWriter().write("{\"error\": \"Unauthorized - Please login\"}");
-                            } else {
-                                response.sendRedirect("/login.html");
-                            }
-                        })
-                );
+                .exceptionHandling(this::handleAuthFailures);
+
+        http.addFilterBefore(new LoginThrottleFilter(loginThrottle), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(new AdmissionControlFilter(admissionControl), AnonymousAuthenticationFilter.class);
 
         return http.build();
     }
 
+    private void authorizeRequests(AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry auth) {
+        auth
+                .requestMatchers("/api/public/**").permitAll() // Public endpoints
+                .requestMatchers("/api/auth/**").permitAll() // Authentication endpoints
+                .requestMatchers("/api/customer_support/**").hasRole("CUSTOMER_SERVICE") // Customer service API endpoints
+                .requestMatchers("/api/admin/**").hasRole("ADMIN") // Admin-only API endpoints
+                .requestMatchers("/actuator/health").permitAll() // Load balancer health checks
+                .requestMatchers("/actuator/**").hasRole("ADMIN") // Metrics
+                .requestMatchers("/api/claims/**").hasRole("CLAIMS_PROCESSING") // Claims processing API endpoints
+                .requestMatchers("/admin-system-settings.html").hasRole("ADMIN") // Static HTML pages
+                .requestMatchers("/claims-processing.html").hasRole("CLAIMS_PROCESSING")
+                .requestMatchers("/customer-support.html").hasRole("CUSTOMER_SERVICE")
+                .requestMatchers("/customer_support.html").hasRole("CUSTOMER_SERVICE")
+                .requestMatchers("/hr-manager.html").hasRole("HR")
+                .requestMatchers("/marketing-manager.html").hasRole("MARKETING")
+                .requestMatchers("/customer-portal.html").hasAnyRole("CUSTOMER", "POLICYHOLDER")
+                .requestMatchers("/login.html").permitAll() // Public login page
+                .requestMatchers("/dashboard").authenticated() // Role-based dashboard
+                .requestMatchers("/dashboard.html").authenticated() // Requires any authenticated user
+                .requestMatchers("/*.css", "/*.js", "/*.jpg", "/*.jpeg", "/*.png", "/*.gif", "/*.svg", "/*.ico").permitAll() // Allow static resources
+                .requestMatchers("/images/**", "/css/**", "/js/**").permitAll() // Allow static resource folders
+                .anyRequest().authenticated(); // All other requests need authentication
+    }
+
+    private void handleAuthFailures(ExceptionHandlingConfigurer<HttpSecurity> ex) {
+        ex
+                .accessDeniedHandler((request, response, e) -> {
+                    if (request.getRequestURI().startsWith("/api/")) {
+                        response.setStatus(403);
+                        response.setContentType("application/json");
+                        response.getWriter().write("{\"error\": \"Access Denied\"}");
+                    } else {
+                        response.sendError(403, "Access Denied");
+                    }
+                })
+                .authenticationEntryPoint((request, response, e) -> {
+                    if (request.getRequestURI().startsWith("/api/")) {
+                        response.setStatus(401);
+                        response.setContentType("application/json");
+                        response.getWriter().write("{\"error\": \"Unauthorized - Please login\"}");
+                    } else {
+                        response.sendRedirect("/login.html");
+                    }
+                });
+    }
+
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> {
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return username -> userDetailsCache.get(username, name -> {
+            UserPrincipalDTO principal = userRepository.findPrincipalByUsername(name)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + name));
             
             // Auto-activate customers and policyholders if they exist in database
             // This ensures existing customers can log in
-            if ((user.getRole() == com.sliit.healthins.model.Role.CUSTOMER || 
-                 user.getRole() == com.sliit.healthins.model.Role.POLICYHOLDER) && 
-                !user.isActive()) {
-                user.setActive(true);
-                userRepository.save(user);
+            if ((principal.getRole() == Role.CUSTOMER ||
+                 principal.getRole() == Role.POLICYHOLDER) &&
+                !principal.isActive()) {
+                userRepository.activate(principal.getId());
+                principal.setActive(true);
             }
             
-            return new CustomUserDetails(user);
+            return new CustomUserDetails(principal);
+        });
+    }
+    /**
+     * Re-hashes a password with the current encoder after a successful login whose stored
+     * hash is outdated (no {bcrypt} id, or a lower bcrypt cost than configured).
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> {
+            CustomUserDetails details = (CustomUserDetails) user;
+            userRepository.updatePassword(details.getId(), newPassword);
+            userDetailsCache.evict(details.getUsername());
+            UserPrincipalDTO current = details.getPrincipal();
+            return new CustomUserDetails(new UserPrincipalDTO(current.getId(), current.getUsername(), newPassword,
+                    current.getName(), current.getEmail(), current.getRole(), current.isActive()));
         };
     }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(AuthenticationExecutor authenticationExecutor,
+                                           @Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Hashes stored before ids were introduced are plain bcrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(encoder, authenticationExecutor);
     }
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
@@ -125,18 +210,8 @@ public class SecurityConfig {
         return new AuthenticationSuccessHandler() {
             @Override
             public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) throws IOException, ServletException {
-                String username = authentication.getName();
-                User user = userRepository.findByUsername(username).orElse(null);
-                
-                if (user != null) {
-                    // Ensure customer/policyholder is activated after successful login
-                    if ((user.getRole() == com.sliit.healthins.model.Role.CUSTOMER || 
-                         user.getRole() == com.sliit.healthins.model.Role.POLICYHOLDER) && 
-                        !user.isActive()) {
-                        user.setActive(true);
-                        userRepository.save(user);
-                    }
-                    
+                // The principal was loaded (and customers activated) by userDetailsService
+                if (authentication.getPrincipal() instanceof CustomUserDetails user) {
                     switch (user.getRole()) {
                         case ADMIN:
                             response.sendRedirect("/admin-system-settings.html");
@@ -0,0 +1,110 @@
+package com.sliit.healthins.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Times every public method of every {@code @Service} bean as {@code service.method}
+ * (tags {@code class}, {@code method}, {@code exception}), and records report generation
+ * as {@code report.generation} plus the produced size as the {@code report.size} summary,
+ * tagged {@code report=Class.method}. Reports are the {@code generate*} methods returning
+ * {@code byte[]} and the {@code stream*Report} methods writing to an {@link OutputStream},
+ * whose stream is wrapped to count bytes.
+ * <p>
+ * Controllers are covered by Spring Boot's {@code http.server.requests}; percentiles and
+ * histograms for all three are configured under {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("service.method")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Around("execution(public byte[] com.sliit.healthins.service..*.generate*(..))")
+    public Object measureReport(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        byte[] report = (byte[]) joinPoint.proceed();
+        String name = reportName(joinPoint);
+        sample.stop(reportTimer(name));
+        if (report != null) {
+            reportSize(name).record(report.length);
+        }
+        return report;
+    }
+
+    @Around("execution(public void com.sliit.healthins.service..*.stream*Report(.., java.io.OutputStream))")
+    public Object measureStreamedReport(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        CountingOutputStream counting = new CountingOutputStream((OutputStream) args[args.length - 1]);
+        args[args.length - 1] = counting;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result = joinPoint.proceed(args);
+        String name = reportName(joinPoint);
+        sample.stop(reportTimer(name));
+        reportSize(name).record(counting.count);
+        return result;
+    }
+
+    private Timer reportTimer(String name) {
+        return Timer.builder("report.generation").tag("report", name).register(meterRegistry);
+    }
+
+    private DistributionSummary reportSize(String name) {
+        return DistributionSummary.builder("report.size").baseUnit("bytes").tag("report", name).register(meterRegistry);
+    }
+
+    private static String reportName(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
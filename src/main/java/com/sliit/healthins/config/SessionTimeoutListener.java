@@ -0,0 +1,32 @@
+package com.sliit.healthins.config;
+
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@code SecurityConfigDTO.sessionTimeout} (minutes) to each new HTTP session, read
+ * from the current config snapshot; sessions already open keep the timeout they started
+ * with. Without a stored value the container default applies.
+ */
+@Component
+public class SessionTimeoutListener implements HttpSessionListener {
+
+    public static final String SESSION_TIMEOUT_CONFIG = "security.sessionTimeout";
+
+    private final SystemConfigStore systemConfigStore;
+
+    @Autowired
+    public SessionTimeoutListener(SystemConfigStore systemConfigStore) {
+        this.systemConfigStore = systemConfigStore;
+    }
+
+    @Override
+    public void sessionCreated(HttpSessionEvent event) {
+        int minutes = systemConfigStore.snapshot().getInt(SESSION_TIMEOUT_CONFIG, 0);
+        if (minutes > 0) {
+            event.getSession().setMaxInactiveInterval(minutes * 60);
+        }
+    }
+}
@@ -7,6 +7,8 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+// Not in the second-level cache, which is per node: SystemConfigStore serves these rows from memory
+// and re-reads the table on every node, and a stale L2 copy would hide other nodes' changes from it
 public class SystemConfig {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
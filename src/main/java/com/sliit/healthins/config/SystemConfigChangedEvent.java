@@ -0,0 +1,19 @@
+package com.sliit.healthins.config;
+
+import java.util.Set;
+
+/**
+ * Published by {@link SystemConfigStore} after a new snapshot is installed, naming the keys
+ * whose values differ from the previous one.
+ */
+public record SystemConfigChangedEvent(SystemConfigSnapshot snapshot, Set<String> changedKeys) {
+
+    public boolean changed(String key) {
+        return changedKeys.contains(key);
+    }
+
+    public boolean sectionChanged(String section) {
+        String prefix = section + ".";
+        return changedKeys.stream().anyMatch(key -> key.startsWith(prefix));
+    }
+}
@@ -0,0 +1,73 @@
+package com.sliit.healthins.config;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable copy of every persisted setting, keyed {@code <section>.<field>}. Readers hold
+ * on to one snapshot for as long as they need consistent values; {@link SystemConfigStore}
+ * replaces it as a whole on change.
+ */
+public record SystemConfigSnapshot(Map<String, String> values) {
+
+    public static final SystemConfigSnapshot EMPTY = new SystemConfigSnapshot(Map.of());
+
+    public SystemConfigSnapshot {
+        values = Map.copyOf(values);
+    }
+
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(values.get(key)).filter(value -> !value.isBlank());
+    }
+
+    public String getString(String key, String defaultValue) {
+        return get(key).orElse(defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        try {
+            return get(key).map(String::trim).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return get(key).map(String::trim).map(Boolean::parseBoolean).orElse(defaultValue);
+    }
+
+    /**
+     * The fields of one section, with the {@code <section>.} prefix removed.
+     */
+    public Map<String, String> section(String section) {
+        String prefix = section + ".";
+        return values.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .collect(Collectors.toUnmodifiableMap(entry -> entry.getKey().substring(prefix.length()),
+                        Map.Entry::getValue));
+    }
+
+    SystemConfigSnapshot with(Map<String, String> changes) {
+        Map<String, String> merged = new HashMap<>(values);
+        merged.putAll(changes);
+        return new SystemConfigSnapshot(merged);
+    }
+
+    /**
+     * Keys added, removed or given a different value in {@code next}.
+     */
+    Set<String> changedKeys(SystemConfigSnapshot next) {
+        Set<String> changed = new HashSet<>();
+        next.values.forEach((key, value) -> {
+            if (!value.equals(values.get(key))) {
+                changed.add(key);
+            }
+        });
+        values.keySet().stream().filter(key -> !next.values.containsKey(key)).forEach(changed::add);
+        return Set.copyOf(changed);
+    }
+}
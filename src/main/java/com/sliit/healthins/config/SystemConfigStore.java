@@ -0,0 +1,176 @@
+package com.sliit.healthins.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sliit.healthins.repository.SystemConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Settings edited from the admin console, persisted one {@link SystemConfig} row per field
+ * under {@code <section>.<field>} (for example {@code security.maxLoginAttempts}). Reads are
+ * served from an immutable {@link SystemConfigSnapshot}, never from the database.
+ * <p>
+ * A save replaces the snapshot once its transaction commits. Every node also re-reads the
+ * table every {@code system-config.refresh-ms}, which picks up saves made on other nodes.
+ * Either way a {@link SystemConfigChangedEvent} is published for the changed keys, so
+ * components holding derived state (login limits, the mail sender, rate limits) reapply
+ * them without a restart.
+ * <p>
+ * Secrets ({@link #SECRET_KEYS}) are never stored here: the SMTP password comes from
+ * {@code spring.mail.password} and the payment private key from the gateway's own secret
+ * configuration. Values posted for them are dropped, and rows left by older versions are
+ * deleted on the next refresh.
+ */
+@Component
+public class SystemConfigStore {
+
+    public static final String SYSTEM = "system";
+    public static final String SECURITY = "security";
+    public static final String EMAIL = "email";
+    public static final String API = "api";
+    public static final String PAYMENT = "payment";
+
+    public static final Set<String> SECRET_KEYS = Set.of("email.smtpPassword", "payment.privateKey");
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemConfigStore.class);
+
+    private final SystemConfigRepository systemConfigRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    // Bumped by every local save so a refresh that read the table before it is not installed
+    private final AtomicLong generation = new AtomicLong();
+    private volatile SystemConfigSnapshot snapshot = SystemConfigSnapshot.EMPTY;
+
+    @Autowired
+    public SystemConfigStore(SystemConfigRepository systemConfigRepository, ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper) {
+        this.systemConfigRepository = systemConfigRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    public SystemConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Binds one section of the current snapshot to a settings DTO; missing fields keep the
+     * DTO's defaults.
+     */
+    public <T> T get(String section, Class<T> type) {
+        return objectMapper.convertValue(snapshot.section(section), type);
+    }
+
+    /**
+     * Persists every non-null field of a settings DTO under {@code section}; null fields keep
+     * their stored value and secret fields are ignored.
+     */
+    @Transactional
+    public <T> T save(String section, T settings) {
+        Map<String, Object> fields = objectMapper.convertValue(settings,
+                new TypeReference<Map<String, Object>>() {
+                });
+        Map<String, String> values = new LinkedHashMap<>();
+        fields.forEach((field, value) -> {
+            String key = section + "." + field;
+            if (SECRET_KEYS.contains(key)) {
+                if (value != null && !String.valueOf(value).isBlank()) {
+                    logger.warn("Ignoring {}: secrets are read from the server configuration, not stored", key);
+                }
+            } else if (value != null) {
+                values.put(key, String.valueOf(value));
+            }
+        });
+        put(values);
+        return settings;
+    }
+
+    @Transactional
+    public void put(Map<String, String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Map<String, SystemConfig> existing = systemConfigRepository.findByConfigNameIn(values.keySet()).stream()
+                .collect(Collectors.toMap(SystemConfig::getConfigName, Function.identity(), (first, second) -> first));
+        List<SystemConfig> rows = new ArrayList<>(values.size());
+        values.forEach((name, value) -> {
+            SystemConfig row = existing.get(name);
+            if (row == null) {
+                row = new SystemConfig();
+                row.setConfigName(name);
+            }
+            row.setValue(value);
+            rows.add(row);
+        });
+        systemConfigRepository.saveAll(rows);
+        Map<String, String> saved = Map.copyOf(values);
+        afterCommit(() -> apply(saved));
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${system-config.refresh-ms:30000}")
+    public void refresh() {
+        long seen = generation.get();
+        List<SystemConfig> rows = systemConfigRepository.findAll();
+        List<SystemConfig> secrets = rows.stream().filter(row -> SECRET_KEYS.contains(row.getConfigName())).toList();
+        if (!secrets.isEmpty()) {
+            systemConfigRepository.deleteAll(secrets);
+            logger.info("Deleted stored secrets {}", secrets.stream().map(SystemConfig::getConfigName).toList());
+        }
+        Map<String, String> values = rows.stream()
+                .filter(row -> row.getConfigName() != null && row.getValue() != null)
+                .filter(row -> !SECRET_KEYS.contains(row.getConfigName()))
+                .collect(Collectors.toMap(SystemConfig::getConfigName, SystemConfig::getValue, (first, second) -> first));
+        synchronized (this) {
+            if (generation.get() != seen) {
+                logger.debug("System config refresh raced with a save; keeping the saved snapshot");
+                return;
+            }
+            install(new SystemConfigSnapshot(values));
+        }
+    }
+
+    private synchronized void apply(Map<String, String> values) {
+        generation.incrementAndGet();
+        install(snapshot.with(values));
+    }
+
+    // Called holding the lock, so listeners see changes in the order they were installed
+    private void install(SystemConfigSnapshot next) {
+        Set<String> changed = snapshot.changedKeys(next);
+        snapshot = next;
+        if (!changed.isEmpty()) {
+            logger.info("System config changed: {}", changed);
+            eventPublisher.publishEvent(new SystemConfigChangedEvent(next, changed));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
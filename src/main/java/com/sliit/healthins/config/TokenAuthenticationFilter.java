@@ -0,0 +1,54 @@
+package com.sliit.healthins.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <token>} from the token's
+ * signed claims. Invalid, expired or revoked tokens, tokens issued before the user's
+ * watermark in {@link TokenRevocationList}, and tokens of disabled users leave the request
+ * unauthenticated, so the configured entry point answers it. Not a bean:
+ * {@link SecurityConfig} adds it to the security chain in token mode only.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+    private final TokenRevocationList revocationList;
+
+    public TokenAuthenticationFilter(TokenService tokenService, TokenRevocationList revocationList) {
+        this.tokenService = tokenService;
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            tokenService.verify(header.substring(BEARER.length()).trim())
+                    .filter(token -> token.userDetails().isEnabled() && !revocationList.isRevoked(token))
+                    .ifPresent(token -> {
+                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                                token.userDetails(), null, token.userDetails().getAuthorities());
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        SecurityContext context = SecurityContextHolder.createEmptyContext();
+                        context.setAuthentication(authentication);
+                        SecurityContextHolder.setContext(context);
+                        request.setAttribute(TokenService.VerifiedToken.class.getName(), token);
+                    });
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,115 @@
+package com.sliit.healthins.config;
+
+import com.sliit.healthins.model.RevokedToken;
+import com.sliit.healthins.model.TokenWatermark;
+import com.sliit.healthins.repository.RevokedTokenRepository;
+import com.sliit.healthins.repository.TokenWatermarkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token ids revoked before expiry, plus per-user watermarks: a user's tokens issued at or
+ * before the watermark are refused, which is how role, active-flag and delete changes reach
+ * tokens that still carry the old claims. Both are written to the database so every node
+ * sees them; each node checks an in-memory copy on the request path and re-reads the tables
+ * every {@code jwt.revocation.refresh-ms}, which bounds how long a token revoked on another
+ * node stays usable here.
+ */
+@Component
+@ConditionalOnProperty(name = "security.auth.mode", havingValue = "token")
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+    // Watermarks below this are epoch seconds, as stored before they moved to milliseconds
+    private static final long SECONDS_WATERMARK_LIMIT = 100_000_000_000L;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenWatermarkRepository tokenWatermarkRepository;
+    private final Duration tokenTtl;
+    private final Clock clock;
+    private final Map<Long, Long> watermarks = new ConcurrentHashMap<>();
+    // Revoked jti -> the token's expiry, after which the entry is dropped
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               TokenWatermarkRepository tokenWatermarkRepository,
+                               @Value("${jwt.expiration.ms:86400000}") long expirationMs) {
+        this(revokedTokenRepository, tokenWatermarkRepository, Duration.ofMillis(expirationMs), Clock.systemUTC());
+    }
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               TokenWatermarkRepository tokenWatermarkRepository, Duration tokenTtl, Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenWatermarkRepository = tokenWatermarkRepository;
+        this.tokenTtl = tokenTtl;
+        this.clock = clock;
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(jti, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault())));
+        revoked.put(jti, expiresAt);
+        logger.info("Revoked token {}", jti);
+    }
+
+    /**
+     * Refuses every token issued to the user up to now. Joins the caller's transaction, so the
+     * watermark is stored with the change that required it.
+     */
+    public void revokeUserTokens(Long userId) {
+        Instant now = clock.instant();
+        long issuedBefore = now.toEpochMilli();
+        tokenWatermarkRepository.save(new TokenWatermark(userId, issuedBefore,
+                LocalDateTime.ofInstant(now.plus(tokenTtl), ZoneId.systemDefault())));
+        watermarks.merge(userId, issuedBefore, Math::max);
+        logger.info("Revoked tokens issued to user {} up to {}", userId, now);
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti == null || revoked.containsKey(jti);
+    }
+
+    public boolean isRevoked(TokenService.VerifiedToken token) {
+        if (isRevoked(token.jti())) {
+            return true;
+        }
+        Long issuedBefore = watermarks.get(token.userDetails().getId());
+        return issuedBefore != null && token.issuedAt().toEpochMilli() <= issuedBefore;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.revocation.refresh-ms:30000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.ofInstant(clock.instant(), ZoneId.systemDefault());
+        int purged = revokedTokenRepository.deleteExpired(now) + tokenWatermarkRepository.deleteExpired(now);
+        // Both merged into the live sets, so a revocation made here while the queries ran is not lost;
+        // entries only leave once every token they cover has expired
+        for (RevokedToken token : revokedTokenRepository.findActive(now)) {
+            revoked.putIfAbsent(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+        }
+        for (TokenWatermark watermark : tokenWatermarkRepository.findActive(now)) {
+            long issuedBefore = watermark.getIssuedBefore() < SECONDS_WATERMARK_LIMIT
+                    ? (watermark.getIssuedBefore() + 1) * 1000 - 1
+                    : watermark.getIssuedBefore();
+            watermarks.merge(watermark.getUserId(), issuedBefore, Math::max);
+        }
+        Instant current = clock.instant();
+        long coveredSince = current.minus(tokenTtl).toEpochMilli();
+        watermarks.values().removeIf(issuedBefore -> issuedBefore < coveredSince);
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(current));
+        logger.debug("Token revocation list refreshed: {} revoked tokens, {} user watermarks, {} expired rows purged",
+                revoked.size(), watermarks.size(), purged);
+    }
+}
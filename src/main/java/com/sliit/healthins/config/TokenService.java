@@ -0,0 +1,197 @@
+package com.sliit.healthins.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sliit.healthins.dto.UserPrincipalDTO;
+import com.sliit.healthins.model.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies HMAC-SHA256 signed bearer tokens (JWT compact form). The claims
+ * carry everything {@link CustomUserDetails} needs, so a verified token authenticates a
+ * request without a session or a database lookup.
+ * <p>
+ * Tokens are signed with the current key ({@code jwt.key-id}/{@code jwt.secret}) and
+ * verified with whichever key their {@code kid} header names, so previous keys listed in
+ * {@code jwt.previous-secrets} stay valid until their tokens expire. Only created when
+ * {@code security.auth.mode=token}.
+ */
+@Component
+@ConditionalOnProperty(name = "security.auth.mode", havingValue = "token")
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final TypeReference<Map<String, Object>> CLAIMS = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String currentKeyId;
+    private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(@Value("${jwt.key-id:k1}") String keyId,
+                        @Value("${jwt.secret}") String secret,
+                        @Value("${jwt.previous-secrets:}") String previousSecrets,
+                        @Value("${jwt.expiration.ms:86400000}") long expirationMs) {
+        this(keyId, secret, previousSecrets, Duration.ofMillis(expirationMs), Clock.systemUTC());
+        keys.forEach((kid, key) -> {
+            if (key.getEncoded().length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("jwt key '" + kid + "' must be at least " + MIN_SECRET_BYTES + " bytes");
+            }
+        });
+    }
+
+    public TokenService(String keyId, String secret, String previousSecrets, Duration ttl, Clock clock) {
+        this.currentKeyId = keyId;
+        this.ttl = ttl;
+        this.clock = clock;
+        keys.put(keyId, key(secret));
+        // Comma-separated <key-id>:<secret> pairs accepted for verification only
+        for (String entry : previousSecrets.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int colon = entry.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("jwt.previous-secrets entries must be <key-id>:<secret>");
+            }
+            keys.putIfAbsent(entry.substring(0, colon).trim(), key(entry.substring(colon + 1).trim()));
+        }
+    }
+
+    public IssuedToken issue(UserPrincipalDTO principal) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(ttl);
+        String jti = UUID.randomUUID().toString();
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", "HS256");
+        header.put("typ", "JWT");
+        header.put("kid", currentKeyId);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", principal.getUsername());
+        claims.put("uid", principal.getId());
+        claims.put("role", principal.getRole().name());
+        claims.put("name", principal.getName());
+        claims.put("email", principal.getEmail());
+        claims.put("act", principal.isActive());
+        claims.put("jti", jti);
+        claims.put("iat", now.getEpochSecond());
+        // Millisecond issue time, so a login right after a revocation in the same second is not refused
+        claims.put("iat_ms", now.toEpochMilli());
+        claims.put("exp", expiresAt.getEpochSecond());
+
+        String signingInput = encode(header) + "." + encode(claims);
+        String token = signingInput + "." + ENCODER.encodeToString(sign(keys.get(currentKeyId), signingInput));
+        return new IssuedToken(token, jti, expiresAt);
+    }
+
+    /**
+     * Returns the token's principal if it is well formed, signed by a known key and not
+     * expired. Revocation is checked separately by the caller.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            String[] parts = token.split("\\.");
+            if (parts.length != 3) {
+                return Optional.empty();
+            }
+            Map<String, Object> header = decode(parts[0]);
+            SecretKeySpec key = keys.get(String.valueOf(header.get("kid")));
+            if (key == null || !"HS256".equals(header.get("alg"))) {
+                return Optional.empty();
+            }
+            byte[] expected = sign(key, parts[0] + "." + parts[1]);
+            if (!MessageDigest.isEqual(expected, DECODER.decode(parts[2]))) {
+                return Optional.empty();
+            }
+
+            Map<String, Object> claims = decode(parts[1]);
+            Instant expiresAt = Instant.ofEpochSecond(((Number) claims.get("exp")).longValue());
+            if (!expiresAt.isAfter(clock.instant())) {
+                return Optional.empty();
+            }
+            UserPrincipalDTO principal = new UserPrincipalDTO(
+                    ((Number) claims.get("uid")).longValue(),
+                    (String) claims.get("sub"),
+                    null,
+                    (String) claims.get("name"),
+                    (String) claims.get("email"),
+                    Role.valueOf((String) claims.get("role")),
+                    Boolean.TRUE.equals(claims.get("act")));
+            Instant issuedAt = claims.get("iat_ms") instanceof Number millis
+                    ? Instant.ofEpochMilli(millis.longValue())
+                    : Instant.ofEpochSecond(((Number) claims.get("iat")).longValue());
+            return Optional.of(new VerifiedToken(new CustomUserDetails(principal), (String) claims.get("jti"),
+                    issuedAt, expiresAt));
+        } catch (RuntimeException e) {
+            logger.debug("Rejected malformed bearer token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String encode(Map<String, Object> json) {
+        try {
+            return ENCODER.encodeToString(objectMapper.writeValueAsBytes(json));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize token", e);
+        }
+    }
+
+    private Map<String, Object> decode(String part) {
+        try {
+            return objectMapper.readValue(DECODER.decode(part), CLAIMS);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid token segment", e);
+        }
+    }
+
+    private static byte[] sign(SecretKeySpec key, String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    private static SecretKeySpec key(String secret) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("jwt secret must not be empty");
+        }
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public record IssuedToken(String token, String jti, Instant expiresAt) {
+    }
+
+    public record VerifiedToken(CustomUserDetails userDetails, String jti, Instant issuedAt, Instant expiresAt) {
+    }
+}
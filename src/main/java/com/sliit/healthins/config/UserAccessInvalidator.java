@@ -0,0 +1,114 @@
+package com.sliit.healthins.config;
+
+import com.sliit.healthins.model.UserCacheEviction;
+import com.sliit.healthins.repository.UserCacheEvictionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * The one place services go when a change to a user must reach logins already in flight:
+ * {@link #evict} drops the cached principal, {@link #revokeTokens} refuses the user's issued
+ * tokens in token mode (a no-op in session mode, where the principal is re-read on login).
+ * <p>
+ * {@link UserDetailsCache} is per node, so each eviction is also written to
+ * {@code user_cache_evictions} in the caller's transaction, and every node replays the rows
+ * every {@code security.user-cache.sync-ms}. That bounds how long another node can serve a
+ * changed user's old principal; the cache TTL is only the fallback if the table is unreachable.
+ */
+@Component
+public class UserAccessInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAccessInvalidator.class);
+    // Rows committed late or stamped by a node with a slightly different clock are still replayed
+    private static final Duration REPLAY_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserDetailsCache userDetailsCache;
+    private final UserCacheEvictionRepository userCacheEvictionRepository;
+    private final ObjectProvider<TokenRevocationList> tokenRevocationList;
+    private final Duration cacheTtl;
+    private final Clock clock;
+    private volatile Instant syncedUpTo;
+
+    @Autowired
+    public UserAccessInvalidator(UserDetailsCache userDetailsCache,
+                                 UserCacheEvictionRepository userCacheEvictionRepository,
+                                 ObjectProvider<TokenRevocationList> tokenRevocationList,
+                                 @Value("${security.user-cache.ttl-seconds:300}") long cacheTtlSeconds) {
+        this(userDetailsCache, userCacheEvictionRepository, tokenRevocationList, Duration.ofSeconds(cacheTtlSeconds),
+                Clock.systemUTC());
+    }
+
+    public UserAccessInvalidator(UserDetailsCache userDetailsCache,
+                                 UserCacheEvictionRepository userCacheEvictionRepository,
+                                 ObjectProvider<TokenRevocationList> tokenRevocationList, Duration cacheTtl, Clock clock) {
+        this.userDetailsCache = userDetailsCache;
+        this.userCacheEvictionRepository = userCacheEvictionRepository;
+        this.tokenRevocationList = tokenRevocationList;
+        this.cacheTtl = cacheTtl;
+        this.clock = clock;
+        this.syncedUpTo = clock.instant();
+    }
+
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        userDetailsCache.evict(username);
+        userCacheEvictionRepository.save(new UserCacheEviction(null, username, now()));
+    }
+
+    /**
+     * Drops every cached principal on every node, for bulk changes such as activating all customers.
+     */
+    public void evictAll() {
+        userDetailsCache.evictAll();
+        userCacheEvictionRepository.save(new UserCacheEviction(null, null, now()));
+    }
+
+    public void revokeTokens(Long userId) {
+        TokenRevocationList revocationList = tokenRevocationList.getIfAvailable();
+        if (revocationList != null) {
+            revocationList.revokeUserTokens(userId);
+        }
+    }
+
+    /**
+     * Replays evictions written by any node since the last run, then purges rows older than
+     * the cache TTL.
+     */
+    @Scheduled(fixedDelayString = "${security.user-cache.sync-ms:5000}")
+    public void sync() {
+        Instant startedAt = clock.instant();
+        List<UserCacheEviction> evictions = userCacheEvictionRepository.findSince(toLocal(syncedUpTo.minus(REPLAY_OVERLAP)));
+        for (UserCacheEviction eviction : evictions) {
+            if (eviction.getUsername() == null) {
+                userDetailsCache.clear();
+            } else {
+                userDetailsCache.evict(eviction.getUsername());
+            }
+        }
+        syncedUpTo = startedAt;
+        int purged = userCacheEvictionRepository.deleteBefore(toLocal(startedAt.minus(cacheTtl).minus(REPLAY_OVERLAP)));
+        logger.debug("User cache synced: {} evictions replayed, {} rows purged", evictions.size(), purged);
+    }
+
+    private LocalDateTime now() {
+        return toLocal(clock.instant());
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,125 @@
+package com.sliit.healthins.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by username, so a login
+ * does not hit the database for a user seen in the last {@code security.user-cache.ttl-seconds}.
+ * The least recently used entry is dropped once {@code security.user-cache.max-size} is
+ * reached. The cache is per node: services that change a user's credentials, role or status
+ * go through {@link UserAccessInvalidator}, which also replays the eviction on every other node.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    @Autowired
+    public UserDetailsCache(@Value("${security.user-cache.max-size:1000}") int maxSize,
+                            @Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(maxSize, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    public UserDetailsCache(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > UserDetailsCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached principal, or loads and caches it. The loader runs outside the
+     * lock; if it throws, nothing is cached.
+     */
+    public CustomUserDetails get(String username, Function<String, CustomUserDetails> loader) {
+        Instant now = clock.instant();
+        synchronized (entries) {
+            Entry entry = entries.get(username);
+            if (entry != null && entry.expiresAt().isAfter(now)) {
+                return entry.details();
+            }
+            entries.remove(username);
+        }
+        CustomUserDetails details = loader.apply(username);
+        if (maxSize > 0 && !ttl.isZero()) {
+            synchronized (entries) {
+                entries.put(username, new Entry(details, now.plus(ttl)));
+            }
+        }
+        return details;
+    }
+
+    /**
+     * Drops a username now and again once the surrounding transaction commits, so a login
+     * racing with the update cannot re-cache the old row.
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        remove(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every entry now and again once the surrounding transaction commits.
+     */
+    public void evictAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void remove(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+
+    private record Entry(CustomUserDetails details, Instant expiresAt) {
+    }
+}
@@ -26,10 +26,10 @@ public class AdminController {
         this.service = service;
     }
 
-    @GetMapping("/users")
+    @GetMapping("/users/page")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<java.util.List<UserDTO>> getAllUsers() {
-        return ResponseEntity.ok(service.getAllUsers());
+    public ResponseEntity<SliceDTO<UserDTO>> getUsersPage(@ModelAttribute PageQuery query) {
+        return ResponseEntity.ok(service.getUsers(query));
     }
 
     @PostMapping("/users")
@@ -84,30 +84,60 @@ public class AdminController {
         return ResponseEntity.ok(service.getConfig());
     }
 
+    @GetMapping("/config/system")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SystemConfigDTO> getSystemConfig() {
+        return ResponseEntity.ok(service.getSystemConfig());
+    }
+
     @PostMapping("/config/system")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<SystemConfigDTO> saveSystemConfig(@RequestBody @Valid SystemConfigDTO dto) {
         return ResponseEntity.ok(service.saveSystemConfig(dto));
     }
 
+    @GetMapping("/config/security")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SecurityConfigDTO> getSecurityConfig() {
+        return ResponseEntity.ok(service.getSecurityConfig());
+    }
+
     @PostMapping("/config/security")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<SecurityConfigDTO> saveSecurityConfig(@RequestBody @Valid SecurityConfigDTO dto) {
         return ResponseEntity.ok(service.saveSecurityConfig(dto));
     }
 
+    @GetMapping("/config/email")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EmailConfigDTO> getEmailConfig() {
+        return ResponseEntity.ok(service.getEmailConfig());
+    }
+
     @PostMapping("/config/email")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<EmailConfigDTO> saveEmailConfig(@RequestBody @Valid EmailConfigDTO dto) {
         return ResponseEntity.ok(service.saveEmailConfig(dto));
     }
 
+    @GetMapping("/config/api")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiConfigDTO> getApiConfig() {
+        return ResponseEntity.ok(service.getApiConfig());
+    }
+
     @PostMapping("/config/api")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiConfigDTO> saveApiConfig(@RequestBody @Valid ApiConfigDTO dto) {
         return ResponseEntity.ok(service.saveApiConfig(dto));
     }
 
+    @GetMapping("/config/payment")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PaymentConfigDTO> getPaymentConfig() {
+        return ResponseEntity.ok(service.getPaymentConfig());
+    }
+
     @PostMapping("/config/payment")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PaymentConfigDTO> savePaymentConfig(@RequestBody @Valid PaymentConfigDTO dto) {
@@ -1,6 +1,13 @@
 package com.sliit.healthins.controller;
 
+import com.sliit.healthins.config.CustomUserDetails;
+import com.sliit.healthins.config.TokenRevocationList;
+import com.sliit.healthins.config.TokenService;
+import com.sliit.healthins.dto.TokenResponseDTO;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -17,28 +24,50 @@ public class AuthController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    // Present only when security.auth.mode=token
+    @Autowired
+    private ObjectProvider<TokenService> tokenService;
+
+    @Autowired
+    private ObjectProvider<TokenRevocationList> tokenRevocationList;
+
     @PostMapping("/login")
-    public String login(@RequestParam String username, @RequestParam String password, HttpServletRequest request) {
+    public ResponseEntity<?> login(@RequestParam String username, @RequestParam String password, HttpServletRequest request) {
+        TokenService tokens = tokenService.getIfAvailable();
         try {
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(username, password)
             );
+
+            if (tokens != null) {
+                CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+                TokenService.IssuedToken token = tokens.issue(userDetails.getPrincipal());
+                return ResponseEntity.ok(new TokenResponseDTO(token.token(), "Bearer", token.expiresAt()));
+            }
+
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
             // Store authentication in session
             request.getSession().setAttribute("SPRING_SECURITY_CONTEXT", SecurityContextHolder.getContext());
             
-            return "Login successful";
+            return ResponseEntity.ok("Login successful");
         } catch (Exception e) {
-            return "Invalid username or password";
+            if (tokens != null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
+            }
+            return ResponseEntity.ok("Invalid username or password");
         }
     }
 
     @PostMapping("/logout")
     public String logout(HttpServletRequest request, HttpServletResponse response) {
-        request.getSession().invalidate();
+        // Bearer token presented with this request (set by TokenAuthenticationFilter)
+        if (request.getAttribute(TokenService.VerifiedToken.class.getName()) instanceof TokenService.VerifiedToken token) {
+            tokenRevocationList.getObject().revoke(token.jti(), token.expiresAt());
+        } else {
+            request.getSession().invalidate();
+        }
         SecurityContextHolder.clearContext();
         return "Logged out successfully";
     }
 }
-
@@ -4,12 +4,18 @@ import com.sliit.healthins.dto.ClaimDTO;
 import com.sliit.healthins.dto.ClaimSubmissionDTO;
 import com.sliit.healthins.dto.ClaimUpdateDTO;
 import com.sliit.healthins.dto.CustomerDTO;
+import com.sliit.healthins.dto.PageQuery;
+import com.sliit.healthins.dto.SliceDTO;
 import com.sliit.healthins.exception.ResourceNotFoundException;
 import com.sliit.healthins.model.Claim;
+import com.sliit.healthins.model.ClaimStatus;
+import com.sliit.healthins.service.ClaimImportService;
 import com.sliit.healthins.service.ClaimsService;
 import com.sliit.healthins.service.CustomerSupportService;
+import com.sliit.healthins.service.DocumentStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,8 +23,17 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -30,10 +45,21 @@ public class ClaimsController {
     private static final Logger logger = LoggerFactory.getLogger(ClaimsController.class);
     private final ClaimsService service;
     private final CustomerSupportService customerSupportService;
+    private final ClaimImportService claimImportService;
+    private final DocumentStorageService documentStorageService;
 
-    public ClaimsController(ClaimsService service, CustomerSupportService customerSupportService) {
+    // Tomcat's zero-copy sendfile request attributes
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    public ClaimsController(ClaimsService service, CustomerSupportService customerSupportService,
+                            ClaimImportService claimImportService, DocumentStorageService documentStorageService) {
         this.service = service;
         this.customerSupportService = customerSupportService;
+        this.claimImportService = claimImportService;
+        this.documentStorageService = documentStorageService;
     }
 
     @PostMapping("/submit")
@@ -72,6 +98,16 @@ public class ClaimsController {
         }
     }
 
+    @GetMapping("/reports/stream")
+    @PreAuthorize("hasRole('ROLE_CLAIMS_EXECUTIVE')")
+    public ResponseEntity<StreamingResponseBody> streamReport(@RequestParam LocalDate start, @RequestParam LocalDate end) {
+        StreamingResponseBody body = out -> service.streamReport(start, end, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=claims_report.pdf")
+                .body(body);
+    }
+
     @PostMapping("/submit-by-staff")
     @PreAuthorize("hasRole('ROLE_CLAIMS_PROCESSING')")
     public ResponseEntity<?> submitClaimByStaff(@RequestBody @Valid ClaimSubmissionDTO dto) {
@@ -83,6 +119,27 @@ public class ClaimsController {
         }
     }
 
+    // Partner feeds: CSV with a header row (policyNumber,userId,amount,claimDate,description,notes) or NDJSON
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @PreAuthorize("hasRole('ROLE_CLAIMS_PROCESSING')")
+    public ResponseEntity<?> importClaimsCsv(InputStream body) {
+        try {
+            return ResponseEntity.ok(claimImportService.importCsv(body));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    @PreAuthorize("hasRole('ROLE_CLAIMS_PROCESSING')")
+    public ResponseEntity<?> importClaimsNdjson(InputStream body) {
+        try {
+            return ResponseEntity.ok(claimImportService.importNdjson(body));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ROLE_CLAIMS_PROCESSING')")
     public ResponseEntity<List<ClaimDTO>> getPendingClaims() {
@@ -93,14 +150,10 @@ public class ClaimsController {
         }
     }
 
-    @GetMapping("/all")
+    @GetMapping("/all/page")
     @PreAuthorize("hasRole('ROLE_CLAIMS_PROCESSING')")
-    public ResponseEntity<List<ClaimDTO>> getAllClaims() {
-        try {
-            return ResponseEntity.ok(service.getAllClaims());
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(null);
-        }
+    public ResponseEntity<SliceDTO<ClaimDTO>> getClaimsPage(@ModelAttribute PageQuery query) {
+        return ResponseEntity.ok(service.getClaims(query));
     }
     
     @GetMapping("/customer-bank-details/{userId}")
@@ -133,6 +186,37 @@ public class ClaimsController {
         }
     }
 
+    // Served with the container's sendfile when available, otherwise FileChannel.transferTo
+    @GetMapping("/{claimId}/document")
+    @PreAuthorize("hasAnyRole('ROLE_CLAIMS_PROCESSING', 'ROLE_CLAIMS_EXECUTIVE')")
+    public void downloadDocument(@PathVariable String claimId, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        ClaimsService.ClaimDocument document;
+        try {
+            document = service.getDocument(claimId);
+        } catch (ResourceNotFoundException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path path = document.path();
+        long size = Files.size(path);
+        response.setContentType(document.contentType());
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(document.filename(), StandardCharsets.UTF_8).build().toString());
+        if (document.contentId() != null) {
+            // Content-addressed, so the id is a strong validator
+            response.setHeader(HttpHeaders.ETAG, "\"" + document.contentId().substring("sha256:".length()) + "\"");
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        documentStorageService.transferTo(path, Channels.newChannel(response.getOutputStream()));
+    }
+
     @GetMapping("/report")
     @PreAuthorize("hasRole('ROLE_CLAIMS_PROCESSING')")
     public ResponseEntity<byte[]> generateClaimsReport(
@@ -152,6 +236,31 @@ public class ClaimsController {
         }
     }
 
+    @GetMapping("/report/stream")
+    @PreAuthorize("hasRole('ROLE_CLAIMS_PROCESSING')")
+    public ResponseEntity<StreamingResponseBody> streamClaimsReport(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam String type) {
+        // Validate up front: once the body starts streaming the status can no longer change
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = LocalDate.parse(startDate);
+            end = LocalDate.parse(endDate);
+            if (!type.equals("ALL")) {
+                ClaimStatus.valueOf(type);
+            }
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> service.streamClaimsReport(start, end, type, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=claims_report.pdf")
+                .body(body);
+    }
+
     @PutMapping("/{claimId}/status")
     @PreAuthorize("hasRole('ROLE_CLAIMS_PROCESSING')")
     public ResponseEntity<?> updateClaimStatus(@PathVariable String claimId, @RequestBody ClaimUpdateDTO dto) {
@@ -173,15 +282,10 @@ public class ClaimsController {
         }
     }
 
-    @GetMapping("/customers")
+    @GetMapping("/customers/page")
     @PreAuthorize("hasRole('ROLE_CLAIMS_PROCESSING')")
-    public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
-        try {
-            List<CustomerDTO> customers = customerSupportService.getAllCustomers();
-            return ResponseEntity.ok(customers);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(null);
-        }
+    public ResponseEntity<SliceDTO<CustomerDTO>> getCustomersPage(@ModelAttribute PageQuery query) {
+        return ResponseEntity.ok(customerSupportService.getCustomers(query));
     }
 
     @GetMapping("/customers/search")
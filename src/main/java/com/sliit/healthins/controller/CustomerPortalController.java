@@ -2,9 +2,11 @@ package com.sliit.healthins.controller;
 
 import com.sliit.healthins.dto.*;
 import com.sliit.healthins.model.Claim;
-import com.sliit.healthins.model.User;
+import com.sliit.healthins.readmodel.ClaimView;
 import com.sliit.healthins.service.CustomerPortalService;
+import com.sliit.healthins.service.PolicyCatalogService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -22,9 +24,11 @@ import java.util.List;
 public class CustomerPortalController {
     private static final Logger logger = LoggerFactory.getLogger(CustomerPortalController.class);
     private final CustomerPortalService service;
+    private final PolicyCatalogService policyCatalogService;
 
-    public CustomerPortalController(CustomerPortalService service) {
+    public CustomerPortalController(CustomerPortalService service, PolicyCatalogService policyCatalogService) {
         this.service = service;
+        this.policyCatalogService = policyCatalogService;
     }
 
     @GetMapping("/profile")
@@ -32,7 +36,7 @@ public class CustomerPortalController {
     public ResponseEntity<ProfileDTO> getProfile(@AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
             logger.info("Getting profile for user: {}", userDetails.getUsername());
-            User user = userDetails.getUser();
+            UserPrincipalDTO user = userDetails.getPrincipal();
             logger.debug("User ID: {}, Role: {}", user.getId(), user.getRole());
             ProfileDTO profile = service.getProfile(user.getId());
             logger.info("Successfully retrieved profile for user: {}", userDetails.getUsername());
@@ -49,7 +53,7 @@ public class CustomerPortalController {
                                                     @AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
             logger.info("Updating profile for user: {}", userDetails.getUsername());
-            User user = userDetails.getUser();
+            UserPrincipalDTO user = userDetails.getPrincipal();
             ProfileDTO updatedProfile = service.updateProfile(user.getId(), profileDTO);
             logger.info("Successfully updated profile for user: {}", userDetails.getUsername());
             return ResponseEntity.ok(updatedProfile);
@@ -65,7 +69,7 @@ public class CustomerPortalController {
                                                      @AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
             logger.info("Updating bank info for user: {}", userDetails.getUsername());
-            User user = userDetails.getUser();
+            UserPrincipalDTO user = userDetails.getPrincipal();
             ProfileDTO updatedProfile = service.updateBankInfo(user.getId(), profileDTO);
             logger.info("Successfully updated bank info for user: {}", userDetails.getUsername());
             return ResponseEntity.ok(updatedProfile);
@@ -78,21 +82,21 @@ public class CustomerPortalController {
     @GetMapping("/policies")
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_POLICYHOLDER')")
     public ResponseEntity<List<PolicyDetailsDTO>> getPolicies(@AuthenticationPrincipal CustomUserDetails userDetails) {
-        User user = userDetails.getUser();
+        UserPrincipalDTO user = userDetails.getPrincipal();
         return ResponseEntity.ok(service.getPolicies(user.getId()));
     }
 
     @GetMapping("/claims/approved")
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_POLICYHOLDER')")
     public ResponseEntity<List<ClaimDTO>> getApprovedClaims(@AuthenticationPrincipal CustomUserDetails userDetails) {
-        User user = userDetails.getUser();
+        UserPrincipalDTO user = userDetails.getPrincipal();
         return ResponseEntity.ok(service.getApprovedClaims(user.getId()));
     }
 
     @GetMapping("/payments/next-due")
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_POLICYHOLDER')")
     public ResponseEntity<PaymentReminderDTO> getNextPaymentDue(@AuthenticationPrincipal CustomUserDetails userDetails) {
-        User user = userDetails.getUser();
+        UserPrincipalDTO user = userDetails.getPrincipal();
         return ResponseEntity.ok(service.getNextPaymentDue(user.getId()));
     }
 
@@ -101,7 +105,7 @@ public class CustomerPortalController {
     public ResponseEntity<List<PaymentDTO>> getPayments(@AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
             logger.info("Getting payments for user: {}", userDetails.getUsername());
-            User user = userDetails.getUser();
+            UserPrincipalDTO user = userDetails.getPrincipal();
             List<PaymentDTO> payments = service.getPayments(user.getId());
             logger.info("Successfully retrieved {} payments", payments.size());
             return ResponseEntity.ok(payments);
@@ -116,7 +120,7 @@ public class CustomerPortalController {
     public ResponseEntity<PaymentDTO> processPayment(@RequestBody PaymentDTO paymentDTO, @AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
             logger.info("Processing payment for user: {}", userDetails.getUsername());
-            User user = userDetails.getUser();
+            UserPrincipalDTO user = userDetails.getPrincipal();
             PaymentDTO result = service.processPayment(paymentDTO, user.getId());
             logger.info("Successfully processed payment");
             return ResponseEntity.ok(result);
@@ -132,7 +136,7 @@ public class CustomerPortalController {
                                            @AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
             logger.info("Submitting claim for user: {}", userDetails.getUsername());
-            User user = userDetails.getUser();
+            UserPrincipalDTO user = userDetails.getPrincipal();
             logger.debug("Claim details - Policy ID: {}, Amount: {}, Description: {}", 
                 dto.getPolicyId(), dto.getAmount(), dto.getDescription());
             
@@ -147,22 +151,22 @@ public class CustomerPortalController {
 
     @GetMapping("/claims")
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_POLICYHOLDER')")
-    public ResponseEntity<List<Claim>> getClaims(@AuthenticationPrincipal CustomUserDetails userDetails) {
-        User user = userDetails.getUser();
+    public ResponseEntity<List<ClaimView>> getClaims(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        UserPrincipalDTO user = userDetails.getPrincipal();
         return ResponseEntity.ok(service.getClaims(user.getId()));
     }
 
     @GetMapping("/billing")
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_POLICYHOLDER')")
     public ResponseEntity<List<BillingHistoryDTO>> getBilling(@AuthenticationPrincipal CustomUserDetails userDetails) {
-        User user = userDetails.getUser();
+        UserPrincipalDTO user = userDetails.getPrincipal();
         return ResponseEntity.ok(service.getBillingHistory(user.getId()));
     }
 
     @PutMapping("/contact")
     @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_POLICYHOLDER')")
     public ResponseEntity<Void> updateContact(@RequestBody @Valid ContactUpdateDTO dto, @AuthenticationPrincipal CustomUserDetails userDetails) {
-        User user = userDetails.getUser();
+        UserPrincipalDTO user = userDetails.getPrincipal();
         service.updateContact(user.getId(), dto);
         return ResponseEntity.noContent().build();
     }
@@ -172,7 +176,7 @@ public class CustomerPortalController {
     public ResponseEntity<InquiryDTO> submitInquiry(@RequestBody @Valid InquiryDTO dto, @AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
             logger.info("Submitting inquiry for user: {}", userDetails.getUsername());
-            User user = userDetails.getUser();
+            UserPrincipalDTO user = userDetails.getPrincipal();
             InquiryDTO inquiry = service.submitInquiry(dto, user.getId());
             logger.info("Successfully submitted inquiry");
             return ResponseEntity.ok(inquiry);
@@ -187,7 +191,7 @@ public class CustomerPortalController {
     public ResponseEntity<List<InquiryDTO>> getInquiries(@AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
             logger.info("Getting inquiries for user: {}", userDetails.getUsername());
-            User user = userDetails.getUser();
+            UserPrincipalDTO user = userDetails.getPrincipal();
             List<InquiryDTO> inquiries = service.getInquiries(user.getId());
             logger.info("Successfully retrieved {} inquiries", inquiries.size());
             return ResponseEntity.ok(inquiries);
@@ -202,9 +206,17 @@ public class CustomerPortalController {
     public ResponseEntity<List<PolicyInfoDTO>> getAvailablePolicies(@AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
             logger.info("Getting available policies for user: {}", userDetails.getUsername());
+            // Validators are read before the body: a catalog change in between only costs the client a refetch
+            String etag = policyCatalogService.getETag();
+            long lastModified = policyCatalogService.getLastModified().toEpochMilli();
             List<PolicyInfoDTO> policies = service.getAvailablePolicies();
             logger.info("Successfully retrieved {} available policies", policies.size());
-            return ResponseEntity.ok(policies);
+            // Conditional GETs matching these validators are answered 304 by Spring MVC
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(policies);
         } catch (Exception e) {
             logger.error("Error getting available policies", e);
             throw e;
@@ -217,7 +229,7 @@ public class CustomerPortalController {
                                                            @AuthenticationPrincipal CustomUserDetails userDetails) {
         try {
             logger.info("Processing policy purchase for user: {}", userDetails.getUsername());
-            User user = userDetails.getUser();
+            UserPrincipalDTO user = userDetails.getPrincipal();
             PolicyDetailsDTO policy = service.purchasePolicy(user.getId(), purchaseDTO);
             logger.info("Successfully purchased policy: {}", policy.getPolicyNumber());
             return ResponseEntity.ok(policy);
@@ -2,8 +2,10 @@ package com.sliit.healthins.controller;
 
 import com.sliit.healthins.dto.*;
 import com.sliit.healthins.service.CustomerSupportService;
+import com.sliit.healthins.service.PolicyCatalogService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,9 +25,12 @@ public class CustomerSupportController {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerSupportController.class);
     private final CustomerSupportService customerSupportService;
+    private final PolicyCatalogService policyCatalogService;
 
-    public CustomerSupportController(CustomerSupportService customerSupportService) {
+    public CustomerSupportController(CustomerSupportService customerSupportService,
+                                     PolicyCatalogService policyCatalogService) {
         this.customerSupportService = customerSupportService;
+        this.policyCatalogService = policyCatalogService;
     }
 
     @GetMapping("/stats")
@@ -35,13 +40,10 @@ public class CustomerSupportController {
         return ResponseEntity.ok(customerSupportService.getDashboardStats());
     }
 
-    @GetMapping("/customers")
+    @GetMapping("/customers/page")
     @PreAuthorize("hasRole('CUSTOMER_SERVICE')")
-    public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
-        logger.info("Getting all customers");
-        List<CustomerDTO> customers = customerSupportService.getAllCustomers();
-        logger.info("Returning {} customers", customers.size());
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<SliceDTO<CustomerDTO>> getCustomersPage(@ModelAttribute PageQuery query) {
+        return ResponseEntity.ok(customerSupportService.getCustomers(query));
     }
 
     @GetMapping("/customers/search")
@@ -135,11 +137,10 @@ public class CustomerSupportController {
         return ResponseEntity.ok(customerSupportService.getPendingInquiries());
     }
 
-    @GetMapping("/inquiries/all")
+    @GetMapping("/inquiries/page")
     @PreAuthorize("hasRole('CUSTOMER_SERVICE')")
-    public ResponseEntity<List<InquiryDTO>> getAllInquiries() {
-        logger.info("Getting all inquiries");
-        return ResponseEntity.ok(customerSupportService.getAllInquiries());
+    public ResponseEntity<SliceDTO<InquiryDTO>> getInquiriesPage(@ModelAttribute PageQuery query) {
+        return ResponseEntity.ok(customerSupportService.getInquiries(query));
     }
 
     @GetMapping("/inquiries/search")
@@ -160,7 +161,13 @@ public class CustomerSupportController {
     @PreAuthorize("hasRole('CUSTOMER_SERVICE')")
     public ResponseEntity<List<PolicyDetailsDTO>> getAllPolicyInfo() {
         logger.info("Getting all policy info/coverage types");
-        return ResponseEntity.ok(customerSupportService.getAllPolicyInfo());
+        String etag = policyCatalogService.getETag();
+        long lastModified = policyCatalogService.getLastModified().toEpochMilli();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(customerSupportService.getAllPolicyInfo());
     }
 
     @GetMapping("/customers/{id}/policies")
@@ -185,11 +192,10 @@ public class CustomerSupportController {
         return ResponseEntity.ok().build();
     }
 
-    @GetMapping("/payments")
+    @GetMapping("/payments/page")
     @PreAuthorize("hasRole('CUSTOMER_SERVICE')")
-    public ResponseEntity<List<PaymentReminderDTO>> getAllPayments() {
-        logger.info("Getting all payments for reminder management");
-        return ResponseEntity.ok(customerSupportService.getAllPayments());
+    public ResponseEntity<SliceDTO<PaymentReminderDTO>> getPaymentsPage(@ModelAttribute PageQuery query) {
+        return ResponseEntity.ok(customerSupportService.getPayments(query));
     }
 
     @GetMapping("/payments/search")
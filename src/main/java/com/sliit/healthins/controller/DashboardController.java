@@ -1,6 +1,5 @@
 package com.sliit.healthins.controller;
 
-import com.sliit.healthins.model.User;
 import com.sliit.healthins.repository.UserRepository;
 import com.sliit.healthins.repository.PolicyRepository;
 import com.sliit.healthins.repository.ClaimRepository;
@@ -11,7 +10,10 @@ import com.sliit.healthins.repository.CampaignRepository;
 import com.sliit.healthins.repository.PayrollRepository;
 import com.sliit.healthins.repository.PerformanceReviewRepository;
 import com.sliit.healthins.repository.AuditLogRepository;
-import com.sliit.healthins.model.Role;
+import com.sliit.healthins.config.CustomUserDetails;
+import com.sliit.healthins.dto.UserPrincipalDTO;
+import com.sliit.healthins.model.*;
+import com.sliit.healthins.service.DashboardCounters;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,6 +22,8 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import java.util.List;
+
 
 @Controller
 @RequestMapping("/dashboard")
@@ -55,14 +59,17 @@ public class DashboardController {
     @Autowired
     private AuditLogRepository auditLogRepository;
 
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
     @GetMapping
     public String dashboard(Model model) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!(auth.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            return "redirect:/login.html";
+        }
         
+        UserPrincipalDTO user = userDetails.getPrincipal();
         Role userRole = user.getRole();
         
         // Add user info to model
@@ -91,44 +98,47 @@ public class DashboardController {
     
     private String adminDashboard(Model model) {
         // Admin-specific data
-        model.addAttribute("totalUsers", userRepository.count());
-        model.addAttribute("totalPolicies", policyRepository.count());
-        model.addAttribute("totalClaims", claimRepository.count());
-        model.addAttribute("totalPayments", paymentRepository.count());
-        model.addAttribute("totalEmployees", employeeRepository.count());
-        model.addAttribute("totalInquiries", inquiryRepository.count());
-        model.addAttribute("totalCampaigns", campaignRepository.count());
-        model.addAttribute("totalPayrolls", payrollRepository.count());
-        model.addAttribute("totalAuditLogs", auditLogRepository.count());
+        model.addAttribute("totalUsers", dashboardCounters.total(User.class));
+        model.addAttribute("totalPolicies", dashboardCounters.total(Policy.class));
+        model.addAttribute("totalClaims", dashboardCounters.total(Claim.class));
+        model.addAttribute("totalPayments", dashboardCounters.total(Payment.class));
+        model.addAttribute("totalEmployees", dashboardCounters.total(Employee.class));
+        model.addAttribute("totalInquiries", dashboardCounters.total(Inquiry.class));
+        model.addAttribute("totalCampaigns", dashboardCounters.total(Campaign.class));
+        model.addAttribute("totalPayrolls", dashboardCounters.total(Payroll.class));
+        model.addAttribute("totalAuditLogs", dashboardCounters.total(AuditLog.class));
         
         // Recent activities
-        model.addAttribute("recentUsers", userRepository.findAll().stream().limit(5).toList());
-        model.addAttribute("recentPolicies", policyRepository.findAll().stream().limit(5).toList());
-        model.addAttribute("recentClaims", claimRepository.findAll().stream().limit(5).toList());
-        model.addAttribute("recentAuditLogs", auditLogRepository.findAll().stream().limit(10).toList());
+        model.addAttribute("recentUsers", userRepository.findTop5ByOrderByCreatedAtDesc());
+        model.addAttribute("recentPolicies", policyRepository.findTop5ByOrderByCreatedAtDesc());
+        model.addAttribute("recentClaims", claimRepository.findTop5ByOrderByCreatedAtDesc());
+        model.addAttribute("recentAuditLogs", auditLogRepository.findTop10ByOrderByTimestampDesc());
         
         return "redirect:/admin-system-settings.html";
     }
     
-    private String customerDashboard(Model model, User user) {
+    private String customerDashboard(Model model, UserPrincipalDTO user) {
         // Customer-specific data
-        model.addAttribute("userPolicies", policyRepository.findByCustomerId(user.getId()));
-        model.addAttribute("userClaims", claimRepository.findByPolicyCustomerId(user.getId()));
-        model.addAttribute("userInquiries", inquiryRepository.findByCustomerId(user.getId()));
+        List<Policy> policies = policyRepository.findByCustomerId(user.getId());
+        List<Claim> claims = claimRepository.findByPolicyCustomerId(user.getId());
+        List<Inquiry> inquiries = inquiryRepository.findByCustomerId(user.getId());
+        model.addAttribute("userPolicies", policies);
+        model.addAttribute("userClaims", claims);
+        model.addAttribute("userInquiries", inquiries);
         
         // Calculate totals
-        model.addAttribute("totalPolicies", policyRepository.findByCustomerId(user.getId()).size());
-        model.addAttribute("totalClaims", claimRepository.findByPolicyCustomerId(user.getId()).size());
-        model.addAttribute("totalInquiries", inquiryRepository.findByCustomerId(user.getId()).size());
+        model.addAttribute("totalPolicies", policies.size());
+        model.addAttribute("totalClaims", claims.size());
+        model.addAttribute("totalInquiries", inquiries.size());
         
         return "redirect:/customer-portal.html";
     }
     
     private String hrDashboard(Model model) {
         // HR-specific data
-        model.addAttribute("totalEmployees", employeeRepository.count());
-        model.addAttribute("totalPayrolls", payrollRepository.count());
-        model.addAttribute("totalPerformanceReviews", performanceReviewRepository.count());
+        model.addAttribute("totalEmployees", dashboardCounters.total(Employee.class));
+        model.addAttribute("totalPayrolls", dashboardCounters.total(Payroll.class));
+        model.addAttribute("totalPerformanceReviews", dashboardCounters.total(PerformanceReview.class));
         
         // Employee data
         model.addAttribute("employees", employeeRepository.findAll());
@@ -136,16 +146,16 @@ public class DashboardController {
         model.addAttribute("performanceReviews", performanceReviewRepository.findAll());
         
         // Recent activities
-        model.addAttribute("recentPayrolls", payrollRepository.findAll().stream().limit(5).toList());
-        model.addAttribute("recentPerformanceReviews", performanceReviewRepository.findAll().stream().limit(5).toList());
+        model.addAttribute("recentPayrolls", payrollRepository.findTop5ByOrderByCreatedAtDesc());
+        model.addAttribute("recentPerformanceReviews", performanceReviewRepository.findTop5ByOrderByCreatedAtDesc());
         
         return "redirect:/hr-manager.html";
     }
     
     private String marketingDashboard(Model model) {
         // Marketing-specific data
-        model.addAttribute("totalCampaigns", campaignRepository.count());
-        model.addAttribute("totalUsers", userRepository.count());
+        model.addAttribute("totalCampaigns", dashboardCounters.total(Campaign.class));
+        model.addAttribute("totalUsers", dashboardCounters.total(User.class));
         
         // Campaign data
         model.addAttribute("campaigns", campaignRepository.findAll());
@@ -153,38 +163,38 @@ public class DashboardController {
         model.addAttribute("completedCampaigns", campaignRepository.findByStatus(com.sliit.healthins.model.CampaignStatus.COMPLETED));
         
         // Customer segments
-        model.addAttribute("totalCustomers", userRepository.countByRole(Role.CUSTOMER));
-        model.addAttribute("totalPolicyholders", userRepository.countByRole(Role.POLICYHOLDER));
+        model.addAttribute("totalCustomers", dashboardCounters.count(Role.CUSTOMER));
+        model.addAttribute("totalPolicyholders", dashboardCounters.count(Role.POLICYHOLDER));
         
         return "redirect:/marketing-manager.html";
     }
     
     private String claimsDashboard(Model model) {
         // Claims processing data
-        model.addAttribute("totalClaims", claimRepository.count());
+        model.addAttribute("totalClaims", dashboardCounters.total(Claim.class));
         model.addAttribute("pendingClaims", claimRepository.findByStatus(com.sliit.healthins.model.ClaimStatus.PENDING));
         model.addAttribute("approvedClaims", claimRepository.findByStatus(com.sliit.healthins.model.ClaimStatus.APPROVED));
         model.addAttribute("rejectedClaims", claimRepository.findByStatus(com.sliit.healthins.model.ClaimStatus.REJECTED));
         model.addAttribute("underReviewClaims", claimRepository.findByStatus(com.sliit.healthins.model.ClaimStatus.UNDER_REVIEW));
         
         // Recent claims
-        model.addAttribute("recentClaims", claimRepository.findAll().stream().limit(10).toList());
+        model.addAttribute("recentClaims", claimRepository.findTop10ByOrderByCreatedAtDesc());
         
         return "redirect:/claims-processing.html";
     }
     
     private String customerSupportDashboard(Model model) {
         // Customer support data
-        model.addAttribute("totalInquiries", inquiryRepository.count());
+        model.addAttribute("totalInquiries", dashboardCounters.total(Inquiry.class));
         model.addAttribute("openInquiries", inquiryRepository.findByStatus(com.sliit.healthins.model.InquiryStatus.OPEN));
         model.addAttribute("resolvedInquiries", inquiryRepository.findByStatus(com.sliit.healthins.model.InquiryStatus.RESOLVED));
         
         // Recent inquiries
-        model.addAttribute("recentInquiries", inquiryRepository.findAll().stream().limit(10).toList());
+        model.addAttribute("recentInquiries", inquiryRepository.findTop10ByOrderByCreatedAtDesc());
         
         // Customer data
-        model.addAttribute("totalCustomers", userRepository.countByRole(Role.CUSTOMER));
-        model.addAttribute("totalPolicyholders", userRepository.countByRole(Role.POLICYHOLDER));
+        model.addAttribute("totalCustomers", dashboardCounters.count(Role.CUSTOMER));
+        model.addAttribute("totalPolicyholders", dashboardCounters.count(Role.POLICYHOLDER));
         
         return "redirect:/customer_support.html";
     }
@@ -1,8 +1,10 @@
 package com.sliit.healthins.controller;
 
 import com.sliit.healthins.dto.EmployeeDTO;
+import com.sliit.healthins.dto.PageQuery;
 import com.sliit.healthins.dto.PayrollDTO;
 import com.sliit.healthins.dto.ReviewDTO;
+import com.sliit.healthins.dto.SliceDTO;
 import com.sliit.healthins.dto.UserDTO;
 import com.sliit.healthins.model.Employee;
 import com.sliit.healthins.model.Payroll;
@@ -94,10 +96,10 @@ public class HrController {
         return ResponseEntity.ok(service.getAllInternalStaff());
     }
 
-    @GetMapping("/payroll")
+    @GetMapping("/payroll/page")
     @PreAuthorize("hasRole('HR')")
-    public ResponseEntity<List<PayrollDTO>> getAllPayrolls() {
-        return ResponseEntity.ok(service.getAllPayrolls());
+    public ResponseEntity<SliceDTO<PayrollDTO>> getPayrollsPage(@ModelAttribute PageQuery query) {
+        return ResponseEntity.ok(service.getPayrolls(query));
     }
 
     @GetMapping("/payroll/search")
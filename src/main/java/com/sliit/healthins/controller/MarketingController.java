@@ -1,9 +1,13 @@
 package com.sliit.healthins.controller;
 
 import com.sliit.healthins.dto.CampaignDTO;
+import com.sliit.healthins.dto.CampaignDispatchStatusDTO;
+import com.sliit.healthins.dto.PageQuery;
 import com.sliit.healthins.dto.SegmentDTO;
+import com.sliit.healthins.dto.SliceDTO;
 import com.sliit.healthins.model.Campaign;
 import com.sliit.healthins.model.CustomerSegment;
+import com.sliit.healthins.service.CampaignDispatchService;
 import com.sliit.healthins.service.MarketingService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpHeaders;
@@ -14,7 +18,6 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,9 +26,11 @@ import java.util.Map;
 public class MarketingController {
 
     private final MarketingService service;
+    private final CampaignDispatchService campaignDispatchService;
 
-    public MarketingController(MarketingService service) {
+    public MarketingController(MarketingService service, CampaignDispatchService campaignDispatchService) {
         this.service = service;
+        this.campaignDispatchService = campaignDispatchService;
     }
 
     @PostMapping("/campaigns")
@@ -34,10 +39,10 @@ public class MarketingController {
         return ResponseEntity.ok(service.createCampaign(dto));
     }
 
-    @GetMapping("/campaigns")
+    @GetMapping("/campaigns/page")
     @PreAuthorize("hasRole('MARKETING')")
-    public ResponseEntity<List<CampaignDTO>> listCampaigns() {
-        return ResponseEntity.ok(service.listCampaigns());
+    public ResponseEntity<SliceDTO<CampaignDTO>> listCampaignsPage(@ModelAttribute PageQuery query) {
+        return ResponseEntity.ok(service.listCampaigns(query));
     }
 
     @DeleteMapping("/campaigns/{id}")
@@ -59,12 +64,49 @@ public class MarketingController {
         return ResponseEntity.ok(service.getCustomerCount());
     }
 
+    // Bulk sends run as background jobs: 202 with the job, then poll /dispatch/{jobId}
     @PostMapping("/send-emails")
     @PreAuthorize("hasRole('MARKETING')")
-    public ResponseEntity<Map<String, Object>> sendEmailsToCustomers(@RequestBody Map<String, Long> request) {
+    public ResponseEntity<CampaignDispatchStatusDTO> sendEmailsToCustomers(@RequestBody Map<String, Long> request) {
         Long campaignId = request.get("campaignId");
-        Map<String, Object> result = service.sendEmailsToCustomers(campaignId);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.accepted().body(service.sendEmailsToCustomers(campaignId));
+    }
+
+    @PostMapping("/send-emails/segment")
+    @PreAuthorize("hasRole('MARKETING')")
+    public ResponseEntity<CampaignDispatchStatusDTO> sendEmailsToSegment(@RequestBody Map<String, Long> request) {
+        return ResponseEntity.accepted().body(service.sendEmails(request.get("campaignId"), request.get("segmentId")));
+    }
+
+    @PostMapping("/send-sms")
+    @PreAuthorize("hasRole('MARKETING')")
+    public ResponseEntity<CampaignDispatchStatusDTO> sendSmsToCustomers(@RequestBody Map<String, Long> request) {
+        Long campaignId = request.get("campaignId");
+        return ResponseEntity.accepted().body(service.sendSmsToCustomers(campaignId));
+    }
+
+    @GetMapping("/dispatch/{jobId}")
+    @PreAuthorize("hasRole('MARKETING')")
+    public ResponseEntity<CampaignDispatchStatusDTO> getDispatchStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(campaignDispatchService.getStatus(jobId));
+    }
+
+    @PostMapping("/dispatch/{jobId}/pause")
+    @PreAuthorize("hasRole('MARKETING')")
+    public ResponseEntity<CampaignDispatchStatusDTO> pauseDispatch(@PathVariable String jobId) {
+        return ResponseEntity.ok(campaignDispatchService.pause(jobId));
+    }
+
+    @PostMapping("/dispatch/{jobId}/resume")
+    @PreAuthorize("hasRole('MARKETING')")
+    public ResponseEntity<CampaignDispatchStatusDTO> resumeDispatch(@PathVariable String jobId) {
+        return ResponseEntity.ok(campaignDispatchService.resume(jobId));
+    }
+
+    @PostMapping("/dispatch/{jobId}/cancel")
+    @PreAuthorize("hasRole('MARKETING')")
+    public ResponseEntity<CampaignDispatchStatusDTO> cancelDispatch(@PathVariable String jobId) {
+        return ResponseEntity.ok(campaignDispatchService.cancel(jobId));
     }
 
     @GetMapping("/reports")
@@ -0,0 +1,34 @@
+package com.sliit.healthins.controller;
+
+import com.sliit.healthins.dto.SearchResultDTO;
+import com.sliit.healthins.dto.SliceDTO;
+import com.sliit.healthins.search.SearchType;
+import com.sliit.healthins.service.SearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService service;
+
+    public SearchController(SearchService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('CUSTOMER_SERVICE', 'CLAIMS_PROCESSING', 'CLAIMS_EXECUTIVE')")
+    public ResponseEntity<SliceDTO<SearchResultDTO>> search(@RequestParam String q,
+                                                            @RequestParam(required = false) Set<SearchType> types,
+                                                            @RequestParam(required = false) Integer page,
+                                                            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(service.search(q, types, page, limit));
+    }
+}
@@ -0,0 +1,23 @@
+package com.sliit.healthins.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignDispatchStatusDTO {
+    private String jobId;
+    private Long campaignId;
+    private String campaignName;
+    private String channel;
+    private String status;
+    private int sent;
+    private int failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private double messagesPerSecond;
+}
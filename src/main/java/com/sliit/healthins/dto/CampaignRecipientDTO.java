@@ -0,0 +1,14 @@
+package com.sliit.healthins.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignRecipientDTO {
+    private Long id;
+    private String email;
+    private String phone;
+}
@@ -0,0 +1,18 @@
+package com.sliit.healthins.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimImportResultDTO {
+    private int total;
+    private int accepted;
+    private int rejected;
+    private long durationMs;
+    private List<ClaimImportRowDTO> rows;
+}
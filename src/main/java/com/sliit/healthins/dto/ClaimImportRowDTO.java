@@ -0,0 +1,19 @@
+package com.sliit.healthins.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one line of a bulk claim import: the generated claim id when accepted,
+ * otherwise the reason it was rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimImportRowDTO {
+    private int line;
+    private boolean accepted;
+    private String claimId;
+    private String error;
+}
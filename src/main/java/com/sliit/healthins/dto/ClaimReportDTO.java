@@ -0,0 +1,24 @@
+package com.sliit.healthins.dto;
+
+import com.sliit.healthins.model.ClaimStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Flat row of the claims report, populated directly by a JPQL constructor
+ * expression so no Claim, Policy or User entities are loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimReportDTO {
+    private String claimId;
+    private String customerName;
+    private String policyNumber;
+    private Double amount;
+    private LocalDate claimDate;
+    private ClaimStatus status;
+}
@@ -0,0 +1,58 @@
+package com.sliit.healthins.dto;
+
+import com.sliit.healthins.exception.ValidationException;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Paging parameters accepted by the list endpoints, bound from the query string.
+ * <p>
+ * When {@code after} is present the request is a keyset (cursor) read: rows with an
+ * id greater than {@code after} in id order, no offset scan. Otherwise {@code page},
+ * {@code sort} and {@code direction} select an offset page; {@code sort} must be one
+ * of the columns the caller whitelists.
+ */
+@Data
+@NoArgsConstructor
+public class PageQuery {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private Long after;
+    private Integer page;
+    private Integer limit;
+    private String sort;
+    private String direction;
+
+    public PageQuery(Long after, Integer limit) {
+        this.after = after;
+        this.limit = limit;
+    }
+
+    public boolean isKeyset() {
+        return after != null;
+    }
+
+    public Pageable toPageable(Set<String> sortableColumns) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        if (isKeyset()) {
+            return PageRequest.of(0, size, Sort.by("id"));
+        }
+
+        String column = sort == null || sort.isBlank() ? "id" : sort;
+        if (!sortableColumns.contains(column)) {
+            throw new ValidationException("Unsupported sort column: " + column);
+        }
+        Sort.Direction dir = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort order = Sort.by(dir, column);
+        if (!column.equals("id")) {
+            order = order.and(Sort.by(dir, "id")); // stable order across pages
+        }
+        return PageRequest.of(page == null ? 0 : Math.max(page, 0), size, order);
+    }
+}
@@ -0,0 +1,17 @@
+package com.sliit.healthins.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-policy claim counters produced by a single grouped query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyClaimCountsDTO {
+    private Long policyId;
+    private Long totalClaims;
+    private Long pendingClaims;
+}
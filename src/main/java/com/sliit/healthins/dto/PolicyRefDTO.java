@@ -0,0 +1,19 @@
+package com.sliit.healthins.dto;
+
+import com.sliit.healthins.model.PolicyStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The columns of a policy needed to validate a claim against it, without the entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyRefDTO {
+    private Long id;
+    private String policyNumber;
+    private Long customerId;
+    private PolicyStatus status;
+}
@@ -0,0 +1,33 @@
+package com.sliit.healthins.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model behind the customer profile page: user columns, bank details and
+ * policy/claim counters, all populated by a single query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileSummaryDTO {
+    private Long id;
+    private String name;
+    private String username;
+    private String email;
+    private String phone;
+    private Boolean active;
+    private LocalDateTime createdAt;
+
+    private String bankName;
+    private String accountNumber;
+    private String accountHolderName;
+    private String branch;
+
+    private Long activePolicies;
+    private Long totalClaims;
+    private Long pendingClaims;
+}
@@ -0,0 +1,35 @@
+package com.sliit.healthins.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list endpoint. No total count is computed; {@code nextCursor} is set
+ * when the slice is in id order and can be passed back as {@code after}.
+ */
+@Data
+@NoArgsConstructor
+public class SliceDTO<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private Long nextCursor;
+
+    public static <E, T> SliceDTO<T> of(Slice<E> slice, Function<E, T> mapper, Function<E, Long> idOf) {
+        SliceDTO<T> dto = new SliceDTO<>();
+        dto.setContent(slice.getContent().stream().map(mapper).toList());
+        dto.setPage(slice.getNumber());
+        dto.setSize(slice.getSize());
+        dto.setHasNext(slice.hasNext());
+        if (slice.hasNext() && slice.hasContent() && Sort.by("id").equals(slice.getSort())) {
+            dto.setNextCursor(idOf.apply(slice.getContent().get(slice.getNumberOfElements() - 1)));
+        }
+        return dto;
+    }
+}
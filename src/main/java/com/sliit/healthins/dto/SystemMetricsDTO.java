@@ -4,6 +4,7 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 @Getter
@@ -19,6 +20,14 @@ public class SystemMetricsDTO {
     private String databaseStatus;
     private double memoryUsage;
     private double cpuUsage;
+    private double systemCpuUsage;
+    private int idleConnections;
+    private int pendingConnections;
+    private int maxConnections;
+    private long httpRequests;
+    private double httpP99Ms;
+    // Slowest endpoints by p99, "METHOD uri" -> milliseconds
+    private Map<String, Double> endpointP99Ms;
 
     public SystemMetricsDTO() {
     }
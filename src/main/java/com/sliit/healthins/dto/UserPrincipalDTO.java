@@ -0,0 +1,21 @@
+package com.sliit.healthins.dto;
+
+import com.sliit.healthins.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPrincipalDTO implements Serializable {
+    private Long id;
+    private String username;
+    private String password;
+    private String name;
+    private String email;
+    private Role role;
+    private boolean active;
+}
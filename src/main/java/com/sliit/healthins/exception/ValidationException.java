@@ -0,0 +1,12 @@
+package com.sliit.healthins.exception;
+
+/**
+ * A request parameter the caller can fix (bad sort column, empty query, out-of-range
+ * setting). Mapped to 400 by {@link GlobalExceptionHandler}; other
+ * {@link IllegalArgumentException}s are treated as server errors.
+ */
+public class ValidationException extends IllegalArgumentException {
+    public ValidationException(String message) {
+        super(message);
+    }
+}
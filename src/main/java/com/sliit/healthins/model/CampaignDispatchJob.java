@@ -0,0 +1,45 @@
+package com.sliit.healthins.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one bulk campaign dispatch, updated in the same transaction as each chunk's
+ * results. {@code lastRecipientId} is the id the next chunk starts after, so a job that
+ * stopped (restart, failure) shows exactly how far it got; the status of a job stays
+ * readable from any node and across restarts.
+ */
+@Entity
+@Table(name = "campaign_dispatch_jobs", indexes = @Index(name = "idx_dispatch_jobs_campaign", columnList = "campaignId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignDispatchJob {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private Long campaignId;
+
+    private String campaignName;
+
+    @Column(nullable = false, length = 10)
+    private String channel;
+
+    @Column(nullable = false, length = 10)
+    private String status;
+
+    private int sent;
+    private int failed;
+    private Long lastRecipientId;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
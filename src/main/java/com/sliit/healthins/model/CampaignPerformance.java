@@ -16,6 +16,9 @@ public class CampaignPerformance {
     private boolean opened;
     private boolean converted;
     private String channel; // EMAIL, SMS, etc.
+    private Boolean delivered; // null for rows recorded by open/convert tracking
+    @Column(length = 500)
+    private String deliveryError;
 
     public CampaignPerformance() {}
 
@@ -40,4 +43,8 @@ public class CampaignPerformance {
     public void setConverted(boolean converted) { this.converted = converted; }
     public String getChannel() { return channel; }
     public void setChannel(String channel) { this.channel = channel; }
+    public Boolean getDelivered() { return delivered; }
+    public void setDelivered(Boolean delivered) { this.delivered = delivered; }
+    public String getDeliveryError() { return deliveryError; }
+    public void setDeliveryError(String deliveryError) { this.deliveryError = deliveryError; }
 }
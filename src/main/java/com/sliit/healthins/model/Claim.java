@@ -5,6 +5,7 @@ import lombok.NoArgsConstructor;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import com.sliit.healthins.search.SearchIndexListener;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
@@ -12,12 +13,14 @@ import java.time.LocalDateTime;
 
 @Entity
 @NoArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, SearchIndexListener.class})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Claim {
 
+    // Pooled sequence rather than IDENTITY so Hibernate can batch claim inserts (bulk import)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_seq")
+    @SequenceGenerator(name = "claim_seq", sequenceName = "claim_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "claim_id", nullable = false, unique = true, length = 100)
@@ -33,6 +36,13 @@ public class Claim {
     @Column(name = "document_path", nullable = true, length = 500)
     private String documentPath;
 
+    // Media type and file name given at upload; the stored file itself is named by its hash
+    @Column(name = "document_content_type", length = 100)
+    private String documentContentType;
+
+    @Column(name = "document_name", length = 255)
+    private String documentName;
+
     @Column(name = "claim_date", nullable = false)
     private LocalDate claimDate;
 
@@ -57,6 +67,8 @@ public class Claim {
     public ClaimStatus getStatus() { return status; }
     public Double getAmount() { return amount; }
     public String getDocumentPath() { return documentPath; }
+    public String getDocumentContentType() { return documentContentType; }
+    public String getDocumentName() { return documentName; }
     public LocalDate getClaimDate() { return claimDate; }
     public String getNotes() { return notes; }
     public Policy getPolicy() { return policy; }
@@ -69,6 +81,8 @@ public class Claim {
     public void setStatus(ClaimStatus status) { this.status = status; }
     public void setAmount(Double amount) { this.amount = amount; }
     public void setDocumentPath(String documentPath) { this.documentPath = documentPath; }
+    public void setDocumentContentType(String documentContentType) { this.documentContentType = documentContentType; }
+    public void setDocumentName(String documentName) { this.documentName = documentName; }
     public void setClaimDate(LocalDate claimDate) { this.claimDate = claimDate; }
     public void setNotes(String notes) { this.notes = notes; }
     public void setPolicy(Policy policy) { this.policy = policy; }
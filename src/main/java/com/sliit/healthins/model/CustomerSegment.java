@@ -1,12 +1,17 @@
 package com.sliit.healthins.model;
 
+import com.sliit.healthins.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CUSTOMER_SEGMENT)
 @Data
 @NoArgsConstructor
 public class CustomerSegment {
@@ -18,6 +23,7 @@ public class CustomerSegment {
     private String criteria;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CUSTOMER_SEGMENT_MEMBERS)
     @CollectionTable(name = "customer_segment_customers", joinColumns = @JoinColumn(name = "segment_id"))
     @Column(name = "customer_id")
     private List<Long> customerIds;
@@ -0,0 +1,5 @@
+package com.sliit.healthins.model;
+
+public enum DispatchChannel {
+    EMAIL, SMS
+}
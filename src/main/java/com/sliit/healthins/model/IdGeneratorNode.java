@@ -0,0 +1,28 @@
+package com.sliit.healthins.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on one ID-generator node id. A running instance holds exactly one lease and
+ * renews it; a lease that is not renewed can be taken over by another instance.
+ */
+@Entity
+@Table(name = "id_generator_nodes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdGeneratorNode {
+    @Id
+    private Integer nodeId;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime leasedUntil;
+}
@@ -0,0 +1,57 @@
+package com.sliit.healthins.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row for one outgoing email. Written in the caller's transaction
+ * and delivered later by {@code EmailOutboxDispatcher}.
+ */
+@Entity
+@Table(name = "outbound_emails", indexes = @Index(name = "idx_outbound_emails_due", columnList = "status, nextAttemptAt"))
+@Data
+@NoArgsConstructor
+public class OutboundEmail {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboundEmailStatus status = OutboundEmailStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Due time while PENDING; lease expiry while SENDING
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    public OutboundEmail(String recipient, String subject, String body) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
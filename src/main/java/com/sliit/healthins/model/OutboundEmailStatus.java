@@ -0,0 +1,5 @@
+package com.sliit.healthins.model;
+
+public enum OutboundEmailStatus {
+    PENDING, SENDING, SENT, DEAD
+}
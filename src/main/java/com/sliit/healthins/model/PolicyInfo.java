@@ -6,14 +6,16 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import com.sliit.healthins.service.PolicyCatalogListener;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "policy_info")
+// Not in the second-level cache: PolicyCatalogService already keeps the whole catalog in memory
 @Data
 @NoArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, PolicyCatalogListener.class})
 public class PolicyInfo {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,30 @@
+package com.sliit.healthins.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bearer tokens for a user issued at or before {@code issuedBefore} (epoch milliseconds;
+ * rows written by older versions hold epoch seconds) are no longer accepted; set whenever the user's role or active flag changes or the user is
+ * deleted. Rows are shared by all nodes and can be deleted once every token they cover
+ * would have expired anyway.
+ */
+@Entity
+@Table(name = "token_watermarks", indexes = @Index(name = "idx_token_watermarks_expires", columnList = "expiresAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenWatermark {
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private long issuedBefore;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
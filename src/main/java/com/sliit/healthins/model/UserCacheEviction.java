@@ -0,0 +1,29 @@
+package com.sliit.healthins.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A cached principal that must be dropped on every node: written in the transaction that
+ * changed the user and replayed by each node's user cache. A null {@code username} drops
+ * every cached principal. Rows older than the cache TTL cover nothing and are purged.
+ */
+@Entity
+@Table(name = "user_cache_evictions", indexes = @Index(name = "idx_user_cache_evictions_at", columnList = "evictedAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCacheEviction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String username;
+
+    @Column(nullable = false)
+    private LocalDateTime evictedAt;
+}
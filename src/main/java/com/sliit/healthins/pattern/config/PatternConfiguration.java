@@ -2,7 +2,8 @@ package com.sliit.healthins.pattern.config;
 
 import com.sliit.healthins.pattern.decorator.impl.LoggingDTOFactoryDecorator;
 import com.sliit.healthins.pattern.factory.DTOFactory;
-import com.sliit.healthins.pattern.factory.impl.StandardDTOFactory;
+import com.sliit.healthins.pattern.factory.DTOMapper;
+import com.sliit.healthins.pattern.factory.impl.GeneratedDTOFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -16,13 +17,13 @@ public class PatternConfiguration {
     
     /**
      * Creates the decorated DTO factory with logging capabilities
-     * @param modelMapper ModelMapper instance
+     * @param dtoMapper generated entity-to-DTO mapper
      * @return Decorated DTO factory
      */
     @Bean
     @Primary
-    public DTOFactory dtoFactory(org.modelmapper.ModelMapper modelMapper) {
-        DTOFactory standardFactory = new StandardDTOFactory(modelMapper);
-        return new LoggingDTOFactoryDecorator(standardFactory);
+    public DTOFactory dtoFactory(DTOMapper dtoMapper) {
+        DTOFactory generatedFactory = new GeneratedDTOFactory(dtoMapper);
+        return new LoggingDTOFactoryDecorator(generatedFactory);
     }
 }
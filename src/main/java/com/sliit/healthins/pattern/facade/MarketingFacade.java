@@ -2,12 +2,11 @@ package com.sliit.healthins.pattern.facade;
 
 import com.sliit.healthins.dto.CampaignDTO;
 import com.sliit.healthins.model.Campaign;
-import com.sliit.healthins.model.Role;
-import com.sliit.healthins.model.User;
 import com.sliit.healthins.pattern.observer.MarketingEvent;
 import com.sliit.healthins.pattern.observer.MarketingEventObserver;
 import com.sliit.healthins.pattern.strategy.MarketingCampaignStrategy;
-import com.sliit.healthins.repository.UserRepository;
+import com.sliit.healthins.service.CampaignDispatchService.RecipientSource;
+import com.sliit.healthins.service.CampaignRecipientResolver;
 import com.sliit.healthins.service.MarketingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -23,25 +22,32 @@ import java.util.Map;
 public class MarketingFacade {
     
     private final MarketingService marketingService;
-    private final UserRepository userRepository;
+    private final CampaignRecipientResolver recipientResolver;
     private final List<MarketingCampaignStrategy> strategies;
     private final List<MarketingEventObserver> observers;
     
     @Autowired
     public MarketingFacade(MarketingService marketingService, 
-                          UserRepository userRepository,
+                          CampaignRecipientResolver recipientResolver,
                           List<MarketingCampaignStrategy> strategies,
                           List<MarketingEventObserver> observers) {
         this.marketingService = marketingService;
-        this.userRepository = userRepository;
+        this.recipientResolver = recipientResolver;
         this.strategies = strategies;
         this.observers = observers;
     }
     
     /**
-     * Execute campaign using appropriate strategy and notify observers
+     * Execute campaign against every customer using appropriate strategy and notify observers
      */
     public Map<String, Object> executeCampaignWithStrategy(Long campaignId, String userId) {
+        return executeCampaignWithStrategy(campaignId, null, userId);
+    }
+    
+    /**
+     * Execute campaign against a segment (or every customer when segmentId is null)
+     */
+    public Map<String, Object> executeCampaignWithStrategy(Long campaignId, Long segmentId, String userId) {
         Campaign campaign = marketingService.getCampaignById(campaignId)
                 .orElseThrow(() -> new RuntimeException("Campaign not found"));
         
@@ -51,11 +57,16 @@ public class MarketingFacade {
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("No strategy found for campaign type: " + campaign.getType()));
         
-        // Get target customers
-        List<User> customers = userRepository.findByRole(Role.CUSTOMER);
+        // Target contacts are paged by id as the strategy reads them
+        RecipientSource recipients = segmentId != null
+                ? recipientResolver.segment(segmentId)
+                : recipientResolver.allCustomers();
         
         // Execute campaign
-        Map<String, Object> results = strategy.executeCampaign(campaign, customers);
+        Map<String, Object> results = strategy.executeCampaign(campaign, recipients);
+        if (segmentId != null) {
+            results.put("segmentId", segmentId);
+        }
         
         // Notify observers
         notifyObservers("CAMPAIGN_EXECUTED", campaign, results, userId);
@@ -91,14 +102,12 @@ public class MarketingFacade {
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("Email strategy not available"));
         
-        List<User> customers = userRepository.findByRole(Role.CUSTOMER);
-        Map<String, Object> results = emailStrategy.executeCampaign(campaign, customers);
+        Map<String, Object> results = emailStrategy.executeCampaign(campaign, recipientResolver.allCustomers());
         
         // Notify observers about email sending
         Map<String, Object> emailData = new HashMap<>();
-        emailData.put("successCount", results.get("sentCount"));
-        emailData.put("failureCount", results.get("failedCount"));
-        emailData.put("totalCustomers", customers.size());
+        emailData.put("jobId", results.get("jobId"));
+        emailData.put("status", results.get("status"));
         
         notifyObservers("EMAIL_SENT", campaign, emailData, userId);
         
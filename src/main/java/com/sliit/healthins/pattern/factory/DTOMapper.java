@@ -0,0 +1,172 @@
+package com.sliit.healthins.pattern.factory;
+
+import com.sliit.healthins.dto.BillingHistoryDTO;
+import com.sliit.healthins.dto.ClaimDTO;
+import com.sliit.healthins.dto.ClaimUpdateDTO;
+import com.sliit.healthins.dto.CustomerDTO;
+import com.sliit.healthins.dto.InquiryDTO;
+import com.sliit.healthins.dto.PaymentDTO;
+import com.sliit.healthins.dto.PaymentReminderDTO;
+import com.sliit.healthins.dto.PolicyDetailsDTO;
+import com.sliit.healthins.model.*;
+import com.sliit.healthins.readmodel.ClaimView;
+import com.sliit.healthins.readmodel.CustomerView;
+import com.sliit.healthins.readmodel.InquiryView;
+import com.sliit.healthins.readmodel.PaymentView;
+import com.sliit.healthins.readmodel.PolicyView;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Entity and read-model to DTO mappings generated at compile time (MapStruct writes
+ * {@code DTOMapperImpl}). Every target property must be mapped or explicitly ignored, so a
+ * field added to a DTO fails the build instead of silently coming back null. List endpoints
+ * map the {@code readmodel} records; for entities only the associations named in a
+ * {@code source} path are read, and callers fetch those with the query (see the entity
+ * graphs on {@code ClaimRepository}).
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface DTOMapper {
+
+    /**
+     * Creates ClaimDTO from a Claim, reading its policy and the policy's customer
+     * @param claim Claim entity
+     * @return ClaimDTO
+     */
+    @Mapping(target = "policyNumber", source = "policy.policyNumber")
+    @Mapping(target = "policyType", source = "policy.coverage")
+    @Mapping(target = "userId", source = "policy.customer.id")
+    @Mapping(target = "userName", source = "policy.customer.name")
+    @Mapping(target = "description", source = "notes")
+    ClaimDTO toClaimDTO(Claim claim);
+
+    /**
+     * Creates ClaimUpdateDTO from a claim read model
+     * @param claim ClaimView
+     * @return ClaimUpdateDTO
+     */
+    ClaimUpdateDTO toClaimUpdateDTO(ClaimView claim);
+
+    /**
+     * Creates PaymentDTO from a payment read model; card details are request-only and stay empty
+     * @param payment PaymentView
+     * @return PaymentDTO
+     */
+    @Mapping(target = "claimId", ignore = true)
+    @Mapping(target = "cardNumber", ignore = true)
+    @Mapping(target = "expiryDate", ignore = true)
+    @Mapping(target = "cvv", ignore = true)
+    @Mapping(target = "cardholderName", ignore = true)
+    PaymentDTO toPaymentDTO(PaymentView payment);
+
+    /**
+     * Creates a billing history row from a payment read model: paid date when paid, otherwise due date
+     * @param payment PaymentView
+     * @return BillingHistoryDTO
+     */
+    @Mapping(target = "date", expression = "java(payment.paymentDate() != null ? payment.paymentDate() : payment.dueDate())")
+    @Mapping(target = "description", ignore = true)
+    @Mapping(target = "type", constant = "PREMIUM")
+    BillingHistoryDTO toBillingHistoryDTO(PaymentView payment);
+
+    /**
+     * Creates PaymentReminderDTO from a payment read model
+     * @param payment PaymentView
+     * @return PaymentReminderDTO
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "paymentId", source = "id")
+    @Mapping(target = "policyNumber", defaultValue = "N/A")
+    @Mapping(target = "status", defaultValue = "N/A")
+    @Mapping(target = "reminderType", ignore = true)
+    @Mapping(target = "message", ignore = true)
+    PaymentReminderDTO toPaymentReminderDTO(PaymentView payment);
+
+    /**
+     * Creates PolicyDetailsDTO from a policy read model; claim counts are filled in by the caller
+     * @param policy PolicyView
+     * @return PolicyDetailsDTO
+     */
+    @Mapping(target = "coverageType", ignore = true)
+    @Mapping(target = "description", ignore = true)
+    @Mapping(target = "benefits", ignore = true)
+    @Mapping(target = "coverageLimit", ignore = true)
+    @Mapping(target = "totalClaims", ignore = true)
+    @Mapping(target = "pendingClaims", ignore = true)
+    PolicyDetailsDTO toPolicyDetailsDTO(PolicyView policy);
+
+    /**
+     * Creates InquiryDTO from an inquiry read model
+     * @param inquiry InquiryView
+     * @return InquiryDTO
+     */
+    @Mapping(target = "customerName", defaultValue = "Unknown")
+    @Mapping(target = "subject", source = "title")
+    @Mapping(target = "response", ignore = true)
+    InquiryDTO toInquiryDTO(InquiryView inquiry);
+
+    /**
+     * Creates CustomerDTO from a customer read model and its first policy
+     * @param customer CustomerView
+     * @return CustomerDTO
+     */
+    @Mapping(target = "isActive", source = "active")
+    @Mapping(target = "status", source = "policyStatus", defaultValue = "N/A")
+    @Mapping(target = "policyNumber", defaultValue = "N/A")
+    CustomerDTO toCustomerDTO(CustomerView customer);
+
+    /**
+     * Creates CustomerDTO from a User without touching its policies; callers fill in
+     * status and policyNumber from whatever policy data they already loaded
+     * @param user User entity
+     * @return CustomerDTO
+     */
+    @Mapping(target = "isActive", source = "active")
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "policyNumber", ignore = true)
+    CustomerDTO toCustomerDTO(User user);
+
+    /**
+     * Copies the editable customer fields onto a managed User; null fields are left unchanged
+     * @param customerDTO incoming changes
+     * @param user User entity to update
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    @Mapping(target = "policies", ignore = true)
+    @Mapping(target = "inquiries", ignore = true)
+    @Mapping(target = "bankAccount", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateUser(CustomerDTO customerDTO, @MappingTarget User user);
+
+    /**
+     * Creates InquiryDTO from an Inquiry, reading its customer
+     * @param inquiry Inquiry entity
+     * @return InquiryDTO
+     */
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerName", source = "customer.name", defaultValue = "Unknown")
+    // Inquiry has no response field; the title stands in for it
+    @Mapping(target = "response", source = "title")
+    @Mapping(target = "subject", ignore = true)
+    InquiryDTO toInquiryDTO(Inquiry inquiry);
+
+    /**
+     * Creates PaymentReminderDTO from a Payment, reading its policy
+     * @param payment Payment entity
+     * @return PaymentReminderDTO
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "paymentId", source = "id")
+    @Mapping(target = "policyNumber", source = "policy.policyNumber", defaultValue = "N/A")
+    @Mapping(target = "status", defaultValue = "N/A")
+    @Mapping(target = "reminderType", ignore = true)
+    @Mapping(target = "message", ignore = true)
+    PaymentReminderDTO toPaymentReminderDTO(Payment payment);
+}
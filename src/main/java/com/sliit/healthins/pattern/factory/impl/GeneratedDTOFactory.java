@@ -0,0 +1,40 @@
+package com.sliit.healthins.pattern.factory.impl;
+
+import com.sliit.healthins.dto.CustomerDTO;
+import com.sliit.healthins.dto.InquiryDTO;
+import com.sliit.healthins.dto.PaymentReminderDTO;
+import com.sliit.healthins.model.*;
+import com.sliit.healthins.pattern.factory.DTOFactory;
+import com.sliit.healthins.pattern.factory.DTOMapper;
+
+/**
+ * Concrete Factory: DTO Factory backed by the compile-time generated {@link DTOMapper}
+ * No reflection per call; same output as {@link StandardDTOFactory}
+ */
+public class GeneratedDTOFactory implements DTOFactory {
+
+    private final DTOMapper dtoMapper;
+
+    public GeneratedDTOFactory(DTOMapper dtoMapper) {
+        this.dtoMapper = dtoMapper;
+    }
+
+    @Override
+    public CustomerDTO createCustomerDTO(User user) {
+        CustomerDTO dto = dtoMapper.toCustomerDTO(user);
+        Policy first = user.getPolicies() != null && !user.getPolicies().isEmpty() ? user.getPolicies().getFirst() : null;
+        dto.setStatus(first != null ? first.getStatus().name() : "N/A");
+        dto.setPolicyNumber(first != null ? first.getPolicyNumber() : "N/A");
+        return dto;
+    }
+
+    @Override
+    public InquiryDTO createInquiryDTO(Inquiry inquiry) {
+        return dtoMapper.toInquiryDTO(inquiry);
+    }
+
+    @Override
+    public PaymentReminderDTO createPaymentReminderDTO(Payment payment) {
+        return dtoMapper.toPaymentReminderDTO(payment);
+    }
+}
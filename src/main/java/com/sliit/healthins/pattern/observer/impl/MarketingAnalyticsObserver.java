@@ -2,6 +2,10 @@ package com.sliit.healthins.pattern.observer.impl;
 
 import com.sliit.healthins.pattern.observer.MarketingEvent;
 import com.sliit.healthins.pattern.observer.MarketingEventObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
@@ -9,14 +13,24 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Observer for collecting marketing analytics and metrics
+ * Observer for collecting marketing analytics as Micrometer meters:
+ * {@code marketing.campaign.events}, {@code marketing.campaign.executions},
+ * {@code marketing.campaign.targeted} and {@code marketing.emails}
  */
 @Component
 public class MarketingAnalyticsObserver implements MarketingEventObserver {
     
+    private static final Logger logger = LoggerFactory.getLogger(MarketingAnalyticsObserver.class);
+    
     private static final List<String> HANDLED_EVENTS = Arrays.asList(
         "CAMPAIGN_CREATED", "CAMPAIGN_EXECUTED", "EMAIL_SENT", "CAMPAIGN_COMPLETED"
     );
+
+    private final MeterRegistry meterRegistry;
+
+    public MarketingAnalyticsObserver(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
     
     @Override
     public void onMarketingEvent(MarketingEvent event) {
@@ -37,47 +51,46 @@ public class MarketingAnalyticsObserver implements MarketingEventObserver {
     }
     
     private void trackCampaignCreation(MarketingEvent event) {
-        System.out.println("[ANALYTICS] Campaign Created: " + event.getCampaign().getName());
-        System.out.println("[ANALYTICS] Campaign Type: " + event.getCampaign().getType());
-        System.out.println("[ANALYTICS] Created by: " + event.getUserId());
-        
-        // In real implementation, this would save to analytics database
-        logMetric("campaign.created", 1, event.getCampaign().getType().toString());
+        logger.debug("Campaign created: {} ({}) by {}", event.getCampaign().getName(), event.getCampaign().getType(), event.getUserId());
+        campaignCounter("created", String.valueOf(event.getCampaign().getType())).increment();
     }
     
     private void trackCampaignExecution(MarketingEvent event) {
         Map<String, Object> data = event.getEventData();
-        System.out.println("[ANALYTICS] Campaign Executed: " + event.getCampaign().getName());
-        System.out.println("[ANALYTICS] Strategy: " + data.get("strategy"));
-        System.out.println("[ANALYTICS] Target Count: " + data.get("totalTargeted"));
-        
-        logMetric("campaign.executed", 1, data.get("strategy").toString());
-        if (data.containsKey("sentCount")) {
-            logMetric("emails.sent", (Integer) data.get("sentCount"), "total");
+        logger.debug("Campaign executed: {} strategy={} targeted={}", event.getCampaign().getName(), data.get("strategy"), data.get("totalTargeted"));
+        meterRegistry.counter("marketing.campaign.executions", "strategy", String.valueOf(data.get("strategy"))).increment();
+        if (data.get("totalTargeted") instanceof Number targeted) {
+            meterRegistry.summary("marketing.campaign.targeted").record(targeted.doubleValue());
+        }
+        if (data.get("sentCount") instanceof Number sent) {
+            emailCounter("sent").increment(sent.doubleValue());
         }
     }
     
     private void trackEmailMetrics(MarketingEvent event) {
         Map<String, Object> data = event.getEventData();
-        System.out.println("[ANALYTICS] Email Metrics - Success: " + data.get("successCount") + 
-                          ", Failed: " + data.get("failureCount"));
-        
-        logMetric("email.success", (Integer) data.get("successCount"), "count");
-        logMetric("email.failure", (Integer) data.get("failureCount"), "count");
+        // Bulk sends report a dispatch job; their counts are metered as the job runs
+        logger.debug("Email metrics - job: {}, success: {}, failed: {}", data.get("jobId"), data.get("successCount"), data.get("failureCount"));
+        if (data.get("successCount") instanceof Number success) {
+            emailCounter("success").increment(success.doubleValue());
+        }
+        if (data.get("failureCount") instanceof Number failure) {
+            emailCounter("failure").increment(failure.doubleValue());
+        }
     }
     
     private void trackCampaignCompletion(MarketingEvent event) {
-        System.out.println("[ANALYTICS] Campaign Completed: " + event.getCampaign().getName());
-        System.out.println("[ANALYTICS] Duration: " + event.getCampaign().getStartDate() + 
-                          " to " + event.getCampaign().getEndDate());
-        
-        logMetric("campaign.completed", 1, event.getCampaign().getType().toString());
+        logger.debug("Campaign completed: {} ({} to {})", event.getCampaign().getName(),
+                event.getCampaign().getStartDate(), event.getCampaign().getEndDate());
+        campaignCounter("completed", String.valueOf(event.getCampaign().getType())).increment();
     }
     
-    private void logMetric(String metricName, Object value, String category) {
-        // Simulate metrics logging - in real implementation would use metrics system
-        System.out.println("[METRICS] " + metricName + "=" + value + " category=" + category + 
-                          " timestamp=" + System.currentTimeMillis());
+    private Counter campaignCounter(String event, String type) {
+        return meterRegistry.counter("marketing.campaign.events", "event", event, "type", type);
+    }
+
+    private Counter emailCounter(String outcome) {
+        return meterRegistry.counter("marketing.emails", "outcome", outcome);
     }
     
     @Override
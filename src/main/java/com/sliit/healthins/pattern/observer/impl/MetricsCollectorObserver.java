@@ -2,30 +2,33 @@ package com.sliit.healthins.pattern.observer.impl;
 
 import com.sliit.healthins.pattern.observer.CustomerSupportEvent;
 import com.sliit.healthins.pattern.observer.CustomerSupportObserver;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
  * Concrete Observer: Metrics Collector
- * Collects metrics about customer support operations
+ * Counts customer support operations as {@code customer.support.events}, tagged by event type
  */
 @Component
 public class MetricsCollectorObserver implements CustomerSupportObserver {
     
     private static final Logger metricsLogger = LoggerFactory.getLogger("METRICS");
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsCollectorObserver(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
     
     @Override
     public void onCustomerSupportEvent(CustomerSupportEvent event) {
-        // Log metrics for monitoring and analytics
-        metricsLogger.info("METRICS: {} operation performed by user: {} at {}", 
+        meterRegistry.counter("customer.support.events", "type", String.valueOf(event.getEventType())).increment();
+        metricsLogger.debug("METRICS: {} operation performed by user: {} at {}", 
                           event.getEventType(), 
                           event.getUserId(), 
                           event.getTimestamp());
-        
-        // Here you could integrate with metrics systems like Micrometer, Prometheus, etc.
-        // For example:
-        // meterRegistry.counter("customer.support.operation", "type", event.getEventType()).increment();
     }
     
     @Override
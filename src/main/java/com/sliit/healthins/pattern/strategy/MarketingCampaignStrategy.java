@@ -1,8 +1,7 @@
 package com.sliit.healthins.pattern.strategy;
 
 import com.sliit.healthins.model.Campaign;
-import com.sliit.healthins.model.User;
-import java.util.List;
+import com.sliit.healthins.service.CampaignDispatchService.RecipientSource;
 import java.util.Map;
 
 /**
@@ -13,10 +12,10 @@ public interface MarketingCampaignStrategy {
     /**
      * Execute the marketing campaign using specific strategy
      * @param campaign The campaign to execute
-     * @param customers List of target customers
+     * @param recipients Source of the target customers' contact rows, read page by page
      * @return Execution results with metrics
      */
-    Map<String, Object> executeCampaign(Campaign campaign, List<User> customers);
+    Map<String, Object> executeCampaign(Campaign campaign, RecipientSource recipients);
     
     /**
      * Get strategy name for identification
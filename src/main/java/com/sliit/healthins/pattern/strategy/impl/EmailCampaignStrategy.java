@@ -1,15 +1,16 @@
 package com.sliit.healthins.pattern.strategy.impl;
 
+import com.sliit.healthins.dto.CampaignDispatchStatusDTO;
 import com.sliit.healthins.model.Campaign;
 import com.sliit.healthins.model.CampaignType;
-import com.sliit.healthins.model.User;
+import com.sliit.healthins.model.DispatchChannel;
 import com.sliit.healthins.pattern.strategy.MarketingCampaignStrategy;
-import com.sliit.healthins.util.EmailSenderUtil;
+import com.sliit.healthins.service.CampaignDispatchService;
+import com.sliit.healthins.service.CampaignDispatchService.RecipientSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,38 +19,25 @@ import java.util.Map;
 @Component
 public class EmailCampaignStrategy implements MarketingCampaignStrategy {
     
-    private final EmailSenderUtil emailUtil;
+    private static final String DEFAULT_MESSAGE = "Thank you for being our valued customer!";
+    
+    private final CampaignDispatchService campaignDispatchService;
     
     @Autowired
-    public EmailCampaignStrategy(EmailSenderUtil emailUtil) {
-        this.emailUtil = emailUtil;
+    public EmailCampaignStrategy(CampaignDispatchService campaignDispatchService) {
+        this.campaignDispatchService = campaignDispatchService;
     }
     
     @Override
-    public Map<String, Object> executeCampaign(Campaign campaign, List<User> customers) {
-        int successCount = 0;
-        int failureCount = 0;
-        
-        String subject = "Health Insurance: " + campaign.getName();
-        String message = campaign.getDescription() != null ? campaign.getDescription() : 
-                        "Thank you for being our valued customer!";
-        
-        for (User customer : customers) {
-            try {
-                emailUtil.sendEmail(customer.getEmail(), subject, message);
-                successCount++;
-            } catch (Exception e) {
-                failureCount++;
-                System.err.println("Email failed for " + customer.getEmail() + ": " + e.getMessage());
-            }
-        }
+    public Map<String, Object> executeCampaign(Campaign campaign, RecipientSource recipients) {
+        // Delivery runs in the background; progress and final counts come from the job status
+        CampaignDispatchStatusDTO status = campaignDispatchService.start(campaign, DispatchChannel.EMAIL, recipients,
+                CampaignDispatchService.Message.forCampaign(campaign, DEFAULT_MESSAGE));
         
         Map<String, Object> results = new HashMap<>();
         results.put("strategy", getStrategyName());
-        results.put("sentCount", successCount);
-        results.put("failedCount", failureCount);
-        results.put("totalTargeted", customers.size());
-        results.put("successRate", customers.size() > 0 ? (double) successCount / customers.size() * 100 : 0);
+        results.put("jobId", status.getJobId());
+        results.put("status", status.getStatus());
         
         return results;
     }
@@ -2,12 +2,11 @@ package com.sliit.healthins.pattern.strategy.impl;
 
 import com.sliit.healthins.model.Campaign;
 import com.sliit.healthins.model.CampaignType;
-import com.sliit.healthins.model.User;
 import com.sliit.healthins.pattern.strategy.MarketingCampaignStrategy;
+import com.sliit.healthins.service.CampaignDispatchService.RecipientSource;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -17,14 +16,15 @@ import java.util.Map;
 public class SocialMediaCampaignStrategy implements MarketingCampaignStrategy {
     
     @Override
-    public Map<String, Object> executeCampaign(Campaign campaign, List<User> customers) {
+    public Map<String, Object> executeCampaign(Campaign campaign, RecipientSource customers) {
         // Simulate social media campaign execution
-        int engagementCount = (int) (customers.size() * 0.15); // 15% engagement rate
-        int reachCount = (int) (customers.size() * 2.5); // Extended reach through shares
+        long customerCount = customers.count();
+        int engagementCount = (int) (customerCount * 0.15); // 15% engagement rate
+        int reachCount = (int) (customerCount * 2.5); // Extended reach through shares
         
         Map<String, Object> results = new HashMap<>();
         results.put("strategy", getStrategyName());
-        results.put("targetedCustomers", customers.size());
+        results.put("targetedCustomers", customerCount);
         results.put("estimatedReach", reachCount);
         results.put("expectedEngagement", engagementCount);
         results.put("campaignPosted", true);
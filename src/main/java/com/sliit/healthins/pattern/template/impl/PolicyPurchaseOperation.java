@@ -6,9 +6,9 @@ import com.sliit.healthins.exception.ResourceNotFoundException;
 import com.sliit.healthins.model.PolicyInfo;
 import com.sliit.healthins.model.User;
 import com.sliit.healthins.pattern.template.CustomerPortalOperation;
-import com.sliit.healthins.repository.PolicyInfoRepository;
 import com.sliit.healthins.repository.UserRepository;
 import com.sliit.healthins.service.CustomerPortalService;
+import com.sliit.healthins.service.PolicyCatalogService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,15 +24,15 @@ public class PolicyPurchaseOperation extends CustomerPortalOperation<PolicyPurch
     private static final Logger logger = LoggerFactory.getLogger(PolicyPurchaseOperation.class);
     
     private final UserRepository userRepository;
-    private final PolicyInfoRepository policyInfoRepository;
+    private final PolicyCatalogService policyCatalogService;
     private final CustomerPortalService customerPortalService;
     
     @Autowired
     public PolicyPurchaseOperation(UserRepository userRepository,
-                                  PolicyInfoRepository policyInfoRepository,
+                                  PolicyCatalogService policyCatalogService,
                                   CustomerPortalService customerPortalService) {
         this.userRepository = userRepository;
-        this.policyInfoRepository = policyInfoRepository;
+        this.policyCatalogService = policyCatalogService;
         this.customerPortalService = customerPortalService;
     }
     
@@ -77,7 +77,7 @@ public class PolicyPurchaseOperation extends CustomerPortalOperation<PolicyPurch
     protected void checkPermissions(Long userId, PolicyPurchaseDTO request) {
         logger.debug("Checking permissions for policy purchase");
         
-        PolicyInfo policyInfo = policyInfoRepository.findById(request.getPolicyInfoId())
+        PolicyInfo policyInfo = policyCatalogService.findById(request.getPolicyInfoId())
             .orElseThrow(() -> new ResourceNotFoundException("Policy Info not found"));
         
         // Additional business rules can be added here
@@ -0,0 +1,27 @@
+package com.sliit.healthins.readmodel;
+
+import com.sliit.healthins.model.ClaimStatus;
+import com.sliit.healthins.model.PolicyStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A claim with a summary of its policy, read as plain columns. Serializes like the entity
+ * did ({@code claim.policy.policyNumber}) without a managed entity or proxy behind it.
+ */
+public record ClaimView(Long id, String claimId, ClaimStatus status, Double amount, String documentPath,
+                        LocalDate claimDate, String notes, LocalDateTime createdAt, LocalDateTime updatedAt,
+                        PolicySummary policy) {
+
+    public record PolicySummary(Long id, String policyNumber, String coverage, PolicyStatus status) {
+    }
+
+    // Flat form for JPQL constructor expressions
+    public ClaimView(Long id, String claimId, ClaimStatus status, Double amount, String documentPath,
+                     LocalDate claimDate, String notes, LocalDateTime createdAt, LocalDateTime updatedAt,
+                     Long policyId, String policyNumber, String coverage, PolicyStatus policyStatus) {
+        this(id, claimId, status, amount, documentPath, claimDate, notes, createdAt, updatedAt,
+                new PolicySummary(policyId, policyNumber, coverage, policyStatus));
+    }
+}
@@ -0,0 +1,16 @@
+package com.sliit.healthins.readmodel;
+
+import com.sliit.healthins.model.PolicyStatus;
+import com.sliit.healthins.model.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * A customer together with the number and status of their first policy, read in one
+ * query so the support console neither initializes {@code User.policies} per row nor
+ * holds the users in the persistence context.
+ */
+public record CustomerView(Long id, String username, String name, String contact, String email, String phone,
+                           boolean active, Role role, LocalDateTime createdAt, LocalDateTime updatedAt,
+                           String policyNumber, PolicyStatus policyStatus) {
+}
@@ -0,0 +1,14 @@
+package com.sliit.healthins.readmodel;
+
+import com.sliit.healthins.model.InquiryStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * An inquiry with the id and name of the customer who raised it.
+ */
+public record InquiryView(Long id, Long customerId, String customerName, String type, String title,
+                          String description, InquiryStatus status, LocalDate resolutionDate,
+                          LocalDateTime createdAt) {
+}
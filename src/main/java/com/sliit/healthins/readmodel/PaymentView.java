@@ -0,0 +1,13 @@
+package com.sliit.healthins.readmodel;
+
+import com.sliit.healthins.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A payment with the number of the policy it belongs to.
+ */
+public record PaymentView(Long id, Long policyId, String policyNumber, BigDecimal amount, LocalDate dueDate,
+                          LocalDate paymentDate, PaymentStatus status) {
+}
@@ -0,0 +1,13 @@
+package com.sliit.healthins.readmodel;
+
+import com.sliit.healthins.model.PolicyStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A policy's own columns and its customer's id, without the claims and payments collections.
+ */
+public record PolicyView(Long id, Long customerId, String policyNumber, PolicyStatus status,
+                         BigDecimal premiumAmount, LocalDate startDate, LocalDate endDate, String coverage) {
+}
@@ -12,4 +12,5 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
     List<AuditLog> findByUserId(Long userId); // Assuming user_id is mapped correctly
     AuditLog findTopByOrderByTimestampDesc(); // Fixed return type to AuditLog
-}
\ No newline at end of file
+    List<AuditLog> findTop10ByOrderByTimestampDesc();
+}
@@ -0,0 +1,9 @@
+package com.sliit.healthins.repository;
+
+import com.sliit.healthins.model.CampaignDispatchJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CampaignDispatchJobRepository extends JpaRepository<CampaignDispatchJob, String> {
+}
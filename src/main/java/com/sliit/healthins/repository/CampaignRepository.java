@@ -2,7 +2,12 @@ package com.sliit.healthins.repository;
 
 import com.sliit.healthins.model.Campaign;
 import com.sliit.healthins.model.CampaignStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -11,5 +16,10 @@ import java.util.List;
 @Repository
 public interface CampaignRepository extends JpaRepository<Campaign, Long> {
     List<Campaign> findByStartDateAfterAndEndDateBefore(LocalDate start, LocalDate end);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Campaign> findByStatus(CampaignStatus status);
-}
\ No newline at end of file
+
+    // Paged reads for list endpoints: offset pages or keyset cursors (id > after)
+    Slice<Campaign> findAllBy(Pageable pageable);
+    Slice<Campaign> findByIdGreaterThan(Long id, Pageable pageable);
+}
@@ -1,24 +1,97 @@
 package com.sliit.healthins.repository;
 
+import com.sliit.healthins.dto.ClaimReportDTO;
+import com.sliit.healthins.dto.PolicyClaimCountsDTO;
 import com.sliit.healthins.model.Claim;
 import com.sliit.healthins.model.ClaimStatus;
+import com.sliit.healthins.readmodel.ClaimView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClaimRepository extends JpaRepository<Claim, Long> {
     List<Claim> findByClaimDateBetween(LocalDate start, LocalDate end);
-    List<Claim> findByStatus(ClaimStatus status);
     long countByStatus(ClaimStatus status);
+
+    // List endpoints map every claim with its policy number and customer; fetch both up front
+    @Override
+    @EntityGraph(attributePaths = {"policy", "policy.customer"})
+    List<Claim> findAll();
+    @EntityGraph(attributePaths = {"policy", "policy.customer"})
+    List<Claim> findByStatus(ClaimStatus status);
+    @EntityGraph(attributePaths = {"policy", "policy.customer"})
     List<Claim> findByPolicyCustomerId(Long customerId);
+    @EntityGraph(attributePaths = {"policy", "policy.customer"})
     List<Claim> findByPolicyCustomerIdAndStatus(Long customerId, ClaimStatus status);
     long countByPolicyCustomerId(Long customerId);
     long countByPolicyCustomerIdAndStatus(Long customerId, ClaimStatus status);
     long countByPolicy_Id(Long policyId);
     long countByPolicy_IdAndStatus(Long policyId, ClaimStatus status);
     java.util.Optional<Claim> findByClaimId(String claimId);
+    @EntityGraph(attributePaths = {"policy", "policy.customer"})
     List<Claim> findByPolicy(com.sliit.healthins.model.Policy policy);
-}
\ No newline at end of file
+
+    // Scrolls claims for report generation; must be consumed inside a transaction and closed
+    @Query("SELECT c FROM Claim c JOIN FETCH c.policy p JOIN FETCH p.customer " +
+           "WHERE c.claimDate BETWEEN :start AND :end ORDER BY c.claimDate, c.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Claim> streamByClaimDateBetween(LocalDate start, LocalDate end);
+
+    // Full scan for rebuilding the search index
+    @Query("SELECT c FROM Claim c")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Claim> streamAll();
+
+    // Claims report rows in a single round trip; a null status selects every status
+    @Query("SELECT new com.sliit.healthins.dto.ClaimReportDTO(c.claimId, u.name, p.policyNumber, c.amount, c.claimDate, c.status) " +
+           "FROM Claim c JOIN c.policy p JOIN p.customer u " +
+           "WHERE c.claimDate BETWEEN :start AND :end AND (:status IS NULL OR c.status = :status) " +
+           "ORDER BY c.claimDate, c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ClaimReportDTO> streamReportRows(LocalDate start, LocalDate end, ClaimStatus status);
+
+    // Total and pending claim counts for every policy of a customer in one grouped statement
+    @Query("SELECT new com.sliit.healthins.dto.PolicyClaimCountsDTO(p.id, COUNT(c), " +
+           "SUM(CASE WHEN c.status = com.sliit.healthins.model.ClaimStatus.PENDING THEN 1L ELSE 0L END)) " +
+           "FROM Claim c JOIN c.policy p WHERE p.customer.id = :customerId GROUP BY p.id")
+    List<PolicyClaimCountsDTO> countClaimsByPolicyForCustomer(Long customerId);
+
+    // Paged reads for list endpoints: offset pages or keyset cursors (id > after)
+    @EntityGraph(attributePaths = {"policy", "policy.customer"})
+    Slice<Claim> findAllBy(Pageable pageable);
+    @EntityGraph(attributePaths = {"policy", "policy.customer"})
+    Slice<Claim> findByIdGreaterThan(Long id, Pageable pageable);
+
+    // Most recent rows for dashboard widgets
+    @EntityGraph(attributePaths = {"policy", "policy.customer"})
+    List<Claim> findTop5ByOrderByCreatedAtDesc();
+    @EntityGraph(attributePaths = {"policy", "policy.customer"})
+    List<Claim> findTop10ByOrderByCreatedAtDesc();
+
+    // Read models: plain columns in one statement, nothing enters the persistence context
+    String CLAIM_VIEW_SELECT = "SELECT new com.sliit.healthins.readmodel.ClaimView(c.id, c.claimId, c.status, c.amount, " +
+            "c.documentPath, c.claimDate, c.notes, c.createdAt, c.updatedAt, p.id, p.policyNumber, p.coverage, p.status) " +
+            "FROM Claim c JOIN c.policy p ";
+
+    @Query(CLAIM_VIEW_SELECT + "WHERE p.customer.id = :customerId ORDER BY c.id")
+    List<ClaimView> findViewsByCustomerId(Long customerId);
+    @Query(CLAIM_VIEW_SELECT + "ORDER BY c.id")
+    List<ClaimView> findAllViews();
+}
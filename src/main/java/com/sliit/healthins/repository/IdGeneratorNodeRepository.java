@@ -0,0 +1,30 @@
+package com.sliit.healthins.repository;
+
+import com.sliit.healthins.model.IdGeneratorNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdGeneratorNodeRepository extends JpaRepository<IdGeneratorNode, Integer> {
+    // Plain INSERT (save() would merge over a lease held by another instance); fails on a taken id
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO id_generator_nodes (node_id, owner, leased_until) VALUES (:nodeId, :owner, :until)", nativeQuery = true)
+    int insertLease(Integer nodeId, String owner, LocalDateTime until);
+
+    // Takes over an expired lease; returns 0 if another instance holds it
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdGeneratorNode n SET n.owner = :owner, n.leasedUntil = :until WHERE n.nodeId = :nodeId AND n.leasedUntil < :now")
+    int takeOver(Integer nodeId, String owner, LocalDateTime until, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdGeneratorNode n SET n.leasedUntil = :until WHERE n.nodeId = :nodeId AND n.owner = :owner")
+    int renew(Integer nodeId, String owner, LocalDateTime until);
+}
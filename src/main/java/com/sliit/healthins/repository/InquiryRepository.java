@@ -2,11 +2,20 @@ package com.sliit.healthins.repository;
 
 import com.sliit.healthins.model.Inquiry;
 import com.sliit.healthins.model.InquiryStatus;
+import com.sliit.healthins.readmodel.InquiryView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
@@ -14,4 +23,30 @@ public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
     long countByStatus(InquiryStatus status);
     List<Inquiry> findByCustomerId(Long customerId); // Fixed to use Long and proper naming
     List<?> findByResolutionDateBetween(LocalDate from, LocalDate to);
-}
\ No newline at end of file
+
+    // Full scan for rebuilding the search index; customer is fetched so its name is indexed
+    @Query("SELECT i FROM Inquiry i LEFT JOIN FETCH i.customer")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Inquiry> streamAllWithCustomer();
+
+    // Most recent rows for dashboard widgets
+    @EntityGraph(attributePaths = {"customer"})
+    List<Inquiry> findTop10ByOrderByCreatedAtDesc();
+
+    // Read models: plain columns in one statement, nothing enters the persistence context;
+    // the paged variant takes offset pages or keyset cursors (id > after)
+    String INQUIRY_VIEW_SELECT = "SELECT new com.sliit.healthins.readmodel.InquiryView(i.id, u.id, u.name, i.type, " +
+            "i.title, i.description, i.status, i.resolutionDate, i.createdAt) FROM Inquiry i LEFT JOIN i.customer u ";
+
+    @Query(INQUIRY_VIEW_SELECT + "WHERE u.id = :customerId ORDER BY i.id")
+    List<InquiryView> findViewsByCustomerId(Long customerId);
+    @Query(INQUIRY_VIEW_SELECT + "WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY i.id")
+    List<InquiryView> findViewsByCustomerNameContaining(String name);
+    @Query(INQUIRY_VIEW_SELECT + "WHERE i.status = :status ORDER BY i.id")
+    List<InquiryView> findViewsByStatus(InquiryStatus status);
+    @Query(INQUIRY_VIEW_SELECT + "WHERE (:after IS NULL OR i.id > :after)")
+    Slice<InquiryView> findViews(Long after, Pageable pageable);
+}
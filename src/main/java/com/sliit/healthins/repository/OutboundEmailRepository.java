@@ -0,0 +1,28 @@
+package com.sliit.healthins.repository;
+
+import com.sliit.healthins.model.OutboundEmail;
+import com.sliit.healthins.model.OutboundEmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+    long countByStatus(OutboundEmailStatus status);
+
+    // Due rows: pending ones whose backoff has elapsed, or sending ones whose lease expired.
+    // Rows locked by another instance are skipped (lock timeout -2 is SKIP LOCKED).
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboundEmail e WHERE e.status IN (com.sliit.healthins.model.OutboundEmailStatus.PENDING, " +
+           "com.sliit.healthins.model.OutboundEmailStatus.SENDING) AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+    List<OutboundEmail> findDueForUpdate(LocalDateTime now, Pageable pageable);
+}
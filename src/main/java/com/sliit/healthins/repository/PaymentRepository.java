@@ -1,7 +1,11 @@
 package com.sliit.healthins.repository;
 import com.sliit.healthins.model.Payment;
 import com.sliit.healthins.model.PaymentStatus;
+import com.sliit.healthins.readmodel.PaymentView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -16,4 +20,18 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByPaymentDateBetween(LocalDate startDate, LocalDate endDate);
     List<Payment> findByPaymentDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     Optional<Payment> findFirstByPolicyCustomerIdAndStatusOrderByDueDateAsc(Long customerId, PaymentStatus status);
-}
\ No newline at end of file
+
+    // Read models: plain columns in one statement, nothing enters the persistence context;
+    // the paged variant takes offset pages or keyset cursors (id > after)
+    String PAYMENT_VIEW_SELECT = "SELECT new com.sliit.healthins.readmodel.PaymentView(pm.id, p.id, p.policyNumber, " +
+            "pm.amount, pm.dueDate, pm.paymentDate, pm.status) FROM Payment pm LEFT JOIN pm.policy p ";
+
+    @Query(PAYMENT_VIEW_SELECT + "WHERE p.customer.id = :customerId ORDER BY pm.id")
+    List<PaymentView> findViewsByCustomerId(Long customerId);
+    @Query(PAYMENT_VIEW_SELECT + "WHERE p.policyNumber = :policyNumber ORDER BY pm.id")
+    List<PaymentView> findViewsByPolicyNumber(String policyNumber);
+    @Query(PAYMENT_VIEW_SELECT + "WHERE pm.id = :id")
+    Optional<PaymentView> findViewById(Long id);
+    @Query(PAYMENT_VIEW_SELECT + "WHERE (:after IS NULL OR pm.id > :after)")
+    Slice<PaymentView> findViews(Long after, Pageable pageable);
+}
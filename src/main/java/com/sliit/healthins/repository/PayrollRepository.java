@@ -2,6 +2,9 @@ package com.sliit.healthins.repository;
 
 import com.sliit.healthins.model.Payroll;
 import com.sliit.healthins.model.PayrollStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,4 +16,14 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
     List<Payroll> findByDateBetween(LocalDate start, LocalDate end);
     long countByStatus(PayrollStatus status);
     List<Payroll> findByEmployeeId(Long employeeId);
-}
\ No newline at end of file
+
+    // Paged reads for list endpoints: offset pages or keyset cursors (id > after)
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Slice<Payroll> findAllBy(Pageable pageable);
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    Slice<Payroll> findByIdGreaterThan(Long id, Pageable pageable);
+
+    // Most recent rows for dashboard widgets
+    @EntityGraph(attributePaths = {"employee", "employee.user"})
+    List<Payroll> findTop5ByOrderByCreatedAtDesc();
+}
@@ -9,4 +9,7 @@ import java.util.List;
 @Repository
 public interface PerformanceReviewRepository extends JpaRepository<PerformanceReview, Long> {
     List<PerformanceReview> findByEmployeeId(Long employeeId);
-}
\ No newline at end of file
+
+    // Most recent rows for dashboard widgets
+    List<PerformanceReview> findTop5ByOrderByCreatedAtDesc();
+}
@@ -2,12 +2,26 @@ package com.sliit.healthins.repository;
 
 import com.sliit.healthins.model.PolicyInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface PolicyInfoRepository extends JpaRepository<PolicyInfo, Long> {
     Optional<PolicyInfo> findByCoverageType(String coverageType);
-}
 
+    /**
+     * Row count and newest audit timestamp of the catalog, enough to tell whether any row was
+     * inserted, updated or deleted since a copy was loaded.
+     */
+    @Query("SELECT COUNT(p) AS rowCount, MAX(COALESCE(p.updatedAt, p.createdAt)) AS lastChanged FROM PolicyInfo p")
+    CatalogVersion findCatalogVersion();
+
+    interface CatalogVersion {
+        long getRowCount();
+
+        LocalDateTime getLastChanged();
+    }
+}
@@ -1,11 +1,15 @@
 package com.sliit.healthins.repository;
 
+import com.sliit.healthins.dto.PolicyRefDTO;
 import com.sliit.healthins.model.Policy;
 import com.sliit.healthins.model.PolicyStatus;
+import com.sliit.healthins.readmodel.PolicyView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +19,17 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
     List<Policy> findByCustomerId(Long customerId);
     Optional<Policy> findByPolicyNumber(String policyNumber);
     long countByCustomerIdAndStatus(Long customerId, PolicyStatus status);
-}
\ No newline at end of file
+
+    // Most recent rows for dashboard widgets
+    List<Policy> findTop5ByOrderByCreatedAtDesc();
+
+    // Resolves many policy numbers in one query without loading policies or customers
+    @Query("SELECT new com.sliit.healthins.dto.PolicyRefDTO(p.id, p.policyNumber, p.customer.id, p.status) " +
+           "FROM Policy p WHERE p.policyNumber IN :policyNumbers")
+    List<PolicyRefDTO> findRefsByPolicyNumberIn(Collection<String> policyNumbers);
+
+    // Read model: a customer's policies without their claims, payments or customer
+    @Query("SELECT new com.sliit.healthins.readmodel.PolicyView(p.id, p.customer.id, p.policyNumber, p.status, " +
+           "p.premiumAmount, p.startDate, p.endDate, p.coverage) FROM Policy p WHERE p.customer.id = :customerId ORDER BY p.id")
+    List<PolicyView> findViewsByCustomerId(Long customerId);
+}
@@ -4,10 +4,14 @@ import com.sliit.healthins.config.SystemConfig; // Assuming this exists in confi
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SystemConfigRepository extends JpaRepository<SystemConfig, Long> {
 
     Optional<SystemConfig> findByConfigName(String configName);
+
+    List<SystemConfig> findByConfigNameIn(Collection<String> configNames);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.sliit.healthins.repository;
+
+import com.sliit.healthins.model.TokenWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenWatermarkRepository extends JpaRepository<TokenWatermark, Long> {
+    @Query("SELECT w FROM TokenWatermark w WHERE w.expiresAt > :now")
+    List<TokenWatermark> findActive(LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TokenWatermark w WHERE w.expiresAt <= :now")
+    int deleteExpired(LocalDateTime now);
+}
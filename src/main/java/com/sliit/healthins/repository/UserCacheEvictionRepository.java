@@ -0,0 +1,22 @@
+package com.sliit.healthins.repository;
+
+import com.sliit.healthins.model.UserCacheEviction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserCacheEvictionRepository extends JpaRepository<UserCacheEviction, Long> {
+    @Query("SELECT e FROM UserCacheEviction e WHERE e.evictedAt > :since")
+    List<UserCacheEviction> findSince(LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserCacheEviction e WHERE e.evictedAt <= :before")
+    int deleteBefore(LocalDateTime before);
+}
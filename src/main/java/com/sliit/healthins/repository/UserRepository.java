@@ -1,21 +1,52 @@
 package com.sliit.healthins.repository;
 
+import com.sliit.healthins.dto.CampaignRecipientDTO;
+import com.sliit.healthins.dto.ProfileSummaryDTO;
+import com.sliit.healthins.dto.UserPrincipalDTO;
 import com.sliit.healthins.model.Role;
 import com.sliit.healthins.model.User;
+import com.sliit.healthins.readmodel.CustomerView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Customer rows carry the first (lowest id) policy, joined in the same statement
+    String CUSTOMER_ROW_SELECT = "SELECT new com.sliit.healthins.readmodel.CustomerView(u.id, u.username, u.name, u.contact, " +
+            "u.email, u.phone, u.isActive, u.role, u.createdAt, u.updatedAt, p.policyNumber, p.status) " +
+            "FROM User u LEFT JOIN u.policies p ON p.id = (SELECT MIN(p2.id) FROM Policy p2 WHERE p2.customer = u) ";
+
     @org.springframework.data.jpa.repository.Query("SELECT u FROM User u LEFT JOIN FETCH u.policies WHERE u.id = :id")
     Optional<User> findById(Long id);
     @org.springframework.data.jpa.repository.Query("SELECT u FROM User u LEFT JOIN FETCH u.policies WHERE u.username = :username")
     Optional<User> findByUsername(String username);
+    // Authentication principal only; unlike findByUsername this does not join policies
+    @org.springframework.data.jpa.repository.Query("SELECT new com.sliit.healthins.dto.UserPrincipalDTO(" +
+            "u.id, u.username, u.password, u.name, u.email, u.role, u.isActive) FROM User u WHERE u.username = :username")
+    Optional<UserPrincipalDTO> findPrincipalByUsername(String username);
+    @Modifying
+    @Transactional
+    @org.springframework.data.jpa.repository.Query("UPDATE User u SET u.isActive = true WHERE u.id = :id")
+    int activate(Long id);
+    @Modifying
+    @Transactional
+    @org.springframework.data.jpa.repository.Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(Long id, String password);
     List<User> findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(String name, String email);
     List<User> findByNameContainingIgnoreCase(String name);
     long countByRole(Role role);
@@ -25,4 +56,52 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     long countByIsActiveTrue();
     List<User> findByRole(Role role);
-}
\ No newline at end of file
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.sliit.healthins.dto.ProfileSummaryDTO(" +
+            "u.id, u.name, u.username, u.email, u.phone, u.isActive, u.createdAt, " +
+            "b.bankName, b.accountNumber, b.accountHolderName, b.branch, " +
+            "(SELECT COUNT(p) FROM Policy p WHERE p.customer.id = u.id AND p.status = com.sliit.healthins.model.PolicyStatus.ACTIVE), " +
+            "(SELECT COUNT(c) FROM Claim c WHERE c.policy.customer.id = u.id), " +
+            "(SELECT COUNT(c) FROM Claim c WHERE c.policy.customer.id = u.id AND c.status = com.sliit.healthins.model.ClaimStatus.PENDING)) " +
+            "FROM User u LEFT JOIN u.bankAccount b WHERE u.id = :userId")
+    Optional<ProfileSummaryDTO> findProfileSummary(Long userId);
+
+    // Keyset-paged campaign recipients, only the contact columns
+    @org.springframework.data.jpa.repository.Query("SELECT new com.sliit.healthins.dto.CampaignRecipientDTO(u.id, u.email, u.phone) " +
+            "FROM User u WHERE u.role = :role AND u.id > :after ORDER BY u.id")
+    List<CampaignRecipientDTO> findCampaignRecipients(Role role, Long after, Pageable pageable);
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT new com.sliit.healthins.dto.CampaignRecipientDTO(u.id, u.email, u.phone) " +
+            "FROM CustomerSegment s JOIN s.customerIds cid JOIN User u ON u.id = cid " +
+            "WHERE s.id = :segmentId AND u.id > :after ORDER BY u.id")
+    List<CampaignRecipientDTO> findSegmentRecipients(Long segmentId, Long after, Pageable pageable);
+    @org.springframework.data.jpa.repository.Query("SELECT COUNT(DISTINCT u.id) " +
+            "FROM CustomerSegment s JOIN s.customerIds cid JOIN User u ON u.id = cid WHERE s.id = :segmentId")
+    long countSegmentRecipients(Long segmentId);
+
+    // Full scan of customers for rebuilding the search index
+    @org.springframework.data.jpa.repository.Query("SELECT u FROM User u WHERE u.role IN :roles")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<User> streamByRoleIn(Collection<Role> roles);
+
+    // Paged reads for list endpoints: offset pages or keyset cursors (id > after)
+    @EntityGraph(attributePaths = {"bankAccount"})
+    Slice<User> findAllBy(Pageable pageable);
+    @EntityGraph(attributePaths = {"bankAccount"})
+    Slice<User> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query(CUSTOMER_ROW_SELECT + "WHERE u.role IN :roles ORDER BY u.id")
+    List<CustomerView> findByRoleIn(Collection<Role> roles);
+    @org.springframework.data.jpa.repository.Query(CUSTOMER_ROW_SELECT + "WHERE u.role IN :roles AND (:after IS NULL OR u.id > :after)")
+    Slice<CustomerView> findByRoleIn(Collection<Role> roles, Long after, Pageable pageable);
+    @org.springframework.data.jpa.repository.Query(CUSTOMER_ROW_SELECT + "WHERE u.role IN :roles AND (" +
+            "LOWER(u.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(u.contact) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))) ORDER BY u.id")
+    List<CustomerView> searchByRoleIn(Collection<Role> roles, String query);
+
+    // Most recent rows for dashboard widgets
+    List<User> findTop5ByOrderByCreatedAtDesc();
+}
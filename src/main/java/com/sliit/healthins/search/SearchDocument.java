@@ -0,0 +1,31 @@
+package com.sliit.healthins.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Indexed view of one entity: display fields plus the text to tokenize, keyed by
+ * field weight (higher weights rank matches in that field first). {@code ownerId} names
+ * the customer a document belongs to; {@link SearchIndex} indexes that customer's name
+ * with it, and {@code subtitle} is only the fallback when the customer is not indexed.
+ */
+@Data
+@AllArgsConstructor
+public class SearchDocument {
+    private SearchType type;
+    private Long id;
+    private String title;
+    private String subtitle;
+    private Map<String, Integer> weightedText;
+    private Long ownerId;
+
+    public SearchDocument(SearchType type, Long id, String title, String subtitle, Map<String, Integer> weightedText) {
+        this(type, id, title, subtitle, weightedText, null);
+    }
+
+    public String key() {
+        return type.name() + ":" + id;
+    }
+}
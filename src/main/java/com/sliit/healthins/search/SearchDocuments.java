@@ -0,0 +1,64 @@
+package com.sliit.healthins.search;
+
+import com.sliit.healthins.model.Claim;
+import com.sliit.healthins.model.Inquiry;
+import com.sliit.healthins.model.Role;
+import com.sliit.healthins.model.User;
+import org.hibernate.Hibernate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds {@link SearchDocument}s from entities. Only already-loaded state is read, so
+ * this is safe to call from JPA lifecycle callbacks.
+ */
+public final class SearchDocuments {
+
+    private SearchDocuments() {
+    }
+
+    public static boolean isCustomer(User user) {
+        return user.getRole() == Role.CUSTOMER || user.getRole() == Role.POLICYHOLDER;
+    }
+
+    public static SearchDocument of(User user) {
+        Map<String, Integer> text = new LinkedHashMap<>();
+        put(text, user.getName(), 3);
+        put(text, user.getEmail(), 2);
+        put(text, user.getContact(), 2);
+        put(text, user.getPhone(), 2);
+        put(text, user.getUsername(), 1);
+        return new SearchDocument(SearchType.CUSTOMER, user.getId(), user.getName(), user.getEmail(), text);
+    }
+
+    public static SearchDocument of(Claim claim) {
+        Map<String, Integer> text = new LinkedHashMap<>();
+        put(text, claim.getClaimId(), 3);
+        put(text, claim.getStatus() != null ? claim.getStatus().name() : null, 1);
+        put(text, claim.getNotes(), 1);
+        String subtitle = claim.getStatus() != null ? claim.getStatus().name() : null;
+        return new SearchDocument(SearchType.CLAIM, claim.getId(), claim.getClaimId(), subtitle, text);
+    }
+
+    public static SearchDocument of(Inquiry inquiry) {
+        Map<String, Integer> text = new LinkedHashMap<>();
+        put(text, inquiry.getTitle(), 3);
+        put(text, inquiry.getType(), 2);
+        put(text, inquiry.getStatus() != null ? inquiry.getStatus().name() : null, 1);
+        put(text, inquiry.getDescription(), 1);
+        // The customer is usually an unloaded proxy here; its id is readable without loading it,
+        // and the index takes the name from the customer's own document
+        User customer = inquiry.getCustomer();
+        Long customerId = customer != null ? customer.getId() : null;
+        String customerName = customer != null && Hibernate.isInitialized(customer) ? customer.getName() : null;
+        return new SearchDocument(SearchType.INQUIRY, inquiry.getId(), inquiry.getTitle(), customerName, text,
+                customerId);
+    }
+
+    private static void put(Map<String, Integer> text, String value, int weight) {
+        if (value != null && !value.isBlank()) {
+            text.merge(value, weight, Math::max);
+        }
+    }
+}
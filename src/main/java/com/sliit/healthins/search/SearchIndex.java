@@ -0,0 +1,277 @@
+package com.sliit.healthins.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process inverted index over customers, claims and inquiries.
+ * <p>
+ * Terms are kept in a sorted map so a query term matches every indexed term it is a
+ * prefix of (typeahead). A document must match all query terms; its score is the sum,
+ * per query term, of the best field weight it matched, doubled for an exact term match.
+ * <p>
+ * A document with an owner (an inquiry's customer) is indexed with the owner's current
+ * name, looked up by id among the customer documents, and is re-indexed whenever that
+ * customer document changes, so renaming a customer renames it in their inquiries too.
+ * <p>
+ * A full rebuild fills a fresh index off to the side ({@link #startRebuild}) and swaps it in
+ * ({@link #finishRebuild}); changes applied to this index meanwhile are replayed onto the new
+ * one first, so none is lost and searches keep being served from the old contents.
+ */
+@Component
+public class SearchIndex {
+
+    // Weight of the owning customer's name in an owned document
+    private static final int OWNER_NAME_WEIGHT = 2;
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingInt(SearchHit::score).reversed()
+            .thenComparing(hit -> hit.document().getType())
+            .thenComparing(hit -> hit.document().getId());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    private Map<String, SearchDocument> documents = new HashMap<>();
+    private Map<String, Set<String>> termsByDocument = new HashMap<>();
+    private Map<Long, Set<String>> documentsByOwner = new HashMap<>();
+    // Changes made while a rebuild runs, replayed onto the rebuilt index; null when none runs
+    private List<Consumer<SearchIndex>> changesDuringRebuild;
+
+    public void index(SearchDocument document) {
+        Map<String, Integer> terms = terms(document);
+
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(rebuilt -> rebuilt.index(document));
+            }
+            indexLocked(document, terms);
+            if (document.getType() == SearchType.CUSTOMER) {
+                for (String key : List.copyOf(documentsByOwner.getOrDefault(document.getId(), Set.of()))) {
+                    SearchDocument owned = documents.get(key);
+                    indexLocked(owned, terms(owned));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SearchType type, Long id) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(rebuilt -> rebuilt.remove(type, id));
+            }
+            removeLocked(type.name() + ":" + id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            termsByDocument.clear();
+            documentsByOwner.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns an empty index to load every document into; changes made to this index until
+     * {@link #finishRebuild} are recorded for replay.
+     */
+    public SearchIndex startRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new SearchIndex();
+    }
+
+    /**
+     * Replays the changes recorded since {@link #startRebuild} onto {@code rebuilt} and
+     * takes over its contents.
+     */
+    public void finishRebuild(SearchIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            }
+            changesDuringRebuild = null;
+            postings = rebuilt.postings;
+            documents = rebuilt.documents;
+            termsByDocument = rebuilt.termsByDocument;
+            documentsByOwner = rebuilt.documentsByOwner;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the changes recorded for a rebuild that did not complete.
+     */
+    public void abandonRebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} matching documents of the given types, best score first.
+     * Only the best {@code limit} hits are kept while scoring, in a bounded heap.
+     */
+    public List<SearchHit> search(String query, Collection<SearchType> types, int limit) {
+        Set<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<String, Integer> termScores = new HashMap<>();
+                for (Map.Entry<String, Map<String, Integer>> posting : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                    int boost = posting.getKey().equals(queryTerm) ? 2 : 1;
+                    posting.getValue().forEach((key, weight) -> termScores.merge(key, weight * boost, Math::max));
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((key, score) -> score + termScores.get(key));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Worst kept hit at the head, so it is the one dropped once the heap is full
+            PriorityQueue<SearchHit> best = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, RANKING.reversed());
+            scores.forEach((key, score) -> {
+                SearchDocument document = documents.get(key);
+                if (types.contains(document.getType())) {
+                    best.add(new SearchHit(document, score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            });
+            List<SearchHit> hits = new ArrayList<>(best);
+            hits.sort(RANKING);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void indexLocked(SearchDocument document, Map<String, Integer> terms) {
+        String key = document.key();
+        removeLocked(key);
+        if (document.getOwnerId() != null) {
+            SearchDocument owner = documents.get(SearchType.CUSTOMER.name() + ":" + document.getOwnerId());
+            String ownerName = owner != null ? owner.getTitle() : document.getSubtitle();
+            for (String term : tokenize(ownerName)) {
+                terms.merge(term, OWNER_NAME_WEIGHT, Math::max);
+            }
+            document = new SearchDocument(document.getType(), document.getId(), document.getTitle(), ownerName,
+                    document.getWeightedText(), document.getOwnerId());
+            documentsByOwner.computeIfAbsent(document.getOwnerId(), id -> new LinkedHashSet<>()).add(key);
+        }
+        documents.put(key, document);
+        termsByDocument.put(key, terms.keySet());
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(key, weight));
+    }
+
+    private void removeLocked(String key) {
+        Set<String> terms = termsByDocument.remove(key);
+        SearchDocument removed = documents.remove(key);
+        if (removed != null && removed.getOwnerId() != null) {
+            documentsByOwner.computeIfPresent(removed.getOwnerId(), (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<String, Integer> keys = postings.get(term);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> terms(SearchDocument document) {
+        Map<String, Integer> terms = new HashMap<>();
+        document.getWeightedText().forEach((text, weight) -> {
+            for (String term : tokenize(text)) {
+                terms.merge(term, weight, Math::max);
+            }
+        });
+        return terms;
+    }
+
+    /**
+     * Lower-cased words, plus their alphanumeric parts so "CLM-1001" and
+     * "john@example.com" are found by either the whole value or a piece of it.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            terms.add(word);
+            for (String part : word.split("[^\\p{L}\\p{N}]+")) {
+                if (!part.isEmpty()) {
+                    terms.add(part);
+                }
+            }
+        }
+        return terms;
+    }
+
+    public record SearchHit(SearchDocument document, int score) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.sliit.healthins.search;
+
+import com.sliit.healthins.model.Claim;
+import com.sliit.healthins.model.Inquiry;
+import com.sliit.healthins.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that keeps {@link SearchIndex} in step with users, claims and
+ * inquiries. Documents are built when the callback fires but only applied once the
+ * surrounding transaction commits, so rolled-back writes never become searchable.
+ * Instantiated by Hibernate through Spring's bean container.
+ */
+public class SearchIndexListener {
+
+    private final SearchIndex searchIndex;
+
+    public SearchIndexListener(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof User user) {
+            if (SearchDocuments.isCustomer(user)) {
+                afterCommit(SearchDocuments.of(user));
+            } else {
+                afterCommit(() -> searchIndex.remove(SearchType.CUSTOMER, user.getId()));
+            }
+        } else if (entity instanceof Claim claim) {
+            afterCommit(SearchDocuments.of(claim));
+        } else if (entity instanceof Inquiry inquiry) {
+            afterCommit(SearchDocuments.of(inquiry));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof User user) {
+            afterCommit(() -> searchIndex.remove(SearchType.CUSTOMER, user.getId()));
+        } else if (entity instanceof Claim claim) {
+            afterCommit(() -> searchIndex.remove(SearchType.CLAIM, claim.getId()));
+        } else if (entity instanceof Inquiry inquiry) {
+            afterCommit(() -> searchIndex.remove(SearchType.INQUIRY, inquiry.getId()));
+        }
+    }
+
+    private void afterCommit(SearchDocument document) {
+        afterCommit(() -> searchIndex.index(document));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
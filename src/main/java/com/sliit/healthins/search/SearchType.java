@@ -0,0 +1,7 @@
+package com.sliit.healthins.search;
+
+public enum SearchType {
+    CUSTOMER,
+    CLAIM,
+    INQUIRY
+}
@@ -1,14 +1,24 @@
 package com.sliit.healthins.service;
 
+import com.sliit.healthins.config.LoginThrottle;
+import com.sliit.healthins.config.SystemConfigStore;
+import com.sliit.healthins.config.UserAccessInvalidator;
 import com.sliit.healthins.dto.*;
+import com.sliit.healthins.exception.ValidationException;
 import com.sliit.healthins.model.BankAccount;
 import com.sliit.healthins.model.Role;
 import com.sliit.healthins.model.User;
 import com.sliit.healthins.repository.BankAccountRepository;
 import com.sliit.healthins.repository.UserRepository;
 import com.sliit.healthins.util.PdfGeneratorUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,27 +26,42 @@ import org.springframework.transaction.annotation.Transactional;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class AdminService {
 
+    private static final Set<String> USER_SORT_COLUMNS = Set.of("id", "name", "username", "email", "role", "createdAt");
+
     private final UserRepository userRepository;
     private final BankAccountRepository bankAccountRepository;
     private final PdfGeneratorUtil pdfGeneratorUtil;
     private final ModelMapper modelMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserAccessInvalidator userAccessInvalidator;
+    private final LoginThrottle loginThrottle;
+    private final MeterRegistry meterRegistry;
+    private final SystemConfigStore systemConfigStore;
 
     @Autowired
     public AdminService(UserRepository userRepository, BankAccountRepository bankAccountRepository, 
-                       PdfGeneratorUtil pdfGeneratorUtil, ModelMapper modelMapper, PasswordEncoder passwordEncoder) {
+                       PdfGeneratorUtil pdfGeneratorUtil, ModelMapper modelMapper, PasswordEncoder passwordEncoder,
+                       UserAccessInvalidator userAccessInvalidator, LoginThrottle loginThrottle, MeterRegistry meterRegistry,
+                       SystemConfigStore systemConfigStore) {
         this.userRepository = userRepository;
         this.bankAccountRepository = bankAccountRepository;
         this.pdfGeneratorUtil = pdfGeneratorUtil;
         this.modelMapper = modelMapper;
         this.passwordEncoder = passwordEncoder;
+        this.userAccessInvalidator = userAccessInvalidator;
+        this.loginThrottle = loginThrottle;
+        this.meterRegistry = meterRegistry;
+        this.systemConfigStore = systemConfigStore;
     }
 
     /**
@@ -109,6 +134,7 @@ public class AdminService {
     public UserDTO updateUser(Long id, UserDTO dto) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
+        userAccessInvalidator.evict(user.getUsername());
         if (dto.getUsername() != null && !dto.getUsername().trim().isEmpty() && !user.getUsername().equals(dto.getUsername())) {
             if (userRepository.existsByUsername(dto.getUsername())) {
                 throw new IllegalArgumentException("Username already exists: " + dto.getUsername());
@@ -119,9 +145,16 @@ public class AdminService {
         if (dto.getContact() != null) user.setContact(dto.getContact());
         if (dto.getEmail() != null) user.setEmail(dto.getEmail());
         if (dto.getPhone() != null) user.setPhone(dto.getPhone());
+        Role previousRole = user.getRole();
+        boolean previouslyActive = user.isActive();
         if (dto.getStatus() != null) user.setActive("Active".equalsIgnoreCase(dto.getStatus()));
-        if (dto.getRole() != null) user.setRole(Role.valueOf(dto.getRole().toUpperCase()));
+        if (dto.getRole() != null) user.setRole(dto.getRole());
         User updatedUser = userRepository.save(user);
+        userAccessInvalidator.evict(updatedUser.getUsername());
+        // Issued tokens carry the role and active flag, so they must not outlive a change to either
+        if (updatedUser.getRole() != previousRole || updatedUser.isActive() != previouslyActive) {
+            userAccessInvalidator.revokeTokens(id);
+        }
         return convertToDTO(updatedUser);
     }
 
@@ -132,10 +165,12 @@ public class AdminService {
      */
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new IllegalArgumentException("User not found with id: " + id);
-        }
+        String username = userRepository.findById(id)
+                .map(User::getUsername)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
         userRepository.deleteById(id);
+        userAccessInvalidator.evict(username);
+        userAccessInvalidator.revokeTokens(id);
     }
 
     /**
@@ -165,6 +200,9 @@ public class AdminService {
             }
         }
         
+        if (activatedCount > 0) {
+            userAccessInvalidator.evictAll();
+        }
         System.out.println("✅ Activated " + activatedCount + " customers/policyholders");
         return activatedCount;
     }
@@ -204,18 +242,24 @@ public class AdminService {
                 databaseStatus = "Disconnected";
             }
             
-            return new SystemMetricsDTO(
+            SystemMetricsDTO metrics = new SystemMetricsDTO(
                 "Online",
                 uptime,
-                1, // Active connections (simplified)
+                (int) gauge("hikaricp.connections.active"),
                 (int) totalUsers,
                 (int) activeUsers,
                 LocalDateTime.now(),
                 serverInfo,
                 databaseStatus,
                 memoryUsage,
-                0.0 // CPU usage (would need additional libraries for accurate measurement)
+                gauge("process.cpu.usage") * 100
             );
+            metrics.setSystemCpuUsage(gauge("system.cpu.usage") * 100);
+            metrics.setIdleConnections((int) gauge("hikaricp.connections.idle"));
+            metrics.setPendingConnections((int) gauge("hikaricp.connections.pending"));
+            metrics.setMaxConnections((int) gauge("hikaricp.connections.max"));
+            addRequestLatency(metrics);
+            return metrics;
         } catch (Exception e) {
             return new SystemMetricsDTO(
                 "Error",
@@ -232,6 +276,36 @@ public class AdminService {
         }
     }
     
+    // 0 when the meter is not registered (e.g. before the pool has started)
+    private double gauge(String name) {
+        Gauge gauge = meterRegistry.find(name).gauge();
+        double value = gauge != null ? gauge.value() : 0.0;
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    // p99 per endpoint from http.server.requests; needs percentiles enabled for that meter
+    private void addRequestLatency(SystemMetricsDTO metrics) {
+        Map<String, Double> p99ByEndpoint = new HashMap<>();
+        long requests = 0;
+        for (Timer timer : meterRegistry.find("http.server.requests").timers()) {
+            requests += timer.count();
+            String endpoint = timer.getId().getTag("method") + " " + timer.getId().getTag("uri");
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                if (percentile.percentile() == 0.99) {
+                    p99ByEndpoint.merge(endpoint, percentile.value(TimeUnit.MILLISECONDS), Math::max);
+                }
+            }
+        }
+        Map<String, Double> slowest = new LinkedHashMap<>();
+        p99ByEndpoint.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(10)
+                .forEach(entry -> slowest.put(entry.getKey(), entry.getValue()));
+        metrics.setHttpRequests(requests);
+        metrics.setHttpP99Ms(slowest.values().stream().findFirst().orElse(0.0));
+        metrics.setEndpointP99Ms(slowest);
+    }
+
     private String formatUptime(long seconds) {
         long days = seconds / 86400;
         long hours = (seconds % 86400) / 3600;
@@ -250,7 +324,7 @@ public class AdminService {
     }
 
     /**
-     * Updates a system configuration setting.
+     * Updates a single system configuration setting, keyed {@code <section>.<field>}.
      *
      * @param dto The config DTO containing key-value pair
      * @return The updated config DTO
@@ -261,12 +335,10 @@ public class AdminService {
         if (dto == null || dto.getKey() == null || dto.getKey().trim().isEmpty()) {
             throw new IllegalArgumentException("ConfigDTO or key cannot be null or empty");
         }
-        // In a real implementation, integrate with SystemConfigRepository
-        // e.g., systemConfigRepository.findByKey(dto.getKey()).ifPresentOrElse(
-        //     config -> { config.setValue(dto.getValue()); systemConfigRepository.save(config); },
-        //     () -> { systemConfigRepository.save(new SystemConfig(dto.getKey(), dto.getValue())); }
-        // );
-        return dto; // Placeholder; assume in-memory or external config service
+        if (dto.getValue() != null) {
+            systemConfigStore.put(Map.of(dto.getKey().trim(), dto.getValue()));
+        }
+        return dto;
     }
 
     /**
@@ -282,6 +354,59 @@ public class AdminService {
         return config;
     }
 
+    /**
+     * Gets the stored system settings.
+     *
+     * @return The system config DTO
+     */
+    public SystemConfigDTO getSystemConfig() {
+        return systemConfigStore.get(SystemConfigStore.SYSTEM, SystemConfigDTO.class);
+    }
+
+    /**
+     * Gets the stored security settings.
+     *
+     * @return The security config DTO
+     */
+    public SecurityConfigDTO getSecurityConfig() {
+        SecurityConfigDTO config = systemConfigStore.get(SystemConfigStore.SECURITY, SecurityConfigDTO.class);
+        if (config.getMaxLoginAttempts() == null) {
+            config.setMaxLoginAttempts(loginThrottle.getMaxAttempts());
+        }
+        return config;
+    }
+
+    /**
+     * Gets the stored email settings; the SMTP password is never returned.
+     *
+     * @return The email config DTO
+     */
+    public EmailConfigDTO getEmailConfig() {
+        EmailConfigDTO config = systemConfigStore.get(SystemConfigStore.EMAIL, EmailConfigDTO.class);
+        config.setSmtpPassword(null);
+        return config;
+    }
+
+    /**
+     * Gets the stored API settings.
+     *
+     * @return The API config DTO
+     */
+    public ApiConfigDTO getApiConfig() {
+        return systemConfigStore.get(SystemConfigStore.API, ApiConfigDTO.class);
+    }
+
+    /**
+     * Gets the stored payment gateway settings; the private key is never returned.
+     *
+     * @return The payment config DTO
+     */
+    public PaymentConfigDTO getPaymentConfig() {
+        PaymentConfigDTO config = systemConfigStore.get(SystemConfigStore.PAYMENT, PaymentConfigDTO.class);
+        config.setPrivateKey(null);
+        return config;
+    }
+
     /**
      * Saves system configuration settings.
      *
@@ -290,35 +415,38 @@ public class AdminService {
      */
     @Transactional
     public SystemConfigDTO saveSystemConfig(SystemConfigDTO dto) {
-        // In a real implementation, save to database
-        System.out.println("💾 Saving system config: " + dto.getSiteName() + ", " + dto.getTimezone());
-        return dto;
+        return systemConfigStore.save(SystemConfigStore.SYSTEM, dto);
     }
 
     /**
-     * Saves security configuration settings.
+     * Saves security configuration settings; the login limit and session timeout apply
+     * once the transaction commits.
      *
      * @param dto The security config DTO
      * @return The saved security config DTO
+     * @throws ValidationException if maxLoginAttempts or sessionTimeout is below 1
      */
     @Transactional
     public SecurityConfigDTO saveSecurityConfig(SecurityConfigDTO dto) {
-        // In a real implementation, save to database
-        System.out.println("🔒 Saving security config: Session timeout=" + dto.getSessionTimeout() + ", Max attempts=" + dto.getMaxLoginAttempts());
-        return dto;
+        if (dto.getMaxLoginAttempts() != null && dto.getMaxLoginAttempts() < 1) {
+            throw new ValidationException("maxLoginAttempts must be at least 1");
+        }
+        if (dto.getSessionTimeout() != null && dto.getSessionTimeout() < 1) {
+            throw new ValidationException("sessionTimeout must be at least 1 minute");
+        }
+        return systemConfigStore.save(SystemConfigStore.SECURITY, dto);
     }
 
     /**
-     * Saves email configuration settings.
+     * Saves email configuration settings; the mail sender switches to them once the
+     * transaction commits. A null password keeps the stored one.
      *
      * @param dto The email config DTO
      * @return The saved email config DTO
      */
     @Transactional
     public EmailConfigDTO saveEmailConfig(EmailConfigDTO dto) {
-        // In a real implementation, save to database
-        System.out.println("📧 Saving email config: " + dto.getSmtpServer() + ":" + dto.getSmtpPort());
-        return dto;
+        return systemConfigStore.save(SystemConfigStore.EMAIL, dto);
     }
 
     /**
@@ -329,22 +457,18 @@ public class AdminService {
      */
     @Transactional
     public ApiConfigDTO saveApiConfig(ApiConfigDTO dto) {
-        // In a real implementation, save to database
-        System.out.println("🔌 Saving API config: Rate limit=" + dto.getApiRateLimit() + ", Timeout=" + dto.getApiTimeout());
-        return dto;
+        return systemConfigStore.save(SystemConfigStore.API, dto);
     }
 
     /**
-     * Saves payment gateway configuration settings.
+     * Saves payment gateway configuration settings. A null private key keeps the stored one.
      *
      * @param dto The payment config DTO
      * @return The saved payment config DTO
      */
     @Transactional
     public PaymentConfigDTO savePaymentConfig(PaymentConfigDTO dto) {
-        // In a real implementation, save to database
-        System.out.println("💳 Saving payment config: Gateway=" + dto.getPaymentGateway() + ", Test mode=" + dto.isTestMode());
-        return dto;
+        return systemConfigStore.save(SystemConfigStore.PAYMENT, dto);
     }
 
     /**
@@ -453,27 +577,18 @@ public class AdminService {
     }
 
     /**
-     * Retrieves all users from the database.
+     * Retrieves one page of users, either by offset and sort or by keyset cursor.
      *
-     * @return List of all users as DTOs
+     * @param query Paging parameters
+     * @return Slice of users as DTOs
      */
     @Transactional(readOnly = true)
-    public java.util.List<UserDTO> getAllUsers() {
-        System.out.println("📊 Getting all users from database...");
-        java.util.List<User> allUsers = userRepository.findAll();
-        
-        // Force initialization of lazy-loaded bank accounts within transaction
-        allUsers.forEach(user -> {
-            if (user.getBankAccount() != null) {
-                user.getBankAccount().getBankName(); // Force initialization
-            }
-        });
-        
-        java.util.List<UserDTO> users = allUsers.stream()
-                .map(this::convertToDTO)
-                .collect(java.util.stream.Collectors.toList());
-        System.out.println("✅ Returning " + users.size() + " users");
-        return users;
+    public SliceDTO<UserDTO> getUsers(PageQuery query) {
+        Pageable pageable = query.toPageable(USER_SORT_COLUMNS);
+        Slice<User> slice = query.isKeyset()
+                ? userRepository.findByIdGreaterThan(query.getAfter(), pageable)
+                : userRepository.findAllBy(pageable);
+        return SliceDTO.of(slice, this::convertToDTO, User::getId);
     }
 
     /**
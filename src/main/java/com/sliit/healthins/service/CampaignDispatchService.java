@@ -0,0 +1,432 @@
+package com.sliit.healthins.service;
+
+import com.sliit.healthins.dto.CampaignDispatchStatusDTO;
+import com.sliit.healthins.dto.CampaignRecipientDTO;
+import com.sliit.healthins.exception.ResourceNotFoundException;
+import com.sliit.healthins.model.Campaign;
+import com.sliit.healthins.model.CampaignDispatchJob;
+import com.sliit.healthins.model.CampaignPerformance;
+import com.sliit.healthins.model.DispatchChannel;
+import com.sliit.healthins.model.OutboundEmail;
+import com.sliit.healthins.repository.CampaignDispatchJobRepository;
+import com.sliit.healthins.repository.CampaignPerformanceRepository;
+import com.sliit.healthins.util.EmailSenderUtil;
+import com.sliit.healthins.util.RateLimiter;
+import com.sliit.healthins.util.SmsSenderUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Bulk campaign delivery. A job pages through its recipients by id in chunks and records
+ * one {@link CampaignPerformance} row per recipient with a single {@code saveAll} per
+ * chunk. EMAIL chunks are written to the outbox with one {@code saveAll} on the job's
+ * thread, so a job holds at most one connection; {@code delivered} on those rows means
+ * the message was queued, and the outbox dispatcher paces the actual SMTP traffic. SMS
+ * chunks are sent concurrently (virtual threads or a fixed pool, capped at
+ * {@code campaign.dispatch.concurrency} in flight) under a rate limit. No transaction or
+ * connection is held between chunks, and a job can be paused, resumed or cancelled at
+ * chunk boundaries.
+ * <p>
+ * Jobs always run in the background; callers get the job id back and poll
+ * {@link #getStatus}. Each chunk's outbox rows, performance rows and the job's
+ * {@link CampaignDispatchJob} progress row commit together, so the stored progress never
+ * disagrees with what was queued. Pause, resume and cancel act on the node running the
+ * job; status is also served from the stored row, from any node.
+ */
+@Service
+public class CampaignDispatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampaignDispatchService.class);
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofDays(1);
+
+    /**
+     * Supplies recipients in id order: those with an id greater than {@code afterId}.
+     * {@link #count()} answers from a COUNT query rather than by paging.
+     */
+    public interface RecipientSource {
+        List<CampaignRecipientDTO> next(Long afterId, int limit);
+
+        long count();
+
+        static RecipientSource of(BiFunction<Long, Integer, List<CampaignRecipientDTO>> pages, LongSupplier count) {
+            return new RecipientSource() {
+                @Override
+                public List<CampaignRecipientDTO> next(Long afterId, int limit) {
+                    return pages.apply(afterId, limit);
+                }
+
+                @Override
+                public long count() {
+                    return count.getAsLong();
+                }
+            };
+        }
+    }
+
+    /**
+     * What every recipient of a job receives; SMS sends the body only.
+     */
+    public record Message(String subject, String body) {
+        /**
+         * "Health Insurance: " plus the campaign name, with the campaign description as the
+         * body or {@code fallback} when it has none.
+         */
+        public static Message forCampaign(Campaign campaign, String fallback) {
+            return new Message("Health Insurance: " + campaign.getName(),
+                    campaign.getDescription() != null ? campaign.getDescription() : fallback);
+        }
+    }
+
+    public enum JobStatus {
+        RUNNING, PAUSED, COMPLETED, CANCELLED, FAILED
+    }
+
+    private final CampaignPerformanceRepository campaignPerformanceRepository;
+    private final CampaignDispatchJobRepository campaignDispatchJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailSenderUtil emailUtil;
+    private final SmsSenderUtil smsSenderUtil;
+    private final int chunkSize;
+    private final Semaphore inFlight;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService sendExecutor;
+    private final RateLimiter smsRateLimiter;
+    private final Map<String, DispatchJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CampaignDispatchService(CampaignPerformanceRepository campaignPerformanceRepository,
+                                   CampaignDispatchJobRepository campaignDispatchJobRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   EmailSenderUtil emailUtil,
+                                   SmsSenderUtil smsSenderUtil,
+                                   @Value("${campaign.dispatch.chunk-size:500}") int chunkSize,
+                                   @Value("${campaign.dispatch.concurrency:16}") int concurrency,
+                                   @Value("${campaign.dispatch.virtual-threads:true}") boolean virtualThreads,
+                                   @Value("${campaign.dispatch.sms-per-second:20}") double smsPerSecond) {
+        this.campaignPerformanceRepository = campaignPerformanceRepository;
+        this.campaignDispatchJobRepository = campaignDispatchJobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.emailUtil = emailUtil;
+        this.smsSenderUtil = smsSenderUtil;
+        this.chunkSize = chunkSize;
+        this.inFlight = new Semaphore(concurrency);
+        this.jobExecutor = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newCachedThreadPool();
+        this.sendExecutor = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(concurrency);
+        this.smsRateLimiter = RateLimiter.perSecond(smsPerSecond);
+    }
+
+    /**
+     * Starts a background job sending {@code message} to the recipients of {@code source}.
+     */
+    public CampaignDispatchStatusDTO start(Campaign campaign, DispatchChannel channel, RecipientSource source,
+                                           Message message) {
+        return toStatus(submit(campaign, channel, source, message));
+    }
+
+    public CampaignDispatchStatusDTO getStatus(String jobId) {
+        DispatchJob job = jobs.get(jobId);
+        if (job != null) {
+            return toStatus(job);
+        }
+        return campaignDispatchJobRepository.findById(jobId)
+                .map(stored -> new CampaignDispatchStatusDTO(stored.getId(), stored.getCampaignId(),
+                        stored.getCampaignName(), stored.getChannel(), stored.getStatus(), stored.getSent(),
+                        stored.getFailed(), stored.getStartedAt(), stored.getFinishedAt(),
+                        throughput(stored.getSent() + stored.getFailed(), stored.getStartedAt(), stored.getFinishedAt())))
+                .orElseThrow(() -> new ResourceNotFoundException("Dispatch job not found with id: " + jobId));
+    }
+
+    public CampaignDispatchStatusDTO pause(String jobId) {
+        DispatchJob job = findJob(jobId);
+        job.lock.lock();
+        try {
+            if (job.status == JobStatus.RUNNING) {
+                job.status = JobStatus.PAUSED;
+            }
+        } finally {
+            job.lock.unlock();
+        }
+        saveQuietly(job);
+        return toStatus(job);
+    }
+
+    public CampaignDispatchStatusDTO resume(String jobId) {
+        return signal(findJob(jobId), JobStatus.PAUSED, JobStatus.RUNNING);
+    }
+
+    public CampaignDispatchStatusDTO cancel(String jobId) {
+        DispatchJob job = findJob(jobId);
+        signal(job, JobStatus.RUNNING, JobStatus.CANCELLED);
+        return signal(job, JobStatus.PAUSED, JobStatus.CANCELLED);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.keySet().forEach(this::cancel);
+        jobExecutor.shutdown();
+        sendExecutor.shutdown();
+    }
+
+    private DispatchJob submit(Campaign campaign, DispatchChannel channel, RecipientSource source, Message message) {
+        evictFinishedJobs();
+        DispatchJob job = new DispatchJob(UUID.randomUUID().toString(), campaign, channel);
+        campaignDispatchJobRepository.save(snapshot(job, List.of()));
+        jobs.put(job.id, job);
+        job.completion = CompletableFuture.runAsync(() -> execute(job, source, message), jobExecutor);
+        logger.info("Started {} dispatch {} for campaign {}", channel, job.id, campaign.getId());
+        return job;
+    }
+
+    private void execute(DispatchJob job, RecipientSource source, Message message) {
+        Long afterId = 0L;
+        try {
+            while (awaitRunnable(job)) {
+                List<CampaignRecipientDTO> chunk = source.next(afterId, chunkSize);
+                if (chunk.isEmpty()) {
+                    finish(job, JobStatus.COMPLETED);
+                    break;
+                }
+                afterId = chunk.getLast().getId();
+                switch (job.channel) {
+                    case EMAIL -> queueEmails(job, chunk, afterId, message);
+                    case SMS -> store(job, sendSms(job, chunk, message.body()), afterId);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(job, JobStatus.CANCELLED);
+        } catch (RuntimeException e) {
+            logger.error("Dispatch {} for campaign {} failed", job.id, job.campaign.getId(), e);
+            finish(job, JobStatus.FAILED);
+        }
+        saveQuietly(job);
+        logger.info("Dispatch {} {}: {} sent, {} failed, {} msg/s",
+                job.id, job.status, job.sent.get(), job.failed.get(), String.format("%.1f", throughput(job)));
+    }
+
+    /**
+     * Writes the chunk's emails to the outbox in the same transaction as its outcomes and the
+     * job's progress; if that fails, every recipient in the chunk is recorded as failed.
+     */
+    private void queueEmails(DispatchJob job, List<CampaignRecipientDTO> chunk, Long lastId, Message message) {
+        List<CampaignPerformance> outcomes = new ArrayList<>(chunk.size());
+        List<OutboundEmail> emails = new ArrayList<>(chunk.size());
+        for (CampaignRecipientDTO recipient : chunk) {
+            CampaignPerformance outcome = new CampaignPerformance(job.campaign, recipient.getId(), job.channel.name());
+            if (recipient.getEmail() == null) {
+                outcome.setDelivered(false);
+                outcome.setDeliveryError("No email address");
+            } else {
+                outcome.setDelivered(true);
+                emails.add(new OutboundEmail(recipient.getEmail(), message.subject(), message.body()));
+            }
+            outcomes.add(outcome);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                emailUtil.sendEmails(emails);
+                campaignPerformanceRepository.saveAll(outcomes);
+                job.lastRecipientId = lastId;
+                campaignDispatchJobRepository.save(snapshot(job, outcomes));
+            });
+            outcomes.forEach(outcome -> count(job, outcome));
+        } catch (RuntimeException e) {
+            logger.warn("Dispatch {} could not queue a chunk of {} emails: {}", job.id, emails.size(), e.getMessage());
+            List<CampaignPerformance> failed = chunk.stream().map(recipient -> {
+                CampaignPerformance outcome = new CampaignPerformance(job.campaign, recipient.getId(), job.channel.name());
+                fail(outcome, e);
+                return outcome;
+            }).toList();
+            store(job, failed, lastId);
+        }
+    }
+
+    /**
+     * Stores a chunk's outcomes together with the job's progress past it.
+     */
+    private void store(DispatchJob job, List<CampaignPerformance> outcomes, Long lastId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            campaignPerformanceRepository.saveAll(outcomes);
+            job.lastRecipientId = lastId;
+            campaignDispatchJobRepository.save(snapshot(job, outcomes));
+        });
+        outcomes.forEach(outcome -> count(job, outcome));
+    }
+
+    /**
+     * The job's stored row, counting {@code pending} outcomes that commit along with it.
+     */
+    private static CampaignDispatchJob snapshot(DispatchJob job, List<CampaignPerformance> pending) {
+        long delivered = pending.stream().filter(outcome -> Boolean.TRUE.equals(outcome.getDelivered())).count();
+        return new CampaignDispatchJob(job.id, job.campaign.getId(), job.campaign.getName(), job.channel.name(),
+                job.status.name(), job.sent.get() + (int) delivered, job.failed.get() + pending.size() - (int) delivered,
+                job.lastRecipientId, job.startedAt, job.finishedAt);
+    }
+
+    /**
+     * Persists the job's status outside a chunk; a failure here only leaves the stored row stale.
+     */
+    private void saveQuietly(DispatchJob job) {
+        try {
+            campaignDispatchJobRepository.save(snapshot(job, List.of()));
+        } catch (RuntimeException e) {
+            logger.warn("Could not store status of dispatch {}: {}", job.id, e.getMessage());
+        }
+    }
+
+    private List<CampaignPerformance> sendSms(DispatchJob job, List<CampaignRecipientDTO> chunk, String message)
+            throws InterruptedException {
+        List<CompletableFuture<CampaignPerformance>> sends = new ArrayList<>(chunk.size());
+        for (CampaignRecipientDTO recipient : chunk) {
+            inFlight.acquire();
+            sends.add(CompletableFuture.supplyAsync(() -> sendSms(job, recipient, message), sendExecutor)
+                    .whenComplete((result, error) -> inFlight.release()));
+        }
+        return sends.stream().map(CompletableFuture::join).toList();
+    }
+
+    private CampaignPerformance sendSms(DispatchJob job, CampaignRecipientDTO recipient, String message) {
+        CampaignPerformance outcome = new CampaignPerformance(job.campaign, recipient.getId(), job.channel.name());
+        try {
+            smsRateLimiter.acquire();
+            boolean delivered = recipient.getPhone() != null && smsSenderUtil.sendSms(recipient.getPhone(), message);
+            outcome.setDelivered(delivered);
+            if (!delivered) {
+                outcome.setDeliveryError("No sms address or provider rejected");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome.setDelivered(false);
+            outcome.setDeliveryError("Interrupted");
+        } catch (RuntimeException e) {
+            fail(outcome, e);
+        }
+        return outcome;
+    }
+
+    private static void fail(CampaignPerformance outcome, RuntimeException e) {
+        outcome.setDelivered(false);
+        String error = String.valueOf(e.getMessage());
+        outcome.setDeliveryError(error.length() > 500 ? error.substring(0, 500) : error);
+    }
+
+    private static void count(DispatchJob job, CampaignPerformance outcome) {
+        (Boolean.TRUE.equals(outcome.getDelivered()) ? job.sent : job.failed).incrementAndGet();
+    }
+
+    /**
+     * Blocks while the job is paused; returns false once it is no longer running.
+     */
+    private boolean awaitRunnable(DispatchJob job) throws InterruptedException {
+        job.lock.lock();
+        try {
+            while (job.status == JobStatus.PAUSED) {
+                job.resumed.await();
+            }
+            return job.status == JobStatus.RUNNING;
+        } finally {
+            job.lock.unlock();
+        }
+    }
+
+    private CampaignDispatchStatusDTO signal(DispatchJob job, JobStatus from, JobStatus to) {
+        job.lock.lock();
+        try {
+            if (job.status == from) {
+                job.status = to;
+                if (to == JobStatus.CANCELLED) {
+                    job.finishedAt = LocalDateTime.now();
+                }
+                job.resumed.signalAll();
+            }
+        } finally {
+            job.lock.unlock();
+        }
+        saveQuietly(job);
+        return toStatus(job);
+    }
+
+    private void finish(DispatchJob job, JobStatus status) {
+        job.lock.lock();
+        try {
+            if (job.status == JobStatus.RUNNING || job.status == JobStatus.PAUSED) {
+                job.status = status;
+                job.finishedAt = LocalDateTime.now();
+            }
+        } finally {
+            job.lock.unlock();
+        }
+    }
+
+    private DispatchJob findJob(String jobId) {
+        DispatchJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Dispatch job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static double throughput(DispatchJob job) {
+        return throughput(job.sent.get() + job.failed.get(), job.startedAt, job.finishedAt);
+    }
+
+    private static double throughput(int processed, LocalDateTime startedAt, LocalDateTime finishedAt) {
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        double seconds = Duration.between(startedAt, end).toMillis() / 1000.0;
+        return seconds > 0 ? processed / seconds : 0;
+    }
+
+    private CampaignDispatchStatusDTO toStatus(DispatchJob job) {
+        return new CampaignDispatchStatusDTO(job.id, job.campaign.getId(), job.campaign.getName(), job.channel.name(),
+                job.status.name(), job.sent.get(), job.failed.get(), job.startedAt, job.finishedAt, throughput(job));
+    }
+
+    private static final class DispatchJob {
+        private final String id;
+        private final Campaign campaign;
+        private final DispatchChannel channel;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition resumed = lock.newCondition();
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile Long lastRecipientId;
+        private volatile CompletableFuture<Void> completion;
+
+        private DispatchJob(String id, Campaign campaign, DispatchChannel channel) {
+            this.id = id;
+            this.campaign = campaign;
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.sliit.healthins.service;
+
+import com.sliit.healthins.exception.ResourceNotFoundException;
+import com.sliit.healthins.model.Role;
+import com.sliit.healthins.repository.CustomerSegmentRepository;
+import com.sliit.healthins.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves campaign audiences to contact rows (id, email, phone) in id-ordered pages,
+ * either every customer or the members of a segment joined through
+ * {@code customer_segment_customers}. Nothing but the three contact columns is loaded,
+ * and audience sizes come from COUNT queries.
+ */
+@Service
+public class CampaignRecipientResolver {
+
+    private final UserRepository userRepository;
+    private final CustomerSegmentRepository customerSegmentRepository;
+
+    @Autowired
+    public CampaignRecipientResolver(UserRepository userRepository,
+                                     CustomerSegmentRepository customerSegmentRepository) {
+        this.userRepository = userRepository;
+        this.customerSegmentRepository = customerSegmentRepository;
+    }
+
+    public CampaignDispatchService.RecipientSource allCustomers() {
+        return CampaignDispatchService.RecipientSource.of(
+                (afterId, limit) -> userRepository.findCampaignRecipients(Role.CUSTOMER, afterId, PageRequest.of(0, limit)),
+                () -> userRepository.countByRole(Role.CUSTOMER));
+    }
+
+    public CampaignDispatchService.RecipientSource segment(Long segmentId) {
+        if (!customerSegmentRepository.existsById(segmentId)) {
+            throw new ResourceNotFoundException("Segment not found with id: " + segmentId);
+        }
+        return CampaignDispatchService.RecipientSource.of(
+                (afterId, limit) -> userRepository.findSegmentRecipients(segmentId, afterId, PageRequest.of(0, limit)),
+                () -> userRepository.countSegmentRecipients(segmentId));
+    }
+}
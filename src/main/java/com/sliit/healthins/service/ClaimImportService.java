@@ -0,0 +1,319 @@
+package com.sliit.healthins.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sliit.healthins.dto.ClaimImportResultDTO;
+import com.sliit.healthins.dto.ClaimImportRowDTO;
+import com.sliit.healthins.dto.ClaimSubmissionDTO;
+import com.sliit.healthins.dto.PolicyRefDTO;
+import com.sliit.healthins.exception.ValidationException;
+import com.sliit.healthins.model.Claim;
+import com.sliit.healthins.model.ClaimStatus;
+import com.sliit.healthins.model.Policy;
+import com.sliit.healthins.repository.PolicyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk claim ingestion for partner feeds, as CSV (with a header row) or NDJSON.
+ * <p>
+ * The whole file is parsed first, every referenced policy number is resolved in a few
+ * {@code IN} queries of {@value #POLICY_LOOKUP_CHUNK}, and rows are validated in parallel
+ * against that snapshot. Accepted claims are then inserted in transactions of
+ * {@code claims.import.chunk-size} rows, flushed every JDBC batch so Hibernate sends
+ * them as batched inserts (claims use a pooled sequence, not IDENTITY). A chunk that
+ * fails to insert is rolled back and reported row by row; earlier chunks stay committed.
+ * <p>
+ * Rows get the same checks as {@link ClaimsService#submitClaimByStaff}: the policy must
+ * exist and belong to {@code userId}; additionally the amount must be positive and the
+ * claim date not in the future.
+ */
+@Service
+public class ClaimImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimImportService.class);
+    private static final int POLICY_LOOKUP_CHUNK = 1000;
+
+    private final PolicyRepository policyRepository;
+    private final IdGeneratorService idGeneratorService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxRows;
+    private final int chunkSize;
+    private final int jdbcBatchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ClaimImportService(PolicyRepository policyRepository, IdGeneratorService idGeneratorService,
+                              PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                              @Value("${claims.import.max-rows:50000}") int maxRows,
+                              @Value("${claims.import.chunk-size:1000}") int chunkSize,
+                              @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize) {
+        this.policyRepository = policyRepository;
+        this.idGeneratorService = idGeneratorService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.maxRows = maxRows;
+        this.chunkSize = chunkSize;
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    public ClaimImportResultDTO importCsv(InputStream input) throws IOException {
+        return ingest(parseCsv(input));
+    }
+
+    public ClaimImportResultDTO importNdjson(InputStream input) throws IOException {
+        return ingest(parseNdjson(input));
+    }
+
+    private ClaimImportResultDTO ingest(List<ImportRow> rows) {
+        long started = System.currentTimeMillis();
+        Map<String, PolicyRefDTO> policies = resolvePolicies(rows);
+        LocalDate today = LocalDate.now();
+
+        // Validation only reads the immutable policy map, so rows are checked in parallel
+        List<ImportRow> validated = rows.parallelStream()
+                .map(row -> row.error() != null ? row : row.withError(validate(row.claim(), policies, today)))
+                .toList();
+
+        Map<Integer, ClaimImportRowDTO> results = new HashMap<>();
+        List<ImportRow> accepted = new ArrayList<>();
+        for (ImportRow row : validated) {
+            if (row.error() != null) {
+                results.put(row.line(), new ClaimImportRowDTO(row.line(), false, null, row.error()));
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<ImportRow> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            try {
+                List<Claim> claims = transactionTemplate.execute(status -> insert(chunk, policies));
+                for (int i = 0; i < chunk.size(); i++) {
+                    int line = chunk.get(i).line();
+                    results.put(line, new ClaimImportRowDTO(line, true, claims.get(i).getClaimId(), null));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Claim import chunk of {} rows starting at line {} failed", chunk.size(), chunk.get(0).line(), e);
+                for (ImportRow row : chunk) {
+                    results.put(row.line(), new ClaimImportRowDTO(row.line(), false, null, "Insert failed: " + e.getMessage()));
+                }
+            }
+        }
+
+        List<ClaimImportRowDTO> report = rows.stream().map(row -> results.get(row.line())).toList();
+        int acceptedCount = (int) report.stream().filter(ClaimImportRowDTO::isAccepted).count();
+        long duration = System.currentTimeMillis() - started;
+        logger.info("Imported {} of {} claims in {} ms", acceptedCount, rows.size(), duration);
+        return new ClaimImportResultDTO(rows.size(), acceptedCount, rows.size() - acceptedCount, duration, report);
+    }
+
+    private Map<String, PolicyRefDTO> resolvePolicies(List<ImportRow> rows) {
+        List<String> numbers = rows.stream()
+                .filter(row -> row.error() == null)
+                .map(row -> row.claim().getPolicyNumber())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, PolicyRefDTO> policies = new HashMap<>();
+        for (int from = 0; from < numbers.size(); from += POLICY_LOOKUP_CHUNK) {
+            List<String> chunk = numbers.subList(from, Math.min(from + POLICY_LOOKUP_CHUNK, numbers.size()));
+            policyRepository.findRefsByPolicyNumberIn(chunk)
+                    .forEach(policy -> policies.put(policy.getPolicyNumber(), policy));
+        }
+        return policies;
+    }
+
+    private static String validate(ClaimSubmissionDTO dto, Map<String, PolicyRefDTO> policies, LocalDate today) {
+        if (dto.getPolicyNumber() == null || dto.getPolicyNumber().isBlank()) {
+            return "policyNumber is required";
+        }
+        if (dto.getAmount() == null || dto.getAmount() <= 0) {
+            return "amount must be positive";
+        }
+        if (dto.getClaimDate() != null && dto.getClaimDate().isAfter(today)) {
+            return "claimDate cannot be in the future";
+        }
+        PolicyRefDTO policy = policies.get(dto.getPolicyNumber());
+        if (policy == null) {
+            return "Policy not found with number: " + dto.getPolicyNumber();
+        }
+        if (!policy.getCustomerId().equals(dto.getUserId())) {
+            return "Policy does not belong to the specified user";
+        }
+        return null;
+    }
+
+    private Claim toClaim(ClaimSubmissionDTO dto, PolicyRefDTO policy) {
+        Claim claim = new Claim();
+        claim.setClaimId(idGeneratorService.nextClaimId());
+        claim.setPolicy(entityManager.getReference(Policy.class, policy.getId()));
+        claim.setAmount(dto.getAmount());
+        claim.setClaimDate(dto.getClaimDate() != null ? dto.getClaimDate() : LocalDate.now());
+        claim.setDescription(dto.getDescription());
+        if (dto.getNotes() != null) {
+            claim.setNotes(dto.getNotes());
+        }
+        claim.setStatus(ClaimStatus.PENDING);
+        claim.setDocumentPath("N/A");
+        return claim;
+    }
+
+    private List<Claim> insert(List<ImportRow> chunk, Map<String, PolicyRefDTO> policies) {
+        List<Claim> claims = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            Claim claim = toClaim(row.claim(), policies.get(row.claim().getPolicyNumber()));
+            entityManager.persist(claim);
+            claims.add(claim);
+            if (claims.size() % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return claims;
+    }
+
+    List<ImportRow> parseCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return List.of();
+        }
+        List<String> columns = splitCsv(header).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        if (!columns.contains("policynumber") || !columns.contains("amount")) {
+            throw new ValidationException("CSV header must include policyNumber and amount");
+        }
+
+        List<ImportRow> rows = new ArrayList<>();
+        int line = 1;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            checkRowLimit(rows);
+            try {
+                List<String> fields = splitCsv(text);
+                ClaimSubmissionDTO dto = new ClaimSubmissionDTO();
+                for (int i = 0; i < columns.size() && i < fields.size(); i++) {
+                    setField(dto, columns.get(i), fields.get(i).trim());
+                }
+                rows.add(new ImportRow(line, dto, null));
+            } catch (RuntimeException e) {
+                rows.add(new ImportRow(line, null, "Unreadable row: " + e.getMessage()));
+            }
+        }
+        return rows;
+    }
+
+    List<ImportRow> parseNdjson(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<ImportRow> rows = new ArrayList<>();
+        int line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            checkRowLimit(rows);
+            try {
+                rows.add(new ImportRow(line, objectMapper.readValue(text, ClaimSubmissionDTO.class), null));
+            } catch (JsonProcessingException e) {
+                rows.add(new ImportRow(line, null, "Unreadable row: " + e.getOriginalMessage()));
+            }
+        }
+        return rows;
+    }
+
+    private void checkRowLimit(List<ImportRow> rows) {
+        if (rows.size() >= maxRows) {
+            throw new ValidationException("Import exceeds the limit of " + maxRows + " claims; split the file");
+        }
+    }
+
+    private static void setField(ClaimSubmissionDTO dto, String column, String value) {
+        if (value.isEmpty()) {
+            return;
+        }
+        switch (column) {
+            case "policynumber" -> dto.setPolicyNumber(value);
+            case "userid" -> dto.setUserId(Long.valueOf(value));
+            case "amount" -> dto.setAmount(Double.valueOf(value));
+            case "claimdate" -> dto.setClaimDate(LocalDate.parse(value));
+            case "description" -> dto.setDescription(value);
+            case "notes" -> dto.setNotes(value);
+            default -> { }
+        }
+    }
+
+    /**
+     * Splits one CSV line: commas separate fields, double quotes enclose fields and
+     * {@code ""} is a literal quote. Quoted fields may not span lines.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quote");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    record ImportRow(int line, ClaimSubmissionDTO claim, String error) {
+        ImportRow withError(String error) {
+            return error == null ? this : new ImportRow(line, claim, error);
+        }
+    }
+}
@@ -7,30 +7,47 @@ import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 import com.sliit.healthins.dto.ClaimDTO;
+import com.sliit.healthins.dto.ClaimReportDTO;
 import com.sliit.healthins.dto.ClaimSubmissionDTO;
 import com.sliit.healthins.dto.ClaimUpdateDTO;
+import com.sliit.healthins.dto.PageQuery;
+import com.sliit.healthins.dto.SliceDTO;
 import com.sliit.healthins.dto.UserDTO;
 import com.sliit.healthins.exception.ResourceNotFoundException;
 import com.sliit.healthins.model.Claim;
 import com.sliit.healthins.model.ClaimStatus;
+import com.sliit.healthins.pattern.factory.DTOMapper;
 import com.sliit.healthins.repository.ClaimRepository;
 import com.sliit.healthins.repository.PolicyRepository;
 import com.sliit.healthins.repository.UserRepository;
 import com.sliit.healthins.util.EmailSenderUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLConnection;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
@@ -43,37 +60,96 @@ public class ClaimsService {
     private final UserRepository userRepository;
     private final EmailSenderUtil emailUtil;
     private final ModelMapper modelMapper;
+    private final IdGeneratorService idGeneratorService;
+    private final DocumentStorageService documentStorageService;
+    private final DTOMapper dtoMapper;
 
-    private static final String UPLOAD_DIR = "uploads/";
+    private static final int REPORT_FLUSH_ROWS = 500;
+    private static final Set<String> CLAIM_SORT_COLUMNS = Set.of("id", "claimId", "claimDate", "amount", "status", "createdAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public ClaimsService(ClaimRepository claimRepository, PolicyRepository policyRepository, UserRepository userRepository, EmailSenderUtil emailUtil, ModelMapper modelMapper) {
+    public ClaimsService(ClaimRepository claimRepository, PolicyRepository policyRepository, UserRepository userRepository, EmailSenderUtil emailUtil, ModelMapper modelMapper, IdGeneratorService idGeneratorService, DocumentStorageService documentStorageService, DTOMapper dtoMapper) {
         this.claimRepository = claimRepository;
         this.policyRepository = policyRepository;
         this.userRepository = userRepository;
         this.emailUtil = emailUtil;
         this.modelMapper = modelMapper;
+        this.idGeneratorService = idGeneratorService;
+        this.documentStorageService = documentStorageService;
+        this.dtoMapper = dtoMapper;
+    }
+
+    /**
+     * A claim's document as served for download. {@code contentId} is null for documents
+     * saved before content addressing, which are read from their original upload path.
+     */
+    public record ClaimDocument(Path path, String contentId, String contentType, String filename) {
     }
 
+    // Returns the content id the document is stored under; identical uploads share one file
     private String saveFile(MultipartFile file) {
-        try {
-            File directory = new File(UPLOAD_DIR);
-            if (!directory.exists()) directory.mkdirs();
-            String filePath = UPLOAD_DIR + file.getOriginalFilename();
-            file.transferTo(new File(filePath));
-            return filePath;
+        try (InputStream content = file.getInputStream()) {
+            return documentStorageService.store(content).contentId();
         } catch (IOException e) {
             throw new RuntimeException("File upload failed: " + e.getMessage());
         }
     }
 
+    public ClaimDocument getDocument(String claimId) {
+        Claim claim = claimRepository.findByClaimId(claimId)
+                .orElseThrow(() -> new ResourceNotFoundException("Claim not found with ID: " + claimId));
+        String stored = claim.getDocumentPath();
+        if (DocumentStorageService.isContentId(stored)) {
+            String name = claim.getDocumentName() != null ? claim.getDocumentName() : claimId;
+            String type = claim.getDocumentContentType() != null ? claim.getDocumentContentType() : guessContentType(name);
+            return new ClaimDocument(documentStorageService.resolve(stored), stored, type, name);
+        }
+        Path legacy = documentStorageService.resolveLegacy(stored);
+        String name = legacy.getFileName().toString();
+        return new ClaimDocument(legacy, null, guessContentType(name), name);
+    }
+
+    private static String guessContentType(String filename) {
+        String type = URLConnection.guessContentTypeFromName(filename);
+        return type != null ? type : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    // The client's declared type, kept only if it parses and fits the column
+    private static String uploadedContentType(MultipartFile file) {
+        String declared = file.getContentType();
+        if (declared == null) {
+            return null;
+        }
+        try {
+            String type = MediaType.parseMediaType(declared).toString();
+            return type.length() <= 100 ? type : null;
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    // File name without any client-side directory, capped to the column length
+    private static String uploadedFileName(MultipartFile file) {
+        String original = file.getOriginalFilename();
+        String name = original == null ? null : StringUtils.getFilename(StringUtils.cleanPath(original));
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return name.length() <= 255 ? name : name.substring(name.length() - 255);
+    }
+
     @Transactional
     public Claim submitClaim(ClaimSubmissionDTO dto, MultipartFile file) {
         policyRepository.findById(dto.getPolicyId())
             .orElseThrow(() -> new ResourceNotFoundException("Policy not found with id: " + dto.getPolicyId()));
-        String filePath = saveFile(file);
+        String contentId = saveFile(file);
         Claim claim = modelMapper.map(dto, Claim.class);
-        claim.setDocumentPath(filePath);
+        claim.setDocumentPath(contentId);
+        claim.setDocumentContentType(uploadedContentType(file));
+        claim.setDocumentName(uploadedFileName(file));
         claim.setStatus(ClaimStatus.PENDING);
         claim.setClaimDate(LocalDate.now());
         Claim savedClaim = claimRepository.save(claim);
@@ -101,7 +177,7 @@ public class ClaimsService {
             throw new IllegalArgumentException("Invalid claim status: " + query);
         }
         List<Claim> claims = claimRepository.findByStatus(status);
-        return claims.stream().map(claim -> modelMapper.map(claim, ClaimDTO.class)).collect(Collectors.toList());
+        return claims.stream().map(this::mapToDTO).collect(Collectors.toList());
     }
 
     public byte[] generateReport(LocalDate start, LocalDate end) {
@@ -151,7 +227,7 @@ public class ClaimsService {
         }
         
         Claim claim = new Claim();
-        claim.setClaimId("CLM-" + System.currentTimeMillis());
+        claim.setClaimId(idGeneratorService.nextClaimId());
         claim.setPolicy(policy);
         claim.setAmount(dto.getAmount());
         claim.setClaimDate(dto.getClaimDate() != null ? dto.getClaimDate() : LocalDate.now());
@@ -173,6 +249,14 @@ public class ClaimsService {
         return claims.stream().map(this::mapToDTO).collect(Collectors.toList());
     }
 
+    public SliceDTO<ClaimDTO> getClaims(PageQuery query) {
+        Pageable pageable = query.toPageable(CLAIM_SORT_COLUMNS);
+        Slice<Claim> slice = query.isKeyset()
+                ? claimRepository.findByIdGreaterThan(query.getAfter(), pageable)
+                : claimRepository.findAllBy(pageable);
+        return SliceDTO.of(slice, this::mapToDTO, Claim::getId);
+    }
+
     public List<ClaimDTO> searchClaims(String query) {
         List<Claim> claims;
         
@@ -203,58 +287,97 @@ public class ClaimsService {
 
     public byte[] generateClaimsReport(LocalDate start, LocalDate end, String type) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try {
+        streamClaimsReport(start, end, type, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Writes the claims report for the given period straight to {@code out}.
+     * Rows are scrolled from a flat projection (status filtered in SQL) and the
+     * table is flushed to the document every {@value #REPORT_FLUSH_ROWS} rows,
+     * so memory use stays flat regardless of how many claims fall in the range.
+     */
+    public void streamClaimsReport(LocalDate start, LocalDate end, String type, OutputStream out) {
+        ClaimStatus status = type.equals("ALL") ? null : ClaimStatus.valueOf(type);
+        try (Stream<ClaimReportDTO> rows = claimRepository.streamReportRows(start, end, status)) {
             Document document = new Document();
-            PdfWriter.getInstance(document, baos);
+            PdfWriter.getInstance(document, out);
             document.open();
-            
+
             document.add(new Paragraph("Claims Report"));
             document.add(new Paragraph("Period: " + start + " to " + end));
             document.add(new Paragraph("Type: " + type));
             document.add(new Paragraph(" "));
-            
+
             PdfPTable table = new PdfPTable(6);
+            table.setComplete(false);
+            table.setHeaderRows(1);
             addTableHeader(table, "Claim ID", "User", "Policy", "Amount", "Date", "Status");
-            
-            List<Claim> claims;
-            if (type.equals("ALL")) {
-                claims = claimRepository.findByClaimDateBetween(start, end);
-            } else {
-                ClaimStatus status = ClaimStatus.valueOf(type);
-                claims = claimRepository.findByClaimDateBetween(start, end).stream()
-                        .filter(c -> c.getStatus() == status)
-                        .collect(Collectors.toList());
+
+            int count = 0;
+            Iterator<ClaimReportDTO> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ClaimReportDTO row = iterator.next();
+                table.addCell(row.getClaimId());
+                table.addCell(row.getCustomerName());
+                table.addCell(row.getPolicyNumber());
+                table.addCell(String.format("$%.2f", row.getAmount()));
+                table.addCell(row.getClaimDate().toString());
+                table.addCell(row.getStatus().name());
+                if (++count % REPORT_FLUSH_ROWS == 0) {
+                    document.add(table);
+                }
             }
-            
-            claims.forEach(claim -> {
-                table.addCell(claim.getClaimId());
-                table.addCell(claim.getPolicy().getCustomer().getName());
+
+            table.setComplete(true);
+            document.add(table);
+            document.close();
+            logger.info("Claims report streamed: {} rows from {} to {}", count, start, end);
+        } catch (DocumentException e) {
+            throw new RuntimeException("Report generation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Streaming variant of {@link #generateReport(LocalDate, LocalDate)}.
+     */
+    public void streamReport(LocalDate start, LocalDate end, OutputStream out) {
+        try (Stream<Claim> claims = claimRepository.streamByClaimDateBetween(start, end)) {
+            Document document = new Document();
+            PdfWriter.getInstance(document, out);
+            document.open();
+            document.add(new Paragraph("Claims Report from " + start + " to " + end));
+
+            PdfPTable table = new PdfPTable(5);
+            table.setComplete(false);
+            table.setHeaderRows(1);
+            addTableHeader(table, "ID", "Policy Number", "Status", "Claim Date", "Notes");
+
+            int rows = 0;
+            Iterator<Claim> iterator = claims.iterator();
+            while (iterator.hasNext()) {
+                Claim claim = iterator.next();
+                table.addCell(String.valueOf(claim.getId()));
                 table.addCell(claim.getPolicy().getPolicyNumber());
-                table.addCell(String.format("$%.2f", claim.getAmount()));
-                table.addCell(claim.getClaimDate().toString());
                 table.addCell(claim.getStatus().name());
-            });
-            
+                table.addCell(claim.getClaimDate().toString());
+                table.addCell(claim.getNotes() != null ? claim.getNotes() : "N/A");
+                if (++rows % REPORT_FLUSH_ROWS == 0) {
+                    document.add(table);
+                    entityManager.clear();
+                }
+            }
+
+            table.setComplete(true);
             document.add(table);
             document.close();
         } catch (DocumentException e) {
             throw new RuntimeException("Report generation failed: " + e.getMessage());
         }
-        return baos.toByteArray();
     }
 
     private ClaimDTO mapToDTO(Claim claim) {
-        ClaimDTO dto = modelMapper.map(claim, ClaimDTO.class);
-        if (claim.getPolicy() != null) {
-            dto.setPolicyNumber(claim.getPolicy().getPolicyNumber());
-            dto.setPolicyType(claim.getPolicy().getCoverage());
-            if (claim.getPolicy().getCustomer() != null) {
-                dto.setUserId(claim.getPolicy().getCustomer().getId());
-                dto.setUserName(claim.getPolicy().getCustomer().getName());
-            }
-        }
-        dto.setDescription(claim.getNotes()); // Use notes as description if not set
-        return dto;
+        return dtoMapper.toClaimDTO(claim);
     }
 
     @Transactional
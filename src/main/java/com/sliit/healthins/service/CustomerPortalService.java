@@ -6,6 +6,9 @@ import java.time.LocalDate;
 import com.sliit.healthins.exception.ResourceNotFoundException;
 import com.sliit.healthins.model.*;
 import com.sliit.healthins.model.InquiryStatus;
+import com.sliit.healthins.pattern.factory.DTOMapper;
+import com.sliit.healthins.readmodel.ClaimView;
+import com.sliit.healthins.readmodel.PolicyView;
 import com.sliit.healthins.repository.*;
 import com.sliit.healthins.util.EmailSenderUtil;
 import org.modelmapper.ModelMapper;
@@ -15,6 +18,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,29 +31,32 @@ public class CustomerPortalService {
     private final ClaimRepository claimRepository;
     private final PaymentRepository paymentRepository;
     private final InquiryRepository inquiryRepository;
-    private final PolicyInfoRepository policyInfoRepository;
+    private final PolicyCatalogService policyCatalogService;
     private final BankAccountRepository bankAccountRepository;
     private final ModelMapper modelMapper;
     private final EmailSenderUtil emailUtil;
+    private final IdGeneratorService idGeneratorService;
+    private final DTOMapper dtoMapper;
 
     @Autowired
-    public CustomerPortalService(PolicyRepository policyRepository, UserRepository userRepository, ClaimRepository claimRepository, PaymentRepository paymentRepository, InquiryRepository inquiryRepository, PolicyInfoRepository policyInfoRepository, BankAccountRepository bankAccountRepository, ModelMapper modelMapper, EmailSenderUtil emailUtil) {
+    public CustomerPortalService(PolicyRepository policyRepository, UserRepository userRepository, ClaimRepository claimRepository, PaymentRepository paymentRepository, InquiryRepository inquiryRepository, PolicyCatalogService policyCatalogService, BankAccountRepository bankAccountRepository, ModelMapper modelMapper, EmailSenderUtil emailUtil, IdGeneratorService idGeneratorService, DTOMapper dtoMapper) {
         this.policyRepository = policyRepository;
         this.userRepository = userRepository;
         this.claimRepository = claimRepository;
         this.paymentRepository = paymentRepository;
         this.inquiryRepository = inquiryRepository;
-        this.policyInfoRepository = policyInfoRepository;
+        this.policyCatalogService = policyCatalogService;
         this.bankAccountRepository = bankAccountRepository;
         this.modelMapper = modelMapper;
         this.emailUtil = emailUtil;
+        this.idGeneratorService = idGeneratorService;
+        this.dtoMapper = dtoMapper;
     }
     public List<PaymentDTO> getPayments(Long userId) {
         try {
             logger.info("Getting payments for user ID: {}", userId);
-            List<Payment> payments = paymentRepository.findByPolicyCustomerId(userId);
-            List<PaymentDTO> paymentDTOs = payments.stream()
-                .map(payment -> modelMapper.map(payment, PaymentDTO.class))
+            List<PaymentDTO> paymentDTOs = paymentRepository.findViewsByCustomerId(userId).stream()
+                .map(dtoMapper::toPaymentDTO)
                 .collect(Collectors.toList());
             logger.info("Successfully retrieved {} payments for user ID: {}", paymentDTOs.size(), userId);
             return paymentDTOs;
@@ -65,44 +73,9 @@ public class CustomerPortalService {
     public ProfileDTO getProfile(Long userId) {
         try {
             logger.info("Getting profile for user ID: {}", userId);
-            
-            User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-            logger.debug("Found user: {}, role: {}", user.getUsername(), user.getRole());
-            
-            ProfileDTO profileDTO = new ProfileDTO();
-            profileDTO.setName(user.getName());
-            profileDTO.setUsername(user.getUsername());
-            profileDTO.setEmail(user.getEmail());
-            profileDTO.setPhone(user.getPhone());
-            profileDTO.setActive(user.isActive());
-            profileDTO.setCreatedAt(user.getCreatedAt() != null ? user.getCreatedAt().toString() : null);
-            
-            // Add bank account information if available
-            if (user.getBankAccount() != null) {
-                try {
-                    BankAccount bankAccount = user.getBankAccount();
-                    profileDTO.setBankName(bankAccount.getBankName());
-                    profileDTO.setAccountNumber(bankAccount.getAccountNumber());
-                    profileDTO.setAccountHolderName(bankAccount.getAccountHolderName());
-                    profileDTO.setBranch(bankAccount.getBranch());
-                } catch (Exception e) {
-                    logger.warn("Could not load bank account for user ID: {}", userId, e);
-                }
-            }
-            
-            logger.debug("Getting policy count for user ID: {}", userId);
-            int totalPolicies = (int) policyRepository.countByCustomerIdAndStatus(userId, PolicyStatus.ACTIVE);
-            profileDTO.setTotalPolicies(totalPolicies);
-            logger.debug("Total active policies: {}", totalPolicies);
-            
-            logger.debug("Getting claim counts for user ID: {}", userId);
-            int totalClaims = (int) claimRepository.countByPolicyCustomerId(userId);
-            int pendingClaims = (int) claimRepository.countByPolicyCustomerIdAndStatus(userId, ClaimStatus.PENDING);
-            profileDTO.setTotalClaims(totalClaims);
-            profileDTO.setPendingClaims(pendingClaims);
-            logger.debug("Total claims: {}, Pending claims: {}", totalClaims, pendingClaims);
-            
+            ProfileDTO profileDTO = loadProfile(userId);
+            logger.debug("Total active policies: {}, total claims: {}, pending claims: {}",
+                profileDTO.getTotalPolicies(), profileDTO.getTotalClaims(), profileDTO.getPendingClaims());
             logger.info("Successfully retrieved profile for user ID: {}", userId);
             return profileDTO;
         } catch (Exception e) {
@@ -111,22 +84,54 @@ public class CustomerPortalService {
         }
     }
 
+    /**
+     * Builds the profile from the single-query profile summary (user, bank
+     * details and policy/claim counters in one round trip).
+     */
+    private ProfileDTO loadProfile(Long userId) {
+        ProfileSummaryDTO summary = userRepository.findProfileSummary(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        ProfileDTO profileDTO = new ProfileDTO();
+        profileDTO.setName(summary.getName());
+        profileDTO.setUsername(summary.getUsername());
+        profileDTO.setEmail(summary.getEmail());
+        profileDTO.setPhone(summary.getPhone());
+        profileDTO.setActive(Boolean.TRUE.equals(summary.getActive()));
+        profileDTO.setCreatedAt(summary.getCreatedAt() != null ? summary.getCreatedAt().toString() : null);
+        profileDTO.setBankName(summary.getBankName());
+        profileDTO.setAccountNumber(summary.getAccountNumber());
+        profileDTO.setAccountHolderName(summary.getAccountHolderName());
+        profileDTO.setBranch(summary.getBranch());
+        profileDTO.setTotalPolicies(summary.getActivePolicies().intValue());
+        profileDTO.setTotalClaims(summary.getTotalClaims().intValue());
+        profileDTO.setPendingClaims(summary.getPendingClaims().intValue());
+        return profileDTO;
+    }
+
     public List<PolicyDetailsDTO> getPolicies(Long userId) {
-        List<Policy> policies = policyRepository.findByCustomerId(userId);
+        List<PolicyView> policies = policyRepository.findViewsByCustomerId(userId);
+        Map<Long, PolicyClaimCountsDTO> claimCounts = claimCountsByPolicy(userId);
         return policies.stream()
             .map(policy -> {
-                PolicyDetailsDTO dto = modelMapper.map(policy, PolicyDetailsDTO.class);
-                dto.setTotalClaims((int) claimRepository.countByPolicy_Id(policy.getId()));
-                dto.setPendingClaims((int) claimRepository.countByPolicy_IdAndStatus(policy.getId(), ClaimStatus.PENDING));
+                PolicyDetailsDTO dto = dtoMapper.toPolicyDetailsDTO(policy);
+                PolicyClaimCountsDTO counts = claimCounts.get(policy.id());
+                dto.setTotalClaims(counts != null ? counts.getTotalClaims().intValue() : 0);
+                dto.setPendingClaims(counts != null ? counts.getPendingClaims().intValue() : 0);
                 return dto;
             })
             .collect(Collectors.toList());
     }
 
+    private Map<Long, PolicyClaimCountsDTO> claimCountsByPolicy(Long userId) {
+        return claimRepository.countClaimsByPolicyForCustomer(userId).stream()
+            .collect(Collectors.toMap(PolicyClaimCountsDTO::getPolicyId, Function.identity()));
+    }
+
     public List<ClaimDTO> getApprovedClaims(Long userId) {
         List<Claim> claims = claimRepository.findByPolicyCustomerIdAndStatus(userId, ClaimStatus.APPROVED);
         return claims.stream()
-            .map(claim -> modelMapper.map(claim, ClaimDTO.class))
+            .map(dtoMapper::toClaimDTO)
             .collect(Collectors.toList());
     }
 
@@ -236,7 +241,7 @@ public class CustomerPortalService {
             
             // Step 5: Generate unique claim ID
             logger.info("Step 5: Generating claim ID...");
-            String claimId = "CLM-" + System.currentTimeMillis();
+            String claimId = idGeneratorService.nextClaimId();
             logger.info("✓ Generated Claim ID: {}", claimId);
             
             // Step 6: Create Claim Entity
@@ -305,30 +310,10 @@ public class CustomerPortalService {
     }
 
 
-    public List<Claim> getClaims(Long userId) {
+    public List<ClaimView> getClaims(Long userId) {
         try {
             logger.info("Getting claims for user ID: {}", userId);
-            List<Claim> claims = claimRepository.findByPolicyCustomerId(userId);
-            
-            // Initialize the policy for each claim to avoid lazy loading issues
-            claims.forEach(claim -> {
-                logger.debug("Processing claim: ID={}, ClaimID={}, Amount={}, Notes={}, ClaimDate={}", 
-                    claim.getId(), claim.getClaimId(), claim.getAmount(), claim.getNotes(), claim.getClaimDate());
-                
-                Policy policy = claim.getPolicy();
-                if (policy != null) {
-                    logger.debug("  Policy Number: {}", policy.getPolicyNumber());
-                    // Trigger lazy loading by accessing the policy number
-                    policy.getPolicyNumber();
-                    // Break circular references for JSON serialization
-                    policy.setCustomer(null);
-                    policy.setClaims(null);
-                    policy.setPayments(null);
-                } else {
-                    logger.warn("  Claim {} has no associated policy!", claim.getId());
-                }
-            });
-            
+            List<ClaimView> claims = claimRepository.findViewsByCustomerId(userId);
             logger.info("Successfully retrieved {} claims for user ID: {}", claims.size(), userId);
             return claims;
         } catch (Exception e) {
@@ -338,8 +323,9 @@ public class CustomerPortalService {
     }
 
     public List<BillingHistoryDTO> getBillingHistory(Long userId) {
-        List<Payment> payments = paymentRepository.findByPolicyCustomerId(userId);
-        return payments.stream().map(p -> modelMapper.map(p, BillingHistoryDTO.class)).collect(Collectors.toList());
+        return paymentRepository.findViewsByCustomerId(userId).stream()
+            .map(dtoMapper::toBillingHistoryDTO)
+            .collect(Collectors.toList());
     }
 
     @Transactional
@@ -394,14 +380,8 @@ public class CustomerPortalService {
     public List<InquiryDTO> getInquiries(Long userId) {
         try {
             logger.info("Getting inquiries for user ID: {}", userId);
-            List<Inquiry> inquiries = inquiryRepository.findByCustomerId(userId);
-            List<InquiryDTO> inquiryDTOs = inquiries.stream()
-                .map(inquiry -> {
-                    InquiryDTO dto = modelMapper.map(inquiry, InquiryDTO.class);
-                    dto.setCustomerId(userId);
-                    dto.setSubject(inquiry.getTitle()); // Set subject as alias for title
-                    return dto;
-                })
+            List<InquiryDTO> inquiryDTOs = inquiryRepository.findViewsByCustomerId(userId).stream()
+                .map(dtoMapper::toInquiryDTO)
                 .collect(Collectors.toList());
             logger.info("Successfully retrieved {} inquiries for user ID: {}", inquiryDTOs.size(), userId);
             return inquiryDTOs;
@@ -414,7 +394,7 @@ public class CustomerPortalService {
     public List<PolicyInfoDTO> getAvailablePolicies() {
         try {
             logger.info("Getting all available policies");
-            List<PolicyInfo> policyInfos = policyInfoRepository.findAll();
+            List<PolicyInfo> policyInfos = policyCatalogService.getAll();
             List<PolicyInfoDTO> policyInfoDTOs = policyInfos.stream()
                 .map(policyInfo -> {
                     PolicyInfoDTO dto = new PolicyInfoDTO();
@@ -445,7 +425,7 @@ public class CustomerPortalService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
             
             // Get policy info
-            PolicyInfo policyInfo = policyInfoRepository.findById(purchaseDTO.getPolicyInfoId())
+            PolicyInfo policyInfo = policyCatalogService.findById(purchaseDTO.getPolicyInfoId())
                 .orElseThrow(() -> new ResourceNotFoundException("Policy Info not found"));
             
             // Validate payment details (basic validation)
@@ -455,7 +435,7 @@ public class CustomerPortalService {
             
             // Create new policy for the customer
             Policy policy = new Policy();
-            policy.setPolicyNumber("POL-" + System.currentTimeMillis());
+            policy.setPolicyNumber(idGeneratorService.nextPolicyNumber());
             policy.setCustomer(user);
             policy.setCoverage(policyInfo.getCoverageType());
             policy.setPremiumAmount(policyInfo.getPrice());
@@ -543,7 +523,7 @@ public class CustomerPortalService {
             logger.info("Successfully updated profile for user ID: {}", userId);
             
             // Return updated profile
-            return getProfile(userId);
+            return loadProfile(userId);
         } catch (Exception e) {
             logger.error("Error updating profile for user ID: " + userId, e);
             throw e;
@@ -596,7 +576,7 @@ public class CustomerPortalService {
             logger.info("Successfully updated bank info for user ID: {}", userId);
             
             // Return updated profile
-            return getProfile(userId);
+            return loadProfile(userId);
         } catch (Exception e) {
             logger.error("Error updating bank info for user ID: " + userId, e);
             throw e;
@@ -5,15 +5,22 @@ import com.itextpdf.text.DocumentException;
 import com.itextpdf.text.Paragraph;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
+import com.sliit.healthins.config.UserAccessInvalidator;
 import com.sliit.healthins.dto.*;
 import com.sliit.healthins.exception.ResourceNotFoundException;
 import com.sliit.healthins.model.*;
+import com.sliit.healthins.pattern.factory.DTOMapper;
+import com.sliit.healthins.readmodel.CustomerView;
+import com.sliit.healthins.readmodel.InquiryView;
+import com.sliit.healthins.readmodel.PaymentView;
 import com.sliit.healthins.repository.*;
 import com.sliit.healthins.util.EmailSenderUtil;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,8 +29,13 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,55 +43,71 @@ import java.util.stream.Collectors;
 public class CustomerSupportService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerSupportService.class);
+    private static final Set<Role> CUSTOMER_ROLES = EnumSet.of(Role.CUSTOMER, Role.POLICYHOLDER);
+    private static final Set<String> CUSTOMER_SORT_COLUMNS = Set.of("id", "name", "email", "username", "createdAt");
+    private static final Set<String> INQUIRY_SORT_COLUMNS = Set.of("id", "type", "status", "createdAt", "resolutionDate");
+    private static final Set<String> PAYMENT_SORT_COLUMNS = Set.of("id", "amount", "dueDate", "status");
 
     private final EmailSenderUtil emailSenderUtil;
     private final UserRepository userRepository;
     private final PolicyRepository policyRepository;
-    private final PolicyInfoRepository policyInfoRepository;
+    private final PolicyCatalogService policyCatalogService;
     private final PaymentRepository paymentRepository;
     private final ClaimRepository claimRepository;
     private final InquiryRepository inquiryRepository;
     private final ModelMapper modelMapper;
+    private final DashboardCounters dashboardCounters;
+    private final IdGeneratorService idGeneratorService;
+    private final DTOMapper dtoMapper;
+    private final UserAccessInvalidator userAccessInvalidator;
 
     @Autowired
     public CustomerSupportService(EmailSenderUtil emailSenderUtil, UserRepository userRepository,
-                                  PolicyRepository policyRepository, PolicyInfoRepository policyInfoRepository,
+                                  PolicyRepository policyRepository, PolicyCatalogService policyCatalogService,
                                   PaymentRepository paymentRepository, ClaimRepository claimRepository,
-                                  InquiryRepository inquiryRepository, ModelMapper modelMapper) {
+                                  InquiryRepository inquiryRepository, ModelMapper modelMapper,
+                                  DashboardCounters dashboardCounters, IdGeneratorService idGeneratorService,
+                                  DTOMapper dtoMapper, UserAccessInvalidator userAccessInvalidator) {
         this.emailSenderUtil = emailSenderUtil;
         this.userRepository = userRepository;
         this.policyRepository = policyRepository;
-        this.policyInfoRepository = policyInfoRepository;
+        this.policyCatalogService = policyCatalogService;
         this.paymentRepository = paymentRepository;
         this.claimRepository = claimRepository;
         this.inquiryRepository = inquiryRepository;
         this.modelMapper = modelMapper;
+        this.dashboardCounters = dashboardCounters;
+        this.idGeneratorService = idGeneratorService;
+        this.dtoMapper = dtoMapper;
+        this.userAccessInvalidator = userAccessInvalidator;
     }
 
     public DashboardStatsDTO getDashboardStats() {
         logger.info("Getting dashboard stats");
         DashboardStatsDTO stats = new DashboardStatsDTO();
-        stats.setTotalCustomers(userRepository.countByRole(Role.POLICYHOLDER));
-        stats.setPendingClaims(claimRepository.countByStatus(ClaimStatus.PENDING));
-        stats.setResolvedInquiries(inquiryRepository.countByStatus(InquiryStatus.RESOLVED));
-        stats.setOverduePayments(paymentRepository.countByStatus(PaymentStatus.OVERDUE));
+        stats.setTotalCustomers(dashboardCounters.count(Role.POLICYHOLDER));
+        stats.setPendingClaims(dashboardCounters.count(ClaimStatus.PENDING));
+        stats.setResolvedInquiries(dashboardCounters.count(InquiryStatus.RESOLVED));
+        stats.setOverduePayments(dashboardCounters.count(PaymentStatus.OVERDUE));
         logger.info("Dashboard stats retrieved successfully");
         return stats;
     }
 
     public List<CustomerDTO> getAllCustomers() {
         logger.info("Getting all customers from database");
-        List<User> users = userRepository.findAll();
-        logger.info("Found {} total users in database", users.size());
-        // Filter to only include CUSTOMER and POLICYHOLDER roles
-        List<CustomerDTO> customers = users.stream()
-                .filter(user -> user.getRole() == Role.CUSTOMER || user.getRole() == Role.POLICYHOLDER)
-                .map(this::mapUserToCustomerDTO)
+        List<CustomerDTO> customers = userRepository.findByRoleIn(CUSTOMER_ROLES).stream()
+                .map(dtoMapper::toCustomerDTO)
                 .collect(Collectors.toList());
-        logger.info("Filtered to {} customers from {} total users", customers.size(), users.size());
+        logger.info("Found {} customers", customers.size());
         return customers;
     }
 
+    public SliceDTO<CustomerDTO> getCustomers(PageQuery query) {
+        Pageable pageable = query.toPageable(CUSTOMER_SORT_COLUMNS);
+        Slice<CustomerView> slice = userRepository.findByRoleIn(CUSTOMER_ROLES, query.getAfter(), pageable);
+        return SliceDTO.of(slice, dtoMapper::toCustomerDTO, CustomerView::id);
+    }
+
     public CustomerDTO getCustomer(Long id) {
         logger.info("Getting customer with ID: {}", id);
         User user = userRepository.findById(id)
@@ -92,27 +120,17 @@ public class CustomerSupportService {
         if (query == null || query.trim().isEmpty()) {
             throw new IllegalArgumentException("Search query cannot be empty");
         }
-        List<User> users = userRepository.findByNameContainingIgnoreCaseOrContactContainingIgnoreCaseOrEmailContainingIgnoreCase(query, query, query);
-        logger.info("Search found {} total users", users.size());
-        if (users.isEmpty()) {
-            return Collections.emptyList();
-        }
-        // Filter to only include CUSTOMER and POLICYHOLDER roles
-        List<CustomerDTO> customers = users.stream()
-                .filter(user -> user.getRole() == Role.CUSTOMER || user.getRole() == Role.POLICYHOLDER)
-                .map(this::mapUserToCustomerDTO)
+        List<CustomerDTO> customers = userRepository.searchByRoleIn(CUSTOMER_ROLES, query).stream()
+                .map(dtoMapper::toCustomerDTO)
                 .collect(Collectors.toList());
-        logger.info("Filtered to {} customers", customers.size());
+        logger.info("Search found {} customers", customers.size());
         return customers;
     }
 
     private CustomerDTO mapUserToCustomerDTO(User user) {
-        CustomerDTO dto = modelMapper.map(user, CustomerDTO.class);
+        CustomerDTO dto = dtoMapper.toCustomerDTO(user);
         dto.setStatus(user.getPolicies() != null && !user.getPolicies().isEmpty() ? user.getPolicies().getFirst().getStatus().name() : "N/A");
         dto.setPolicyNumber(user.getPolicies() != null && !user.getPolicies().isEmpty() ? user.getPolicies().getFirst().getPolicyNumber() : "N/A");
-        dto.setCreatedAt(user.getCreatedAt());
-        dto.setUpdatedAt(user.getUpdatedAt());
-        dto.setIsActive(user.isActive());
         return dto;
     }
 
@@ -120,9 +138,19 @@ public class CustomerSupportService {
     public CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + id));
-        modelMapper.map(customerDTO, user);
+        String previousUsername = user.getUsername();
+        Role previousRole = user.getRole();
+        boolean previouslyActive = user.isActive();
+        userAccessInvalidator.evict(previousUsername);
+        dtoMapper.updateUser(customerDTO, user);
         user = userRepository.save(user);
-        return modelMapper.map(user, CustomerDTO.class);
+        userAccessInvalidator.evict(user.getUsername());
+        // Issued tokens carry the username, role and active flag
+        if (!Objects.equals(user.getUsername(), previousUsername) || user.getRole() != previousRole
+                || user.isActive() != previouslyActive) {
+            userAccessInvalidator.revokeTokens(id);
+        }
+        return dtoMapper.toCustomerDTO(user);
     }
 
     @Transactional
@@ -147,8 +175,8 @@ public class CustomerSupportService {
     }
 
     public List<ClaimUpdateDTO> getClaims() {
-        return claimRepository.findAll().stream()
-                .map(claim -> modelMapper.map(claim, ClaimUpdateDTO.class))
+        return claimRepository.findAllViews().stream()
+                .map(dtoMapper::toClaimUpdateDTO)
                 .collect(Collectors.toList());
     }
 
@@ -308,76 +336,32 @@ public class CustomerSupportService {
     }
 
     public List<InquiryDTO> getPendingInquiries() {
-        List<Inquiry> inquiries = inquiryRepository.findByStatus(InquiryStatus.OPEN);
-        if (inquiries.isEmpty()) {
-            return Collections.emptyList();
-        }
-        return inquiries.stream()
-                .map(inquiry -> new InquiryDTO(
-                        inquiry.getId(),
-                        inquiry.getCustomer() != null ? inquiry.getCustomer().getId() : null,
-                        inquiry.getType(),
-                        inquiry.getDescription(),
-                        inquiry.getStatus().name(),
-                        inquiry.getResolutionDate()
-                ))
+        return inquiryRepository.findViewsByStatus(InquiryStatus.OPEN).stream()
+                .map(dtoMapper::toInquiryDTO)
                 .collect(Collectors.toList());
     }
 
-    public List<InquiryDTO> getAllInquiries() {
-        logger.info("Getting all inquiries");
-        List<Inquiry> inquiries = inquiryRepository.findAll();
-        return inquiries.stream()
-                .map(inquiry -> {
-                    InquiryDTO dto = new InquiryDTO(
-                            inquiry.getId(),
-                            inquiry.getCustomer() != null ? inquiry.getCustomer().getId() : null,
-                            inquiry.getType(),
-                            inquiry.getDescription(),
-                            inquiry.getStatus().name(),
-                            inquiry.getResolutionDate()
-                    );
-                    dto.setTitle(inquiry.getTitle());
-                    dto.setCreatedAt(inquiry.getCreatedAt());
-                    dto.setCustomerName(inquiry.getCustomer() != null ? inquiry.getCustomer().getName() : "Unknown");
-                    return dto;
-                })
-                .collect(Collectors.toList());
+    public SliceDTO<InquiryDTO> getInquiries(PageQuery query) {
+        Pageable pageable = query.toPageable(INQUIRY_SORT_COLUMNS);
+        Slice<InquiryView> slice = inquiryRepository.findViews(query.getAfter(), pageable);
+        return SliceDTO.of(slice, dtoMapper::toInquiryDTO, InquiryView::id);
     }
 
     public List<InquiryDTO> searchInquiries(String query) {
         logger.info("Searching inquiries with query: {}", query);
-        List<Inquiry> inquiries;
+        List<InquiryView> inquiries;
         
         // Try to parse as customer ID
         try {
             Long customerId = Long.parseLong(query);
-            inquiries = inquiryRepository.findByCustomerId(customerId);
+            inquiries = inquiryRepository.findViewsByCustomerId(customerId);
         } catch (NumberFormatException e) {
             // Search by customer name
-            List<User> users = userRepository.findByNameContainingIgnoreCase(query);
-            inquiries = new java.util.ArrayList<>();
-            for (User user : users) {
-                inquiries.addAll(inquiryRepository.findByCustomerId(user.getId()));
-            }
+            inquiries = inquiryRepository.findViewsByCustomerNameContaining(query);
         }
         
         return inquiries.stream()
-                .map(inquiry -> {
-                    InquiryDTO dto = new InquiryDTO(
-                            inquiry.getId(),
-                            inquiry.getCustomer() != null ? inquiry.getCustomer().getId() : null,
-                            inquiry.getType(),
-                            inquiry.getDescription(),
-                            inquiry.getStatus().name(),
-                            inquiry.getResolutionDate()
-                    );
-                    dto.setTitle(inquiry.getTitle());
-                    dto.setCreatedAt(inquiry.getCreatedAt());
-                    dto.setCustomerName(inquiry.getCustomer() != null ? inquiry.getCustomer().getName() : "Unknown");
-                    dto.setResponse(inquiry.getTitle()); // Using title as a response for now
-                    return dto;
-                })
+                .map(dtoMapper::toInquiryDTO)
                 .collect(Collectors.toList());
     }
 
@@ -421,7 +405,7 @@ public class CustomerSupportService {
 
     public List<PolicyDetailsDTO> getAllPolicyInfo() {
         logger.info("Getting all policy info from policy_info table");
-        List<PolicyInfo> policyInfos = policyInfoRepository.findAll();
+        List<PolicyInfo> policyInfos = policyCatalogService.getAll();
         return policyInfos.stream()
                 .map(info -> {
                     PolicyDetailsDTO dto = new PolicyDetailsDTO();
@@ -436,15 +420,19 @@ public class CustomerSupportService {
 
     public List<PolicyDetailsDTO> getCustomerPolicies(Long customerId) {
         logger.info("Getting policies for customer ID: {}", customerId);
-        User user = userRepository.findById(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + customerId));
+        if (!userRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("Customer not found with ID: " + customerId);
+        }
         
-        return user.getPolicies().stream()
+        Map<Long, PolicyClaimCountsDTO> claimCounts = claimRepository.countClaimsByPolicyForCustomer(customerId).stream()
+                .collect(Collectors.toMap(PolicyClaimCountsDTO::getPolicyId, Function.identity()));
+
+        return policyRepository.findViewsByCustomerId(customerId).stream()
                 .map(policy -> {
-                    PolicyDetailsDTO dto = modelMapper.map(policy, PolicyDetailsDTO.class);
-                    dto.setCustomerId(customerId);
-                    dto.setTotalClaims((int) claimRepository.countByPolicy_Id(policy.getId()));
-                    dto.setPendingClaims((int) claimRepository.countByPolicy_IdAndStatus(policy.getId(), ClaimStatus.PENDING));
+                    PolicyDetailsDTO dto = dtoMapper.toPolicyDetailsDTO(policy);
+                    PolicyClaimCountsDTO counts = claimCounts.get(policy.id());
+                    dto.setTotalClaims(counts != null ? counts.getTotalClaims().intValue() : 0);
+                    dto.setPendingClaims(counts != null ? counts.getPendingClaims().intValue() : 0);
                     return dto;
                 })
                 .collect(Collectors.toList());
@@ -457,7 +445,7 @@ public class CustomerSupportService {
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with ID: " + policyDTO.getCustomerId()));
         
         // Generate policy number
-        String policyNumber = "POL-" + System.currentTimeMillis();
+        String policyNumber = idGeneratorService.nextPolicyNumber();
         
         Policy policy = new Policy(
                 policyNumber,
@@ -486,51 +474,27 @@ public class CustomerSupportService {
         logger.info("Policy deleted successfully: {}", policyNumber);
     }
 
-    public List<PaymentReminderDTO> getAllPayments() {
-        logger.info("Getting all payments for reminder management");
-        List<Payment> payments = paymentRepository.findAll();
-        return payments.stream()
-                .map(payment -> {
-                    PaymentReminderDTO dto = new PaymentReminderDTO();
-                    dto.setPaymentId(payment.getId());
-                    dto.setAmount(payment.getAmount());
-                    dto.setDueDate(payment.getDueDate());
-                    dto.setPolicyNumber(payment.getPolicy() != null ? payment.getPolicy().getPolicyNumber() : "N/A");
-                    dto.setStatus(payment.getStatus() != null ? payment.getStatus().name() : "N/A");
-                    return dto;
-                })
-                .collect(Collectors.toList());
+    public SliceDTO<PaymentReminderDTO> getPayments(PageQuery query) {
+        Pageable pageable = query.toPageable(PAYMENT_SORT_COLUMNS);
+        Slice<PaymentView> slice = paymentRepository.findViews(query.getAfter(), pageable);
+        return SliceDTO.of(slice, dtoMapper::toPaymentReminderDTO, PaymentView::id);
     }
 
     public List<PaymentReminderDTO> searchPayments(String query) {
         logger.info("Searching payments with query: {}", query);
-        List<Payment> payments = new java.util.ArrayList<>();
+        List<PaymentView> payments;
         
         // Try to parse as payment ID
         try {
             Long paymentId = Long.parseLong(query);
-            Optional<Payment> payment = paymentRepository.findById(paymentId);
-            if (payment.isPresent()) {
-                payments.add(payment.get());
-            }
+            payments = paymentRepository.findViewById(paymentId).map(List::of).orElse(List.of());
         } catch (NumberFormatException e) {
-            // Search by policy number - find exact match first
-            Optional<Policy> policy = policyRepository.findByPolicyNumber(query);
-            if (policy.isPresent()) {
-                payments.addAll(paymentRepository.findByPolicy_Id(policy.get().getId()));
-            }
+            // Search by policy number - exact match
+            payments = paymentRepository.findViewsByPolicyNumber(query);
         }
         
         return payments.stream()
-                .map(payment -> {
-                    PaymentReminderDTO dto = new PaymentReminderDTO();
-                    dto.setPaymentId(payment.getId());
-                    dto.setAmount(payment.getAmount());
-                    dto.setDueDate(payment.getDueDate());
-                    dto.setPolicyNumber(payment.getPolicy() != null ? payment.getPolicy().getPolicyNumber() : "N/A");
-                    dto.setStatus(payment.getStatus() != null ? payment.getStatus().name() : "N/A");
-                    return dto;
-                })
+                .map(dtoMapper::toPaymentReminderDTO)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
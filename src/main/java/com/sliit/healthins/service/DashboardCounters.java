@@ -0,0 +1,214 @@
+package com.sliit.healthins.service;
+
+import com.sliit.healthins.model.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory row counts for the dashboards: a total per entity and, for claims,
+ * inquiries, payments and users, a count per status (role for users).
+ * <p>
+ * Counts move incrementally from Hibernate post-commit insert/update/delete events, so
+ * rolled-back work is never counted. Bulk JPQL updates and writes from other instances
+ * are not seen by those events; a scheduled reconcile corrects every count to the
+ * database's {@code COUNT}/{@code GROUP BY} result.
+ * <p>
+ * Listeners are never blocked by a reconcile. Each count is read just before its query
+ * and then moved by the difference from the database result, so increments that land
+ * while the query runs are kept rather than overwritten. A commit whose listener runs
+ * after the query has already seen it is counted twice until the next reconcile.
+ */
+@Component
+public class DashboardCounters implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounters.class);
+
+    // Counted entities and the enum property they are grouped by (null: total only)
+    private static final Map<Class<?>, GroupBy> TRACKED = new LinkedHashMap<>();
+
+    static {
+        TRACKED.put(User.class, new GroupBy("role", Role.class));
+        TRACKED.put(Claim.class, new GroupBy("status", ClaimStatus.class));
+        TRACKED.put(Inquiry.class, new GroupBy("status", InquiryStatus.class));
+        TRACKED.put(Payment.class, new GroupBy("status", PaymentStatus.class));
+        TRACKED.put(Policy.class, null);
+        TRACKED.put(Employee.class, null);
+        TRACKED.put(Campaign.class, null);
+        TRACKED.put(Payroll.class, null);
+        TRACKED.put(PerformanceReview.class, null);
+        TRACKED.put(AuditLog.class, null);
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<Class<?>, AtomicLong> totals = new ConcurrentHashMap<>();
+    private final Map<Enum<?>, AtomicLong> byStatus = new ConcurrentHashMap<>();
+    private volatile boolean reconciled;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public DashboardCounters(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    public long total(Class<?> entity) {
+        ensureReconciled();
+        AtomicLong count = totals.get(entity);
+        return count == null ? 0 : count.get();
+    }
+
+    public long count(Enum<?> status) {
+        ensureReconciled();
+        AtomicLong count = byStatus.get(status);
+        return count == null ? 0 : count.get();
+    }
+
+    // Each query runs on its own so it sees every commit made before it, not a snapshot
+    // taken at the first query
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-ms:300000}",
+            initialDelayString = "${dashboard.counters.reconcile-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized void reconcile() {
+        for (Map.Entry<Class<?>, GroupBy> tracked : TRACKED.entrySet()) {
+            String entity = tracked.getKey().getSimpleName();
+            AtomicLong total = totals.computeIfAbsent(tracked.getKey(), k -> new AtomicLong());
+            long totalBefore = total.get();
+            Long counted = entityManager.createQuery("SELECT COUNT(e) FROM " + entity + " e", Long.class).getSingleResult();
+            total.addAndGet(counted - totalBefore);
+            GroupBy groupBy = tracked.getValue();
+            if (groupBy == null) {
+                continue;
+            }
+            Map<Enum<?>, Long> before = new HashMap<>();
+            for (Enum<?> constant : groupBy.type().getEnumConstants()) {
+                before.put(constant, byStatus.computeIfAbsent(constant, k -> new AtomicLong()).get());
+            }
+            List<Object[]> groups = entityManager.createQuery("SELECT e." + groupBy.property() + ", COUNT(e) FROM " + entity +
+                    " e GROUP BY e." + groupBy.property(), Object[].class).getResultList();
+            // Constants absent from the result now count zero
+            Map<Enum<?>, Long> grouped = new HashMap<>();
+            for (Object[] group : groups) {
+                if (group[0] != null) {
+                    grouped.put((Enum<?>) group[0], (Long) group[1]);
+                }
+            }
+            before.forEach((constant, value) ->
+                    byStatus.get(constant).addAndGet(grouped.getOrDefault(constant, 0L) - value));
+        }
+        reconciled = true;
+        logger.debug("Dashboard counters reconciled: {}", totals);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Class<?> entity = event.getEntity().getClass();
+        if (TRACKED.containsKey(entity)) {
+            adjust(entity, statusOf(event.getPersister(), entity, event.getState()), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Class<?> entity = event.getEntity().getClass();
+        if (TRACKED.get(entity) == null || event.getOldState() == null) {
+            return;
+        }
+        Enum<?> before = statusOf(event.getPersister(), entity, event.getOldState());
+        Enum<?> after = statusOf(event.getPersister(), entity, event.getState());
+        if (!Objects.equals(before, after)) {
+            increment(before, -1);
+            increment(after, 1);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Class<?> entity = event.getEntity().getClass();
+        if (TRACKED.containsKey(entity)) {
+            adjust(entity, statusOf(event.getPersister(), entity, event.getDeletedState()), -1);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return TRACKED.containsKey(persister.getMappedClass());
+    }
+
+    private void ensureReconciled() {
+        if (!reconciled) {
+            reconcile();
+        }
+    }
+
+    private void adjust(Class<?> entity, Enum<?> status, long delta) {
+        totals.computeIfAbsent(entity, k -> new AtomicLong()).addAndGet(delta);
+        increment(status, delta);
+    }
+
+    private void increment(Enum<?> status, long delta) {
+        if (status != null) {
+            byStatus.computeIfAbsent(status, k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    private Enum<?> statusOf(EntityPersister persister, Class<?> entity, Object[] state) {
+        GroupBy groupBy = TRACKED.get(entity);
+        if (groupBy == null || state == null) {
+            return null;
+        }
+        return (Enum<?>) state[persister.getEntityMetamodel().getPropertyIndex(groupBy.property())];
+    }
+
+    private record GroupBy(String property, Class<? extends Enum<?>> type) {
+    }
+}
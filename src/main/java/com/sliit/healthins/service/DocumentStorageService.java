@@ -0,0 +1,171 @@
+package com.sliit.healthins.service;
+
+import com.sliit.healthins.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed storage for claim documents. An upload is streamed through a
+ * {@link FileChannel} into a temporary file while its SHA-256 is computed, then moved to
+ * {@code <root>/ab/cd/<hash>}; a document that is already stored is kept once and the
+ * duplicate discarded. Callers keep the returned content id ({@code sha256:<hex>}), which
+ * is all that is needed to read the document back.
+ * <p>
+ * Stored files are never modified, so readers need no locking and downloads can be
+ * handed to {@link FileChannel#transferTo} (or the container's sendfile).
+ * <p>
+ * Claims filed before content addressing hold the path the old upload code wrote to,
+ * {@code <legacy-root>/<original file name>}; {@link #resolveLegacy} serves those files
+ * and nothing else in that directory tree.
+ */
+@Service
+public class DocumentStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentStorageService.class);
+    private static final String PREFIX = "sha256:";
+    private static final Pattern CONTENT_ID = Pattern.compile("sha256:[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path incoming;
+    private final Path legacyRoot;
+
+    public DocumentStorageService(@Value("${documents.storage.root:uploads/documents}") String root,
+                                  @Value("${documents.storage.legacy-root:uploads}") String legacyRoot) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+        this.legacyRoot = Path.of(legacyRoot).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create document storage at " + this.root, e);
+        }
+    }
+
+    public record StoredDocument(String contentId, long size, boolean duplicate) {
+    }
+
+    public StoredDocument store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        long size = 0;
+        try {
+            try (ReadableByteChannel source = Channels.newChannel(content);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        size += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                target.force(false);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path destination = pathOf(hash);
+            if (Files.exists(destination)) {
+                return new StoredDocument(PREFIX + hash, size, true);
+            }
+            Files.createDirectories(destination.getParent());
+            try {
+                Files.move(temp, destination, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // The same content was stored concurrently; either copy will do
+                return new StoredDocument(PREFIX + hash, size, true);
+            }
+            logger.info("Stored document {} ({} bytes)", hash, size);
+            return new StoredDocument(PREFIX + hash, size, false);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static boolean isContentId(String value) {
+        return value != null && CONTENT_ID.matcher(value).matches();
+    }
+
+    /**
+     * Path of a stored document; throws if the id is malformed or nothing is stored under it.
+     */
+    public Path resolve(String contentId) {
+        if (!isContentId(contentId)) {
+            throw new ResourceNotFoundException("No stored document for " + contentId);
+        }
+        Path path = pathOf(contentId.substring(PREFIX.length()));
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("No stored document for " + contentId);
+        }
+        return path;
+    }
+
+    /**
+     * Path of a document stored by the pre-content-addressing upload code; throws unless
+     * {@code documentPath} names a file directly inside the legacy upload directory.
+     */
+    public Path resolveLegacy(String documentPath) {
+        Path path;
+        try {
+            path = documentPath == null ? null : Path.of(documentPath).toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            path = null;
+        }
+        if (path == null || !legacyRoot.equals(path.getParent()) || !Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("No stored document for " + documentPath);
+        }
+        return path;
+    }
+
+    public long size(String contentId) throws IOException {
+        return Files.size(resolve(contentId));
+    }
+
+    public void transferTo(String contentId, WritableByteChannel target) throws IOException {
+        transferTo(resolve(contentId), target);
+    }
+
+    public void transferTo(Path path, WritableByteChannel target) throws IOException {
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = source.size();
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
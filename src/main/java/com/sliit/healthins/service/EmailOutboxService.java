@@ -0,0 +1,109 @@
+package com.sliit.healthins.service;
+
+import com.sliit.healthins.model.OutboundEmail;
+import com.sliit.healthins.model.OutboundEmailStatus;
+import com.sliit.healthins.repository.OutboundEmailRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State transitions of the email outbox. Each method is its own short transaction so
+ * row locks are never held while talking to the SMTP server.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+
+    @Autowired
+    public EmailOutboxService(OutboundEmailRepository outboundEmailRepository,
+                              @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+                              @Value("${mail.outbox.lease-seconds:300}") long leaseSeconds,
+                              @Value("${mail.outbox.base-backoff-seconds:30}") long baseBackoffSeconds,
+                              @Value("${mail.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds) {
+        this.outboundEmailRepository = outboundEmailRepository;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.baseBackoff = Duration.ofSeconds(baseBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+    }
+
+    /**
+     * Claims up to {@code limit} due messages by moving them to SENDING under a lease.
+     * A claim left behind by a crashed worker becomes due again when its lease expires.
+     */
+    @Transactional
+    public List<OutboundEmail> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboundEmail> due = outboundEmailRepository.findDueForUpdate(now, PageRequest.of(0, limit));
+        for (OutboundEmail email : due) {
+            email.setStatus(OutboundEmailStatus.SENDING);
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(now.plus(lease));
+        }
+        return due;
+    }
+
+    @Transactional
+    public DeliveryCounts recordResults(Collection<Long> sentIds, Map<Long, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        int retried = 0;
+        int dead = 0;
+        for (OutboundEmail email : outboundEmailRepository.findAllById(sentIds)) {
+            email.setStatus(OutboundEmailStatus.SENT);
+            email.setSentAt(now);
+            email.setLastError(null);
+        }
+        for (OutboundEmail email : outboundEmailRepository.findAllById(failures.keySet())) {
+            email.setLastError(truncate(failures.get(email.getId())));
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(OutboundEmailStatus.DEAD);
+                dead++;
+                logger.warn("Email {} to {} moved to dead letter after {} attempts: {}",
+                        email.getId(), email.getRecipient(), email.getAttempts(), email.getLastError());
+            } else {
+                email.setStatus(OutboundEmailStatus.PENDING);
+                email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+                retried++;
+            }
+        }
+        return new DeliveryCounts(sentIds.size(), retried, dead);
+    }
+
+    public long countByStatus(OutboundEmailStatus status) {
+        return outboundEmailRepository.countByStatus(status);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    public record DeliveryCounts(int sent, int retried, int dead) {
+    }
+}
@@ -1,8 +1,11 @@
 package com.sliit.healthins.service;
 
+import com.sliit.healthins.config.UserAccessInvalidator;
 import com.sliit.healthins.dto.EmployeeDTO;
+import com.sliit.healthins.dto.PageQuery;
 import com.sliit.healthins.dto.PayrollDTO;
 import com.sliit.healthins.dto.ReviewDTO;
+import com.sliit.healthins.dto.SliceDTO;
 import com.sliit.healthins.dto.UserDTO;
 import com.sliit.healthins.model.Employee;
 import com.sliit.healthins.model.Payroll;
@@ -16,6 +19,8 @@ import com.sliit.healthins.repository.PerformanceReviewRepository;
 import com.sliit.healthins.repository.UserRepository;
 import com.sliit.healthins.util.PdfGeneratorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,18 +28,22 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Service
 @Transactional(readOnly = true)
 public class HrService {
+    private static final Set<String> PAYROLL_SORT_COLUMNS = Set.of("id", "amount", "date", "status");
+
     private final EmployeeRepository employeeRepository;
     private final PerformanceReviewRepository performanceReviewRepository;
     private final PayrollRepository payrollRepository;
     private final PdfGeneratorUtil pdfGeneratorUtil;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserAccessInvalidator userAccessInvalidator;
 
     @Autowired
     public HrService(EmployeeRepository employeeRepository,
@@ -42,13 +51,15 @@ public class HrService {
                      PayrollRepository payrollRepository,
                      PdfGeneratorUtil pdfGeneratorUtil,
                      UserRepository userRepository,
-                     PasswordEncoder passwordEncoder) {
+                     PasswordEncoder passwordEncoder,
+                     UserAccessInvalidator userAccessInvalidator) {
         this.employeeRepository = employeeRepository;
         this.performanceReviewRepository = performanceReviewRepository;
         this.payrollRepository = payrollRepository;
         this.pdfGeneratorUtil = pdfGeneratorUtil;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userAccessInvalidator = userAccessInvalidator;
     }
 
     @Transactional
@@ -222,17 +233,23 @@ public class HrService {
     public UserDTO updateCustomer(Long id, UserDTO dto) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + id));
+        userAccessInvalidator.evict(user.getUsername());
         
         if (dto.getUsername() != null) user.setUsername(dto.getUsername());
         if (dto.getEmail() != null) user.setEmail(dto.getEmail());
         if (dto.getPhone() != null) user.setPhone(dto.getPhone());
         if (dto.getName() != null) user.setName(dto.getName());
         if (dto.getContact() != null) user.setContact(dto.getContact());
-        if (dto.getPassword() != null && !dto.getPassword().isEmpty()) {
+        boolean passwordChanged = dto.getPassword() != null && !dto.getPassword().isEmpty();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(dto.getPassword()));
         }
         
         User updatedUser = userRepository.save(user);
+        userAccessInvalidator.evict(updatedUser.getUsername());
+        if (passwordChanged) {
+            userAccessInvalidator.revokeTokens(id);
+        }
         return convertToUserDTO(updatedUser);
     }
 
@@ -241,6 +258,8 @@ public class HrService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + id));
         userRepository.delete(user);
+        userAccessInvalidator.evict(user.getUsername());
+        userAccessInvalidator.revokeTokens(id);
     }
 
     private UserDTO convertToUserDTO(User user) {
@@ -367,10 +386,12 @@ public class HrService {
         }
     }
 
-    public List<PayrollDTO> getAllPayrolls() {
-        return payrollRepository.findAll().stream()
-                .map(this::convertToPayrollDTO)
-                .collect(Collectors.toList());
+    public SliceDTO<PayrollDTO> getPayrolls(PageQuery query) {
+        Pageable pageable = query.toPageable(PAYROLL_SORT_COLUMNS);
+        Slice<Payroll> slice = query.isKeyset()
+                ? payrollRepository.findByIdGreaterThan(query.getAfter(), pageable)
+                : payrollRepository.findAllBy(pageable);
+        return SliceDTO.of(slice, this::convertToPayrollDTO, Payroll::getId);
     }
 
     public List<PayrollDTO> searchPayrollsByEmployee(Long employeeId) {
@@ -0,0 +1,198 @@
+package com.sliit.healthins.service;
+
+import com.sliit.healthins.model.IdGeneratorNode;
+import com.sliit.healthins.repository.IdGeneratorNodeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import jakarta.annotation.PreDestroy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Snowflake-style business ids: 41 bits of milliseconds since 2024-01-01, 10 bits of node
+ * id and 12 bits of per-millisecond sequence, rendered as 13 Crockford base32 characters
+ * so the text form sorts by creation time ({@code CLM-0C8Y5Z3V1R000}).
+ * <p>
+ * Each instance owns a disjoint block of the id space through its node id: either
+ * {@code ids.node-id}, or one leased from {@code id_generator_nodes} at start-up and
+ * renewed while the instance runs. Renewal has its own scheduler thread so other scheduled
+ * jobs cannot delay it, and once the lease has run out without being renewed no more ids
+ * are handed out, since another instance may already own the node id. Within a node, ids come from a single CAS on the
+ * packed (time, sequence) state, so generation never locks. The clock moving backwards or
+ * more than 4096 ids in one millisecond just advances the logical time past the wall
+ * clock, keeping ids unique and increasing.
+ */
+@Service
+public class IdGeneratorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorService.class);
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final IdGeneratorNodeRepository nodeRepository;
+    private final LongSupplier clock;
+    private final long leaseSeconds;
+    private final String owner;
+    // (milliseconds since epoch << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+    private volatile int nodeId;
+    private final boolean leased;
+    // Clock millis after which the node id may belong to another instance
+    private volatile long leaseValidUntil = Long.MAX_VALUE;
+    private ThreadPoolTaskScheduler renewalScheduler;
+
+    @Autowired
+    public IdGeneratorService(IdGeneratorNodeRepository nodeRepository,
+                              @Value("${ids.node-id:-1}") int configuredNodeId,
+                              @Value("${ids.node-lease-seconds:300}") long leaseSeconds,
+                              @Value("${ids.node-lease-renew-ms:60000}") long renewMs) {
+        this(nodeRepository, configuredNodeId, leaseSeconds, System::currentTimeMillis);
+        if (leased) {
+            renewalScheduler = new ThreadPoolTaskScheduler();
+            renewalScheduler.setPoolSize(1);
+            renewalScheduler.setThreadNamePrefix("id-lease-");
+            renewalScheduler.initialize();
+            renewalScheduler.scheduleWithFixedDelay(this::renewLease, Instant.now().plusMillis(renewMs),
+                    Duration.ofMillis(renewMs));
+        }
+    }
+
+    public IdGeneratorService(IdGeneratorNodeRepository nodeRepository, int configuredNodeId, long leaseSeconds,
+                              LongSupplier clock) {
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("ids.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeRepository = nodeRepository;
+        this.leaseSeconds = leaseSeconds;
+        this.clock = clock;
+        this.owner = ownerName();
+        this.leased = configuredNodeId < 0;
+        long leasedAt = clock.getAsLong();
+        this.nodeId = leased ? leaseNodeId() : configuredNodeId;
+        if (leased) {
+            this.leaseValidUntil = leasedAt + leaseSeconds * 1000;
+        }
+        logger.info("ID generator running as node {}{}", nodeId, leased ? " (leased as " + owner + ")" : "");
+    }
+
+    public String nextClaimId() {
+        return "CLM-" + encode(nextId());
+    }
+
+    public String nextPolicyNumber() {
+        return "POL-" + encode(nextId());
+    }
+
+    public long nextId() {
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            long wallClock = clock.getAsLong();
+            if (wallClock >= leaseValidUntil) {
+                throw new IllegalStateException("ID generator lease on node " + nodeId
+                        + " has expired; no ids are issued until it is renewed");
+            }
+            long now = wallClock - EPOCH_MILLIS;
+            // A new millisecond restarts the sequence; otherwise +1, which carries into the
+            // time bits when the sequence is exhausted
+            next = now > (previous >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : previous + 1;
+        } while (!state.compareAndSet(previous, next));
+
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | ((long) nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Fixed-width Crockford base32, so encoded ids compare in the same order as the numbers.
+     */
+    public static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public void renewLease() {
+        if (!leased) {
+            return;
+        }
+        long renewedAt = clock.getAsLong();
+        if (nodeRepository.renew(nodeId, owner, LocalDateTime.now().plusSeconds(leaseSeconds)) == 0) {
+            // Lost the lease (e.g. a long pause): move to a free node id rather than share one
+            logger.error("ID generator lease on node {} was lost; acquiring a new node id", nodeId);
+            leaseValidUntil = Long.MIN_VALUE;
+            nodeId = leaseNodeId();
+            leaseValidUntil = renewedAt + leaseSeconds * 1000;
+        } else {
+            leaseValidUntil = renewedAt + leaseSeconds * 1000;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (renewalScheduler != null) {
+            renewalScheduler.shutdown();
+        }
+    }
+
+    private int leaseNodeId() {
+        Set<Integer> existing = nodeRepository.findAll().stream()
+                .map(IdGeneratorNode::getNodeId)
+                .collect(Collectors.toSet());
+        for (int candidate = 0; candidate <= MAX_NODE_ID; candidate++) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime until = now.plusSeconds(leaseSeconds);
+            if (existing.contains(candidate)) {
+                if (nodeRepository.takeOver(candidate, owner, until, now) == 1) {
+                    return candidate;
+                }
+                continue;
+            }
+            try {
+                nodeRepository.insertLease(candidate, owner, until);
+                return candidate;
+            } catch (DataIntegrityViolationException e) {
+                // Claimed by another instance since findAll; try the next one
+            }
+        }
+        throw new IllegalStateException("No free ID generator node id; all " + (MAX_NODE_ID + 1) + " are leased");
+    }
+
+    private static String ownerName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        String instance = host + "/" + ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+        return instance.length() > 100 ? instance.substring(instance.length() - 100) : instance;
+    }
+}
@@ -1,7 +1,10 @@
 package com.sliit.healthins.service;
 
 import com.sliit.healthins.dto.CampaignDTO;
+import com.sliit.healthins.dto.CampaignDispatchStatusDTO;
+import com.sliit.healthins.dto.PageQuery;
 import com.sliit.healthins.dto.SegmentDTO;
+import com.sliit.healthins.dto.SliceDTO;
 import com.sliit.healthins.exception.ResourceNotFoundException;
 import com.sliit.healthins.model.Campaign;
 import com.sliit.healthins.model.CampaignFeedback;
@@ -9,6 +12,7 @@ import com.sliit.healthins.model.CampaignPerformance;
 import com.sliit.healthins.model.CampaignStatus;
 import com.sliit.healthins.model.CampaignType;
 import com.sliit.healthins.model.CustomerSegment;
+import com.sliit.healthins.model.DispatchChannel;
 import com.sliit.healthins.model.Policy;
 import com.sliit.healthins.model.Role;
 import com.sliit.healthins.model.User;
@@ -21,6 +25,8 @@ import com.sliit.healthins.util.EmailSenderUtil;
 import com.sliit.healthins.util.PdfGeneratorUtil;
 import com.sliit.healthins.util.SmsSenderUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,12 +35,16 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
 public class MarketingService {
 
+    private static final Set<String> CAMPAIGN_SORT_COLUMNS = Set.of("id", "name", "type", "status", "startDate", "endDate");
+    private static final String DEFAULT_MESSAGE = "Thank you for being our valued customer. We have exciting updates for you!";
+
     private final CampaignRepository campaignRepository;
     private final CustomerSegmentRepository customerSegmentRepository;
     private final EmailSenderUtil emailUtil;
@@ -43,6 +53,8 @@ public class MarketingService {
     private final PdfGeneratorUtil pdfGeneratorUtil;
     private final CampaignPerformanceRepository campaignPerformanceRepository;
     private final CampaignFeedbackRepository campaignFeedbackRepository;
+    private final CampaignDispatchService campaignDispatchService;
+    private final CampaignRecipientResolver campaignRecipientResolver;
 
     @Autowired
     public MarketingService(CampaignRepository campaignRepository, 
@@ -52,7 +64,9 @@ public class MarketingService {
                           UserRepository userRepository, 
                           PdfGeneratorUtil pdfGeneratorUtil,
                           CampaignPerformanceRepository campaignPerformanceRepository,
-                          CampaignFeedbackRepository campaignFeedbackRepository) {
+                          CampaignFeedbackRepository campaignFeedbackRepository,
+                          CampaignDispatchService campaignDispatchService,
+                          CampaignRecipientResolver campaignRecipientResolver) {
         this.campaignRepository = campaignRepository;
         this.customerSegmentRepository = customerSegmentRepository;
         this.emailUtil = emailUtil;
@@ -61,6 +75,8 @@ public class MarketingService {
         this.pdfGeneratorUtil = pdfGeneratorUtil;
         this.campaignPerformanceRepository = campaignPerformanceRepository;
         this.campaignFeedbackRepository = campaignFeedbackRepository;
+        this.campaignDispatchService = campaignDispatchService;
+        this.campaignRecipientResolver = campaignRecipientResolver;
     }
 
     @Transactional
@@ -76,8 +92,12 @@ public class MarketingService {
         return campaignRepository.save(campaign);
     }
 
-    public List<CampaignDTO> listCampaigns() {
-        return campaignRepository.findAll().stream().map(this::convertToDTO).collect(Collectors.toList());
+    public SliceDTO<CampaignDTO> listCampaigns(PageQuery query) {
+        Pageable pageable = query.toPageable(CAMPAIGN_SORT_COLUMNS);
+        Slice<Campaign> slice = query.isKeyset()
+                ? campaignRepository.findByIdGreaterThan(query.getAfter(), pageable)
+                : campaignRepository.findAllBy(pageable);
+        return SliceDTO.of(slice, this::convertToDTO, Campaign::getId);
     }
 
     @Transactional
@@ -122,70 +142,25 @@ public class MarketingService {
         );
     }
 
-    @Transactional
-    public Map<String, Object> sendSmsToCustomers(Long campaignId) {
+    public CampaignDispatchStatusDTO sendSmsToCustomers(Long campaignId) {
         Campaign campaign = campaignRepository.findById(campaignId)
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + campaignId));
-        // Get all customers
-        List<User> customers = userRepository.findByRole(Role.CUSTOMER);
-        int sentCount = 0;
-        for (User customer : customers) {
-            try {
-                String message = campaign.getDescription() != null ? campaign.getDescription() : 
-                    "Thank you for being our valued customer. We have exciting updates for you!";
-                smsSenderUtil.sendSms(customer.getPhone(), message);
-                sentCount++;
-            } catch (Exception e) {
-                System.err.println("Failed to send SMS to " + customer.getPhone() + ": " + e.getMessage());
-            }
-        }
-        return Map.of(
-            "sentCount", sentCount,
-            "totalCustomers", customers.size(),
-            "campaignName", campaign.getName()
-        );
+        return campaignDispatchService.start(campaign, DispatchChannel.SMS, campaignRecipientResolver.allCustomers(),
+                CampaignDispatchService.Message.forCampaign(campaign, DEFAULT_MESSAGE));
     }
 
-    @Transactional
-    public Map<String, Object> sendEmailsToCustomers(Long campaignId) {
+    public CampaignDispatchStatusDTO sendEmailsToCustomers(Long campaignId) {
         Campaign campaign = campaignRepository.findById(campaignId)
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + campaignId));
-        
-        // Get all customers
-        List<User> customers = userRepository.findByRole(Role.CUSTOMER);
-        int sentCount = 0;
-        
-        for (User customer : customers) {
-            try {
-                String subject = "Health Insurance: " + campaign.getName();
-                String message = campaign.getDescription() != null ? campaign.getDescription() : 
-                               "Thank you for being our valued customer. We have exciting updates for you!";
-                
-                emailUtil.sendEmail(customer.getEmail(), subject, message);
-                sentCount++;
-            } catch (Exception e) {
-                System.err.println("Failed to send email to " + customer.getEmail() + ": " + e.getMessage());
-            }
-        }
-        
-        return Map.of(
-            "sentCount", sentCount,
-            "totalCustomers", customers.size(),
-            "campaignName", campaign.getName()
-        );
+        return campaignDispatchService.start(campaign, DispatchChannel.EMAIL, campaignRecipientResolver.allCustomers(),
+                CampaignDispatchService.Message.forCampaign(campaign, DEFAULT_MESSAGE));
     }
 
-    @Transactional
-    public void sendEmails(Long campaignId, Long segmentId) {
+    public CampaignDispatchStatusDTO sendEmails(Long campaignId, Long segmentId) {
         Campaign campaign = campaignRepository.findById(campaignId)
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + campaignId));
-        CustomerSegment segment = customerSegmentRepository.findById(segmentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Segment not found with id: " + segmentId));
-        segment.getCustomerIds().forEach(userId -> {
-            userRepository.findById(userId).ifPresent(user ->
-                    emailUtil.sendEmail(user.getEmail(), campaign.getName(), "Campaign details here")
-            );
-        });
+        return campaignDispatchService.start(campaign, DispatchChannel.EMAIL, campaignRecipientResolver.segment(segmentId),
+                new CampaignDispatchService.Message(campaign.getName(), "Campaign details here"));
     }
 
     @Transactional
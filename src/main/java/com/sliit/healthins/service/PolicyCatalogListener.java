@@ -0,0 +1,42 @@
+package com.sliit.healthins.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that drops the cached policy catalog once a write to
+ * {@code policy_info} commits. Instantiated by Hibernate through Spring's bean container;
+ * the catalog is looked up lazily so persistence-only contexts can start without it.
+ */
+public class PolicyCatalogListener {
+
+    private final ObjectProvider<PolicyCatalogService> policyCatalogService;
+
+    public PolicyCatalogListener(ObjectProvider<PolicyCatalogService> policyCatalogService) {
+        this.policyCatalogService = policyCatalogService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    private void invalidate() {
+        policyCatalogService.ifAvailable(PolicyCatalogService::invalidate);
+    }
+}
@@ -0,0 +1,196 @@
+package com.sliit.healthins.service;
+
+import com.sliit.healthins.model.PolicyInfo;
+import com.sliit.healthins.repository.PolicyInfoRepository;
+import com.sliit.healthins.repository.PolicyInfoRepository.CatalogVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache of the {@link PolicyInfo} product catalog, looked up by id or by
+ * coverage type. The whole catalog is loaded in one query on the first read after
+ * start-up or invalidation; {@link PolicyCatalogListener} invalidates it when a catalog
+ * row is written on this node and the transaction commits. Writes on other nodes (or by
+ * SQL) are picked up by {@link #checkForChanges}, which compares the catalog's row count and
+ * newest audit timestamp with the loaded copy every {@code policy.catalog.check-ms}.
+ * <p>
+ * Cached entities are detached and shared between requests, so callers must treat them
+ * as read-only.
+ */
+@Service
+public class PolicyCatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyCatalogService.class);
+
+    private final PolicyInfoRepository policyInfoRepository;
+    private final Counter hits;
+    private final Counter misses;
+    // Bumped by every invalidation so a load that raced with one is not installed
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public PolicyCatalogService(PolicyInfoRepository policyInfoRepository, MeterRegistry meterRegistry) {
+        this.policyInfoRepository = policyInfoRepository;
+        this.hits = Counter.builder("policy.catalog.cache").tag("result", "hit")
+                .description("Catalog reads served from memory").register(meterRegistry);
+        this.misses = Counter.builder("policy.catalog.cache").tag("result", "miss")
+                .description("Catalog reads that loaded from the database").register(meterRegistry);
+        Gauge.builder("policy.catalog.size", this, catalog -> {
+            Snapshot current = catalog.snapshot;
+            return current == null ? 0 : current.all().size();
+        }).register(meterRegistry);
+    }
+
+    public List<PolicyInfo> getAll() {
+        return snapshot(true).all();
+    }
+
+    public Optional<PolicyInfo> findById(Long id) {
+        return Optional.ofNullable(snapshot(true).byId().get(id));
+    }
+
+    public Optional<PolicyInfo> findByCoverageType(String coverageType) {
+        return Optional.ofNullable(snapshot(true).byCoverageType().get(coverageType));
+    }
+
+    /**
+     * Strong validator for the current catalog contents, already quoted for the
+     * {@code ETag} header.
+     */
+    public String getETag() {
+        return snapshot(false).etag();
+    }
+
+    public Instant getLastModified() {
+        return snapshot(false).lastModified();
+    }
+
+    /**
+     * Invalidates the loaded catalog if the table no longer matches it.
+     */
+    @Scheduled(fixedDelayString = "${policy.catalog.check-ms:30000}")
+    public void checkForChanges() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        CatalogVersion stored = policyInfoRepository.findCatalogVersion();
+        if (stored == null || stored.getRowCount() != current.rowCount()
+                || !Objects.equals(stored.getLastChanged(), current.lastChanged())) {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        logger.info("Policy catalog cache invalidated");
+    }
+
+    // Validator lookups are not counted, so hit/miss reflects catalog data reads only
+    private Snapshot snapshot(boolean counted) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = loadIfAbsent(counted);
+        } else if (counted) {
+            hits.increment();
+        }
+        return current;
+    }
+
+    private synchronized Snapshot loadIfAbsent(boolean counted) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            if (counted) {
+                hits.increment();
+            }
+            return current;
+        }
+        if (counted) {
+            misses.increment();
+        }
+        long loadedGeneration = generation.get();
+        current = load();
+        if (generation.get() == loadedGeneration) {
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<PolicyInfo> all = policyInfoRepository.findAll().stream()
+                .sorted(Comparator.comparing(PolicyInfo::getId))
+                .toList();
+        Map<Long, PolicyInfo> byId = all.stream()
+                .collect(Collectors.toUnmodifiableMap(PolicyInfo::getId, Function.identity()));
+        Map<String, PolicyInfo> byCoverageType = all.stream()
+                .collect(Collectors.toUnmodifiableMap(PolicyInfo::getCoverageType, Function.identity()));
+        logger.info("Loaded {} policy catalog entries", all.size());
+        LocalDateTime lastChanged = all.stream()
+                .map(info -> info.getUpdatedAt() != null ? info.getUpdatedAt() : info.getCreatedAt())
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new Snapshot(all, byId, byCoverageType, etag(all), lastModified(all), all.size(), lastChanged);
+    }
+
+    private static String etag(List<PolicyInfo> all) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (PolicyInfo info : all) {
+                String row = String.join("\u0000", String.valueOf(info.getId()), info.getCoverageType(),
+                        info.getDescription(), info.getBenefits(), info.getCoverageLimit(),
+                        info.getPrice() == null ? "" : info.getPrice().toPlainString(),
+                        String.valueOf(info.getUpdatedAt()));
+                digest.update(row.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Newest audit timestamp in the catalog; rows without one fall back to load time
+    private static Instant lastModified(List<PolicyInfo> all) {
+        Optional<LocalDateTime> newest = all.stream()
+                .flatMap(info -> Stream.of(info.getCreatedAt(), info.getUpdatedAt()))
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder());
+        boolean complete = all.stream().allMatch(info -> info.getCreatedAt() != null || info.getUpdatedAt() != null);
+        Instant instant = newest.isPresent() && complete
+                ? newest.get().atZone(ZoneId.systemDefault()).toInstant()
+                : Instant.now();
+        return instant.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private record Snapshot(List<PolicyInfo> all, Map<Long, PolicyInfo> byId,
+                            Map<String, PolicyInfo> byCoverageType, String etag, Instant lastModified,
+                            long rowCount, LocalDateTime lastChanged) {
+    }
+}
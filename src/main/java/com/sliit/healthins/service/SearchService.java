@@ -0,0 +1,127 @@
+package com.sliit.healthins.service;
+
+import com.sliit.healthins.dto.PageQuery;
+import com.sliit.healthins.dto.SearchResultDTO;
+import com.sliit.healthins.dto.SliceDTO;
+import com.sliit.healthins.exception.ValidationException;
+import com.sliit.healthins.model.Claim;
+import com.sliit.healthins.model.Inquiry;
+import com.sliit.healthins.model.Role;
+import com.sliit.healthins.model.User;
+import com.sliit.healthins.repository.ClaimRepository;
+import com.sliit.healthins.repository.InquiryRepository;
+import com.sliit.healthins.repository.UserRepository;
+import com.sliit.healthins.search.SearchDocuments;
+import com.sliit.healthins.search.SearchIndex;
+import com.sliit.healthins.search.SearchType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int REBUILD_CLEAR_ROWS = 500;
+
+    private final SearchIndex searchIndex;
+    private final UserRepository userRepository;
+    private final ClaimRepository claimRepository;
+    private final InquiryRepository inquiryRepository;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public SearchService(SearchIndex searchIndex, UserRepository userRepository,
+                         ClaimRepository claimRepository, InquiryRepository inquiryRepository) {
+        this.searchIndex = searchIndex;
+        this.userRepository = userRepository;
+        this.claimRepository = claimRepository;
+        this.inquiryRepository = inquiryRepository;
+    }
+
+    /**
+     * Loads every customer, claim and inquiry into a fresh index and swaps it in. Runs on the
+     * scheduler, first right after startup and then every {@code search.index.rebuild-ms}.
+     * Between rebuilds the index is maintained by {@code SearchIndexListener}, which only sees
+     * this node's writes: changes made on other nodes or by bulk SQL become searchable here
+     * at the next rebuild.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${search.index.rebuild-ms:600000}")
+    public void rebuildIndex() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        SearchIndex rebuilt = searchIndex.startRebuild();
+        try {
+            try (Stream<User> users = userRepository.streamByRoleIn(EnumSet.of(Role.CUSTOMER, Role.POLICYHOLDER))) {
+                indexAll(users, user -> rebuilt.index(SearchDocuments.of(user)));
+            }
+            try (Stream<Claim> claims = claimRepository.streamAll()) {
+                indexAll(claims, claim -> rebuilt.index(SearchDocuments.of(claim)));
+            }
+            try (Stream<Inquiry> inquiries = inquiryRepository.streamAllWithCustomer()) {
+                indexAll(inquiries, inquiry -> rebuilt.index(SearchDocuments.of(inquiry)));
+            }
+            searchIndex.finishRebuild(rebuilt);
+        } catch (RuntimeException e) {
+            searchIndex.abandonRebuild();
+            throw e;
+        } finally {
+            rebuilding.set(false);
+        }
+        logger.info("Search index rebuilt with {} documents in {} ms", searchIndex.size(), System.currentTimeMillis() - started);
+    }
+
+    public SliceDTO<SearchResultDTO> search(String query, Collection<SearchType> types, Integer page, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Search query cannot be empty");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), PageQuery.MAX_LIMIT);
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        Collection<SearchType> scope = types == null || types.isEmpty() ? EnumSet.allOf(SearchType.class) : types;
+
+        // One hit past the page tells whether there is a next page
+        int needed = (int) Math.min((long) (pageNumber + 1) * size + 1, Integer.MAX_VALUE);
+        List<SearchIndex.SearchHit> hits = searchIndex.search(query, scope, needed);
+        int from = (int) Math.min((long) pageNumber * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+
+        SliceDTO<SearchResultDTO> result = new SliceDTO<>();
+        result.setContent(hits.subList(from, to).stream()
+                .map(hit -> new SearchResultDTO(hit.document().getType().name(), hit.document().getId(),
+                        hit.document().getTitle(), hit.document().getSubtitle(), hit.score()))
+                .toList());
+        result.setPage(pageNumber);
+        result.setSize(size);
+        result.setHasNext(to < hits.size());
+        return result;
+    }
+
+    private <T> void indexAll(Stream<T> rows, Consumer<T> indexer) {
+        int[] count = {0};
+        rows.forEach(row -> {
+            indexer.accept(row);
+            if (++count[0] % REBUILD_CLEAR_ROWS == 0) {
+                entityManager.clear();
+            }
+        });
+    }
+}
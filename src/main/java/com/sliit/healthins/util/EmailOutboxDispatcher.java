@@ -0,0 +1,159 @@
+package com.sliit.healthins.util;
+
+import com.sliit.healthins.model.OutboundEmail;
+import com.sliit.healthins.model.OutboundEmailStatus;
+import com.sliit.healthins.service.EmailOutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox. Each poll claims a batch of due messages and hands it to
+ * a bounded worker pool in chunks; every chunk goes out through a single
+ * {@link JavaMailSender#send(SimpleMailMessage...)} call, which reuses one SMTP
+ * connection for the whole chunk. Failures are retried with exponential backoff and
+ * dead-lettered after the configured number of attempts.
+ * <p>
+ * The poll runs on the shared scheduler thread, so it never waits for SMTP: it only claims
+ * as many messages as the pool has free slots for (running plus queued chunks), hands the
+ * chunks off and returns. A chunk the pool still refuses (e.g. during shutdown) is left
+ * SENDING and picked up again when its lease expires.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxService outboxService;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolTaskExecutor mailExecutor;
+    private final int batchSize;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final AtomicInteger chunksInFlight = new AtomicInteger();
+
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+    private final Timer chunkTimer;
+    private final AtomicLong pending = new AtomicLong();
+
+    public EmailOutboxDispatcher(EmailOutboxService outboxService, JavaMailSender mailSender,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${mail.outbox.workers:4}") int workers,
+                                 @Value("${mail.outbox.batch-size:100}") int batchSize,
+                                 @Value("${mail.outbox.chunk-size:20}") int chunkSize) {
+        this.outboxService = outboxService;
+        this.mailSender = mailSender;
+        this.mailExecutor = new ThreadPoolTaskExecutor();
+        this.mailExecutor.setCorePoolSize(workers);
+        this.mailExecutor.setMaxPoolSize(workers);
+        this.mailExecutor.setQueueCapacity(workers * 2);
+        this.mailExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        this.mailExecutor.setThreadNamePrefix("mail-outbox-");
+        this.mailExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        this.mailExecutor.setAwaitTerminationSeconds(30);
+        this.mailExecutor.initialize();
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = workers * 3;
+        this.sentCounter = meterRegistry.counter("mail.outbox.delivered", "outcome", "sent");
+        this.retryCounter = meterRegistry.counter("mail.outbox.delivered", "outcome", "retry");
+        this.deadCounter = meterRegistry.counter("mail.outbox.delivered", "outcome", "dead");
+        this.chunkTimer = meterRegistry.timer("mail.outbox.chunk.send");
+        meterRegistry.gauge("mail.outbox.pending", pending);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        int freeChunks = maxChunksInFlight - chunksInFlight.get();
+        if (freeChunks > 0) {
+            List<OutboundEmail> batch = outboxService.claimDue(Math.min(batchSize, freeChunks * chunkSize));
+            for (int from = 0; from < batch.size(); from += chunkSize) {
+                submit(batch.subList(from, Math.min(from + chunkSize, batch.size())));
+            }
+        }
+        pending.set(outboxService.countByStatus(OutboundEmailStatus.PENDING));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        mailExecutor.shutdown();
+    }
+
+    private void submit(List<OutboundEmail> chunk) {
+        chunksInFlight.incrementAndGet();
+        try {
+            mailExecutor.execute(() -> {
+                try {
+                    deliver(chunk);
+                } finally {
+                    chunksInFlight.decrementAndGet();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            chunksInFlight.decrementAndGet();
+            logger.warn("Mail pool rejected a chunk of {} emails; they are retried when their lease expires",
+                    chunk.size());
+        }
+    }
+
+    private void deliver(List<OutboundEmail> chunk) {
+        Map<SimpleMailMessage, Long> ids = new IdentityHashMap<>();
+        for (OutboundEmail email : chunk) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(email.getRecipient());
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            ids.put(message, email.getId());
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        try {
+            chunkTimer.record(() -> mailSender.send(ids.keySet().toArray(SimpleMailMessage[]::new)));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, cause) -> {
+                Long id = ids.get(message);
+                if (id != null) {
+                    failures.put(id, cause.getMessage());
+                }
+            });
+            if (failures.isEmpty()) {
+                ids.values().forEach(id -> failures.put(id, e.getMessage()));
+            }
+        } catch (MailException e) {
+            ids.values().forEach(id -> failures.put(id, e.getMessage()));
+        }
+
+        List<Long> sent = ids.values().stream().filter(id -> !failures.containsKey(id)).toList();
+        try {
+            EmailOutboxService.DeliveryCounts counts = outboxService.recordResults(sent, failures);
+            sentCounter.increment(counts.sent());
+            retryCounter.increment(counts.retried());
+            deadCounter.increment(counts.dead());
+        } catch (RuntimeException e) {
+            // Rows stay SENDING and are picked up again when their lease expires
+            logger.error("Failed to record delivery results for {} emails", chunk.size(), e);
+        }
+    }
+}
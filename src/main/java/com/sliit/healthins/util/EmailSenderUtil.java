@@ -1,22 +1,35 @@
 package com.sliit.healthins.util;
 
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import com.sliit.healthins.model.OutboundEmail;
+import com.sliit.healthins.repository.OutboundEmailRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
+/**
+ * Queues outgoing email in the {@code outbound_emails} outbox. The row joins the
+ * caller's transaction, so nothing is sent for rolled-back work and callers never wait
+ * on SMTP; {@link EmailOutboxDispatcher} delivers it.
+ */
 @Component
 public class EmailSenderUtil {
-    private final JavaMailSender mailSender;
+    private final OutboundEmailRepository outboundEmailRepository;
 
-    public EmailSenderUtil(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailSenderUtil(OutboundEmailRepository outboundEmailRepository) {
+        this.outboundEmailRepository = outboundEmailRepository;
     }
 
     public void sendEmail(String to, String subject, String text) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(text);
-        mailSender.send(message);
+        outboundEmailRepository.save(new OutboundEmail(to, subject, text));
+    }
+
+    /**
+     * Queues several messages with one {@code saveAll}, in a single transaction when the
+     * caller has none.
+     */
+    public void sendEmails(List<OutboundEmail> emails) {
+        if (!emails.isEmpty()) {
+            outboundEmailRepository.saveAll(emails);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.sliit.healthins.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evenly spaced permits: each {@link #acquire()} reserves the next free slot and sleeps
+ * until it arrives, so callers on any number of threads share one rate. A non-positive
+ * rate means unlimited.
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextFreeNanos = System.nanoTime();
+
+    private RateLimiter(long intervalNanos) {
+        this.intervalNanos = intervalNanos;
+    }
+
+    public static RateLimiter perSecond(double permitsPerSecond) {
+        return new RateLimiter(permitsPerSecond <= 0 ? 0 : (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+    }
+
+    public void acquire() throws InterruptedException {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeNanos);
+            nextFreeNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
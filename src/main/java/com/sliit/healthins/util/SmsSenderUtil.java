@@ -1,13 +1,33 @@
 package com.sliit.healthins.util;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 @Component
 public class SmsSenderUtil {
+    private static final Logger logger = LoggerFactory.getLogger(SmsSenderUtil.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public SmsSenderUtil(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     // In a real system, use a third-party SMS API integration here
     public boolean sendSms(String to, String message) {
-        System.out.println("Sending SMS to " + to + ": " + message);
-        // simulate sending for now
-        return true;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            // Message bodies can carry personal data, so only the length is logged
+            logger.debug("Sending SMS to {} ({} chars)", to, message != null ? message.length() : 0);
+            // simulate sending for now
+            sample.stop(meterRegistry.timer("sms.send", "outcome", "sent"));
+            return true;
+        } catch (RuntimeException e) {
+            sample.stop(meterRegistry.timer("sms.send", "outcome", "failed"));
+            throw e;
+        }
     }
 }
@@ -0,0 +1,42 @@
+package com.sliit.healthins.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-blocking token bucket kept as a single "theoretical arrival time" updated by CAS, so
+ * request threads never queue on a lock. Each permit pushes that time one interval further
+ * ahead; the bucket is full once it lies in the past and empty once it is {@code capacity}
+ * intervals ahead of now. The rate and capacity are passed on every call, so a limit can
+ * change without rebuilding the buckets. Unlike {@link RateLimiter}, a caller over the limit
+ * is refused rather than made to wait.
+ */
+public final class TokenBucket {
+
+    private final AtomicLong arrivalNanos = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Takes one token at {@code nowNanos}.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(long nowNanos, long intervalNanos, long capacity) {
+        long limit = nowNanos + intervalNanos * capacity;
+        while (true) {
+            long current = arrivalNanos.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            if (next > limit) {
+                return next - limit;
+            }
+            if (arrivalNanos.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Whether the bucket has refilled completely, i.e. forgetting it changes nothing.
+     */
+    public boolean isFull(long nowNanos) {
+        return arrivalNanos.get() <= nowNanos;
+    }
+}
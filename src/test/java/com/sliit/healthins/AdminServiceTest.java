@@ -1,6 +1,11 @@
 package com.sliit.healthins;
 
+import com.sliit.healthins.config.LoginThrottle;
+import com.sliit.healthins.config.SystemConfigStore;
+import com.sliit.healthins.config.UserAccessInvalidator;
 import com.sliit.healthins.dto.ConfigDTO;
+import com.sliit.healthins.dto.EmailConfigDTO;
+import com.sliit.healthins.dto.SecurityConfigDTO;
 import com.sliit.healthins.dto.SystemMetricsDTO;
 import com.sliit.healthins.dto.UserDTO;
 import com.sliit.healthins.model.Role;
@@ -8,17 +13,22 @@ import com.sliit.healthins.model.User;
 import com.sliit.healthins.repository.UserRepository;
 import com.sliit.healthins.service.AdminService;
 import com.sliit.healthins.util.PdfGeneratorUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.modelmapper.ModelMapper;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,6 +41,14 @@ public class AdminServiceTest {
     private PdfGeneratorUtil pdfGeneratorUtil;
     @Mock
     private ModelMapper modelMapper;
+    @Mock
+    private UserAccessInvalidator userAccessInvalidator;
+    @Mock
+    private LoginThrottle loginThrottle;
+    @Mock
+    private SystemConfigStore systemConfigStore;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private AdminService adminService;
@@ -111,11 +129,17 @@ public class AdminServiceTest {
 
     @Test
     public void testDeleteUser_Success() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("tester");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         doNothing().when(userRepository).deleteById(1L);
 
         adminService.deleteUser(1L);
 
         verify(userRepository, times(1)).deleteById(1L);
+        verify(userAccessInvalidator).evict("tester");
+        verify(userAccessInvalidator).revokeTokens(1L);
     }
 
     @Test
@@ -146,6 +170,60 @@ public class AdminServiceTest {
         assertNotNull(updatedUser);
         assertEquals("newUser", updatedUser.getUsername());
         verify(userRepository, times(1)).save(user);
+        verify(userAccessInvalidator).evict("oldUser");
+        verify(userAccessInvalidator).evict("newUser");
+    }
+
+    @Test
+    public void testUpdateUser_DeactivateRevokesIssuedTokens() {
+        User user = staffUser(Role.CLAIMS_PROCESSING);
+        UserDTO dto = new UserDTO();
+        dto.setStatus("Inactive");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        adminService.updateUser(1L, dto);
+
+        assertFalse(user.isActive());
+        verify(userAccessInvalidator).revokeTokens(1L);
+    }
+
+    @Test
+    public void testUpdateUser_DemoteRevokesIssuedTokens() {
+        User user = staffUser(Role.ADMIN);
+        UserDTO dto = new UserDTO();
+        dto.setRole(Role.SUPPORT);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        adminService.updateUser(1L, dto);
+
+        assertEquals(Role.SUPPORT, user.getRole());
+        verify(userAccessInvalidator).revokeTokens(1L);
+    }
+
+    @Test
+    public void testUpdateUser_ProfileChangeKeepsIssuedTokens() {
+        User user = staffUser(Role.ADMIN);
+        UserDTO dto = new UserDTO();
+        dto.setName("Renamed");
+        dto.setStatus("Active");
+        dto.setRole(Role.ADMIN);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        adminService.updateUser(1L, dto);
+
+        verify(userAccessInvalidator, never()).revokeTokens(any());
+    }
+
+    private User staffUser(Role role) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("staff");
+        user.setRole(role);
+        user.setActive(true);
+        return user;
     }
 
     @Test
@@ -160,6 +238,27 @@ public class AdminServiceTest {
         verify(userRepository, times(1)).countByIsActiveTrue();
     }
 
+    @Test
+    public void testGetSystemMetrics_ReadsPoolAndLatencyMeters() {
+        meterRegistry.gauge("hikaricp.connections.active", 3);
+        meterRegistry.gauge("hikaricp.connections.max", 20);
+        Timer slow = Timer.builder("http.server.requests").tags("method", "GET", "uri", "/api/claims")
+                .publishPercentiles(0.99).register(meterRegistry);
+        Timer fast = Timer.builder("http.server.requests").tags("method", "GET", "uri", "/api/health")
+                .publishPercentiles(0.99).register(meterRegistry);
+        slow.record(250, TimeUnit.MILLISECONDS);
+        fast.record(5, TimeUnit.MILLISECONDS);
+
+        SystemMetricsDTO metrics = adminService.getSystemMetrics();
+
+        assertEquals("Online", metrics.getStatus());
+        assertEquals(3, metrics.getActiveConnections());
+        assertEquals(20, metrics.getMaxConnections());
+        assertEquals(2, metrics.getHttpRequests());
+        assertEquals(250, metrics.getHttpP99Ms(), 25);
+        assertEquals("GET /api/claims", metrics.getEndpointP99Ms().keySet().iterator().next());
+    }
+
     @Test
     public void testUpdateConfig_Success() {
         ConfigDTO dto = new ConfigDTO("key", "value");
@@ -169,6 +268,35 @@ public class AdminServiceTest {
         assertEquals("value", result.getValue());
     }
 
+    @Test
+    public void testSaveSecurityConfig_PersistsThroughStore() {
+        SecurityConfigDTO dto = new SecurityConfigDTO(30, 90, false, true, 4);
+        when(systemConfigStore.save(SystemConfigStore.SECURITY, dto)).thenReturn(dto);
+
+        assertSame(dto, adminService.saveSecurityConfig(dto));
+        verify(systemConfigStore).save(SystemConfigStore.SECURITY, dto);
+    }
+
+    @Test
+    public void testSaveSecurityConfig_RejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> adminService.saveSecurityConfig(new SecurityConfigDTO(30, 90, false, true, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> adminService.saveSecurityConfig(new SecurityConfigDTO(0, 90, false, true, 5)));
+        verifyNoInteractions(systemConfigStore);
+    }
+
+    @Test
+    public void testGetEmailConfig_NeverReturnsPassword() {
+        when(systemConfigStore.get(SystemConfigStore.EMAIL, EmailConfigDTO.class))
+                .thenReturn(new EmailConfigDTO("smtp.example.com", 465, "mailer", "secret", true));
+
+        EmailConfigDTO config = adminService.getEmailConfig();
+
+        assertEquals("smtp.example.com", config.getSmtpServer());
+        assertNull(config.getSmtpPassword());
+    }
+
     @Test
     public void testUpdateConfig_InvalidInput() {
         ConfigDTO invalidDto = new ConfigDTO(null, "value");
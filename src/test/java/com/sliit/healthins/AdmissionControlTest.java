@@ -0,0 +1,93 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.config.AdmissionControl;
+import com.sliit.healthins.config.SystemConfigChangedEvent;
+import com.sliit.healthins.config.SystemConfigSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControlTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private long now;
+    private AdmissionControl admissionControl;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        now = TimeUnit.HOURS.toNanos(1);
+        MockEnvironment environment = new MockEnvironment().withProperty("admission.max-concurrent.claims", "2");
+        // 60 requests/minute with a 5 second burst: 5 tokens, one more each second
+        admissionControl = new AdmissionControl(meterRegistry, environment, List.of("claims", "customer"),
+                60, 5, 10, () -> now);
+    }
+
+    @Test
+    public void testGroupOf_UsesFirstApiSegment() {
+        assertEquals("claims", admissionControl.groupOf("/api/claims/42/documents"));
+        assertEquals("customer", admissionControl.groupOf("/api/customer"));
+        assertEquals("other", admissionControl.groupOf("/api/unknown/path"));
+        assertNull(admissionControl.groupOf("/dashboard"));
+    }
+
+    @Test
+    public void testRateLimit_RefusesBurstPerCallerAndRefills() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(admissionControl.admit("customer", "user:john").isEmpty());
+            admissionControl.release("customer");
+        }
+
+        Optional<AdmissionControl.Rejection> rejected = admissionControl.admit("customer", "user:john");
+        assertEquals("rate", rejected.orElseThrow().reason());
+        assertEquals(Duration.ofSeconds(1), rejected.get().retryAfter());
+        assertTrue(admissionControl.admit("customer", "user:jane").isEmpty());
+        assertTrue(admissionControl.admit("claims", "user:john").isEmpty());
+
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertTrue(admissionControl.admit("customer", "user:john").isEmpty());
+        assertEquals(1.0, meterRegistry.get("http.admission.rejected")
+                .tags("group", "customer", "reason", "rate").counter().count());
+    }
+
+    @Test
+    public void testConcurrency_CapsGroupUntilReleased() {
+        assertTrue(admissionControl.admit("claims", "user:a").isEmpty());
+        assertTrue(admissionControl.admit("claims", "user:b").isEmpty());
+
+        assertEquals("concurrency", admissionControl.admit("claims", "user:c").orElseThrow().reason());
+        assertTrue(admissionControl.admit("customer", "user:c").isEmpty());
+        assertEquals(2.0, meterRegistry.get("http.admission.in.flight").tag("group", "claims").gauge().value());
+
+        admissionControl.release("claims");
+        assertTrue(admissionControl.admit("claims", "user:c").isEmpty());
+    }
+
+    @Test
+    public void testConfigChange_AppliesNewLimits() {
+        SystemConfigSnapshot snapshot = new SystemConfigSnapshot(Map.of(
+                AdmissionControl.RATE_LIMIT_CONFIG, "12",
+                AdmissionControl.MAX_CONCURRENT_CONFIG_PREFIX + "claims", "1"));
+        admissionControl.onConfigChanged(new SystemConfigChangedEvent(snapshot, snapshot.values().keySet()));
+
+        // 12 requests/minute with a 5 second burst leaves a single token
+        assertTrue(admissionControl.admit("claims", "user:john").isEmpty());
+        assertEquals("rate", admissionControl.admit("claims", "user:john").orElseThrow().reason());
+        assertEquals("concurrency", admissionControl.admit("claims", "user:jane").orElseThrow().reason());
+
+        admissionControl.onConfigChanged(new SystemConfigChangedEvent(SystemConfigSnapshot.EMPTY,
+                Set.of(AdmissionControl.RATE_LIMIT_CONFIG)));
+        // Back to the property cap of 2 while john's request is still running
+        assertTrue(admissionControl.admit("claims", "user:alice").isEmpty());
+    }
+}
@@ -0,0 +1,152 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.dto.CampaignDispatchStatusDTO;
+import com.sliit.healthins.dto.CampaignRecipientDTO;
+import com.sliit.healthins.exception.ResourceNotFoundException;
+import com.sliit.healthins.model.Campaign;
+import com.sliit.healthins.model.CampaignDispatchJob;
+import com.sliit.healthins.model.CampaignPerformance;
+import com.sliit.healthins.model.DispatchChannel;
+import com.sliit.healthins.model.OutboundEmail;
+import com.sliit.healthins.repository.CampaignDispatchJobRepository;
+import com.sliit.healthins.repository.CampaignPerformanceRepository;
+import com.sliit.healthins.service.CampaignDispatchService;
+import com.sliit.healthins.util.EmailSenderUtil;
+import com.sliit.healthins.util.SmsSenderUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CampaignDispatchServiceTest {
+
+    @Mock
+    private CampaignPerformanceRepository campaignPerformanceRepository;
+    @Mock
+    private CampaignDispatchJobRepository campaignDispatchJobRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EmailSenderUtil emailUtil;
+    @Mock
+    private SmsSenderUtil smsSenderUtil;
+
+    private CampaignDispatchService dispatchService;
+    private Campaign campaign;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Chunks of 2, no rate limit
+        dispatchService = new CampaignDispatchService(campaignPerformanceRepository, campaignDispatchJobRepository,
+                transactionManager, emailUtil, smsSenderUtil, 2, 4, true, 0);
+        campaign = new Campaign();
+        campaign.setId(1L);
+        campaign.setName("Spring Promo");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStart_SendsInChunksAndRecordsOutcomes() throws InterruptedException {
+        List<CampaignRecipientDTO> recipients = List.of(
+                new CampaignRecipientDTO(1L, "a@example.com", null),
+                new CampaignRecipientDTO(2L, null, null),
+                new CampaignRecipientDTO(3L, "c@example.com", null));
+        CampaignDispatchService.RecipientSource source = CampaignDispatchService.RecipientSource.of(
+                (afterId, limit) -> recipients.stream()
+                        .filter(recipient -> recipient.getId() > afterId)
+                        .limit(limit)
+                        .toList(),
+                recipients::size);
+        List<CampaignPerformance> recorded = new ArrayList<>();
+        when(campaignPerformanceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            recorded.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        CampaignDispatchStatusDTO started = dispatchService.start(campaign, DispatchChannel.EMAIL, source,
+                CampaignDispatchService.Message.forCampaign(campaign, "Thanks"));
+        CampaignDispatchStatusDTO status = awaitFinished(started.getJobId());
+
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(2, status.getSent());
+        assertEquals(1, status.getFailed());
+        ArgumentCaptor<List<OutboundEmail>> queued = ArgumentCaptor.forClass(List.class);
+        verify(emailUtil, times(2)).sendEmails(queued.capture());
+        assertEquals(List.of("a@example.com", "c@example.com"), queued.getAllValues().stream()
+                .flatMap(List::stream).map(OutboundEmail::getRecipient).toList());
+        assertEquals("Health Insurance: Spring Promo", queued.getAllValues().get(0).get(0).getSubject());
+        verify(emailUtil, never()).sendEmail(anyString(), anyString(), anyString());
+        ArgumentCaptor<List<CampaignPerformance>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(campaignPerformanceRepository, times(2)).saveAll(chunks.capture());
+        assertEquals(List.of(2, 1), chunks.getAllValues().stream().map(List::size).toList());
+        assertEquals(3, recorded.size());
+        assertFalse(recorded.stream().filter(p -> p.getUserId() == 2L).findFirst().orElseThrow().getDelivered());
+        // Each chunk commits with the job's progress, and the final status is stored too
+        verify(transactionManager, times(2)).commit(any());
+        ArgumentCaptor<CampaignDispatchJob> stored = ArgumentCaptor.forClass(CampaignDispatchJob.class);
+        verify(campaignDispatchJobRepository, timeout(1000).atLeast(4)).save(stored.capture());
+        CampaignDispatchJob last = stored.getValue();
+        assertEquals("COMPLETED", last.getStatus());
+        assertEquals(2, last.getSent());
+        assertEquals(3L, last.getLastRecipientId());
+    }
+
+    @Test
+    public void testStart_FailedChunkIsRecordedAsFailed() throws InterruptedException {
+        CampaignDispatchService.RecipientSource source = CampaignDispatchService.RecipientSource.of(
+                (afterId, limit) -> afterId == 0L
+                        ? List.of(new CampaignRecipientDTO(1L, "a@example.com", null))
+                        : List.of(),
+                () -> 1L);
+        doThrow(new IllegalStateException("outbox unavailable")).when(emailUtil).sendEmails(anyList());
+
+        CampaignDispatchStatusDTO status = awaitFinished(
+                dispatchService.start(campaign, DispatchChannel.EMAIL, source,
+                        new CampaignDispatchService.Message("Spring Promo", "Campaign details here")).getJobId());
+
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(0, status.getSent());
+        assertEquals(1, status.getFailed());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    public void testGetStatus_FallsBackToStoredJob() {
+        CampaignDispatchJob stored = new CampaignDispatchJob("job-1", 1L, "Spring Promo", "EMAIL", "COMPLETED",
+                5, 1, 6L, LocalDateTime.now().minusMinutes(1), LocalDateTime.now());
+        when(campaignDispatchJobRepository.findById("job-1")).thenReturn(Optional.of(stored));
+
+        CampaignDispatchStatusDTO status = dispatchService.getStatus("job-1");
+
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(5, status.getSent());
+        assertEquals(1, status.getFailed());
+    }
+
+    @Test
+    public void testGetStatus_UnknownJob() {
+        assertThrows(ResourceNotFoundException.class, () -> dispatchService.getStatus("missing"));
+    }
+
+    private CampaignDispatchStatusDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        CampaignDispatchStatusDTO status = dispatchService.getStatus(jobId);
+        while ("RUNNING".equals(status.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = dispatchService.getStatus(jobId);
+        }
+        return status;
+    }
+}
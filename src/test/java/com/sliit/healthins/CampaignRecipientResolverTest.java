@@ -0,0 +1,72 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.dto.CampaignRecipientDTO;
+import com.sliit.healthins.exception.ResourceNotFoundException;
+import com.sliit.healthins.model.Role;
+import com.sliit.healthins.repository.CustomerSegmentRepository;
+import com.sliit.healthins.repository.UserRepository;
+import com.sliit.healthins.service.CampaignDispatchService;
+import com.sliit.healthins.service.CampaignRecipientResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class CampaignRecipientResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private CustomerSegmentRepository customerSegmentRepository;
+
+    private CampaignRecipientResolver resolver;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        resolver = new CampaignRecipientResolver(userRepository, customerSegmentRepository);
+    }
+
+    @Test
+    public void testResolveSegment_PagesByIdWithoutPerMemberLookups() {
+        when(customerSegmentRepository.existsById(7L)).thenReturn(true);
+        when(userRepository.findSegmentRecipients(eq(7L), eq(0L), any())).thenReturn(List.of(
+                new CampaignRecipientDTO(1L, "a@example.com", "+941"),
+                new CampaignRecipientDTO(4L, "b@example.com", "+942")));
+        when(userRepository.findSegmentRecipients(eq(7L), eq(4L), any())).thenReturn(List.of(
+                new CampaignRecipientDTO(9L, "c@example.com", null)));
+
+        CampaignDispatchService.RecipientSource source = resolver.segment(7L);
+
+        assertEquals(List.of(1L, 4L), source.next(0L, 2).stream().map(CampaignRecipientDTO::getId).toList());
+        assertEquals(List.of(9L), source.next(4L, 2).stream().map(CampaignRecipientDTO::getId).toList());
+        verify(userRepository, times(2)).findSegmentRecipients(eq(7L), any(), any());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    public void testCount_UsesCountQueries() {
+        when(customerSegmentRepository.existsById(7L)).thenReturn(true);
+        when(userRepository.countSegmentRecipients(7L)).thenReturn(3L);
+        when(userRepository.countByRole(Role.CUSTOMER)).thenReturn(42L);
+
+        assertEquals(3L, resolver.segment(7L).count());
+        assertEquals(42L, resolver.allCustomers().count());
+        verify(userRepository, never()).findSegmentRecipients(any(), any(), any());
+        verify(userRepository, never()).findCampaignRecipients(any(), any(), any());
+    }
+
+    @Test
+    public void testResolveSegment_UnknownSegment() {
+        when(customerSegmentRepository.existsById(8L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> resolver.segment(8L));
+    }
+}
@@ -0,0 +1,145 @@
+package com.sliit.healthins;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sliit.healthins.dto.ClaimImportResultDTO;
+import com.sliit.healthins.dto.ClaimImportRowDTO;
+import com.sliit.healthins.dto.PolicyRefDTO;
+import com.sliit.healthins.model.Claim;
+import com.sliit.healthins.model.Policy;
+import com.sliit.healthins.model.PolicyStatus;
+import com.sliit.healthins.repository.PolicyRepository;
+import com.sliit.healthins.service.ClaimImportService;
+import com.sliit.healthins.service.IdGeneratorService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ClaimImportServiceTest {
+
+    @Mock
+    private PolicyRepository policyRepository;
+    @Mock
+    private IdGeneratorService idGeneratorService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private TransactionStatus transactionStatus;
+    @Mock
+    private EntityManager entityManager;
+
+    private ClaimImportService claimImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AtomicInteger sequence = new AtomicInteger();
+        when(idGeneratorService.nextClaimId()).thenAnswer(invocation -> "CLM-" + sequence.incrementAndGet());
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        when(entityManager.getReference(eq(Policy.class), any())).thenReturn(new Policy());
+        when(policyRepository.findRefsByPolicyNumberIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> numbers = invocation.getArgument(0);
+            return numbers.stream()
+                    .filter(number -> number.startsWith("POL-"))
+                    .map(number -> new PolicyRefDTO((long) number.hashCode(), number, 7L, PolicyStatus.ACTIVE))
+                    .toList();
+        });
+
+        claimImportService = new ClaimImportService(policyRepository, idGeneratorService, transactionManager,
+                new ObjectMapper().findAndRegisterModules(), 100, 2, 2);
+        ReflectionTestUtils.setField(claimImportService, "entityManager", entityManager);
+    }
+
+    @Test
+    void csvImportReportsEveryRowAndBatchesInserts() throws Exception {
+        String csv = """
+                policyNumber,userId,amount,claimDate,notes
+                POL-1,7,100.50,2025-01-10,"Ward, private"
+                POL-2,7,-5,,
+                POL-3,8,20,,
+                NOPE-1,7,10,,
+                POL-1,7,abc,,
+                POL-4,7,75,,
+                """;
+
+        ClaimImportResultDTO result = claimImportService.importCsv(stream(csv));
+
+        assertEquals(6, result.getTotal());
+        assertEquals(2, result.getAccepted());
+        assertEquals(4, result.getRejected());
+        List<ClaimImportRowDTO> rows = result.getRows();
+        assertEquals(List.of(2, 3, 4, 5, 6, 7), rows.stream().map(ClaimImportRowDTO::getLine).toList());
+        assertTrue(rows.get(0).isAccepted());
+        assertEquals("CLM-1", rows.get(0).getClaimId());
+        assertEquals("amount must be positive", rows.get(1).getError());
+        assertEquals("Policy does not belong to the specified user", rows.get(2).getError());
+        assertEquals("Policy not found with number: NOPE-1", rows.get(3).getError());
+        assertTrue(rows.get(4).getError().startsWith("Unreadable row"));
+        assertTrue(rows.get(5).isAccepted());
+
+        // One IN query for all policy numbers, one insert transaction per chunk of two
+        verify(policyRepository, times(1)).findRefsByPolicyNumberIn(anyCollection());
+        verify(entityManager, times(2)).persist(any(Claim.class));
+        verify(transactionManager, times(1)).commit(transactionStatus);
+    }
+
+    @Test
+    void ndjsonImportParsesEachLine() throws Exception {
+        String ndjson = """
+                {"policyNumber":"POL-1","userId":7,"amount":10,"claimDate":"2025-02-01","description":"X-ray"}
+                not json
+                {"policyNumber":"POL-2","userId":7,"amount":20}
+                """;
+
+        ClaimImportResultDTO result = claimImportService.importNdjson(stream(ndjson));
+
+        assertEquals(3, result.getTotal());
+        assertEquals(2, result.getAccepted());
+        assertFalse(result.getRows().get(1).isAccepted());
+        verify(entityManager, times(2)).persist(any(Claim.class));
+    }
+
+    @Test
+    void failedChunkIsReportedWithoutLosingOtherChunks() throws Exception {
+        // The first chunk flushes twice (batch boundary, end of chunk); the second chunk fails
+        doNothing().doNothing().doThrow(new IllegalStateException("duplicate key")).when(entityManager).flush();
+        String csv = "policyNumber,userId,amount\nPOL-1,7,1\nPOL-2,7,2\nPOL-3,7,3\n";
+
+        ClaimImportResultDTO result = claimImportService.importCsv(stream(csv));
+
+        assertEquals(2, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        assertEquals("Insert failed: duplicate key", result.getRows().get(2).getError());
+    }
+
+    @Test
+    void rejectsFilesOverTheRowLimit() {
+        StringBuilder csv = new StringBuilder("policyNumber,userId,amount\n");
+        for (int i = 0; i < 101; i++) {
+            csv.append("POL-1,7,1\n");
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> claimImportService.importCsv(stream(csv.toString())));
+        verifyNoInteractions(policyRepository);
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
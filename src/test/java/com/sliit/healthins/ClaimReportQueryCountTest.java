@@ -0,0 +1,94 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.dto.ClaimReportDTO;
+import com.sliit.healthins.model.*;
+import com.sliit.healthins.repository.ClaimRepository;
+import com.sliit.healthins.search.SearchIndex;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the JDBC statements issued by the claims report data path, comparing the
+ * old entity walk (claims, then policy and customer per row) with the projected query.
+ */
+@DataJpaTest
+@Import(SearchIndex.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:claimreport;MODE=MySQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class ClaimReportQueryCountTest {
+
+    private static final int CLAIMS = 25;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < CLAIMS; i++) {
+            User customer = new User("user" + i, "secret", "Customer " + i, "contact" + i,
+                    "user" + i + "@example.com", "+94" + i, true, Role.CUSTOMER);
+            entityManager.persist(customer);
+            Policy policy = new Policy("POL-" + i, PolicyStatus.ACTIVE, new BigDecimal("1000.00"),
+                    LocalDate.now().minusYears(1), LocalDate.now().plusYears(1), customer, "Basic Health Coverage");
+            entityManager.persist(policy);
+            Claim claim = new Claim();
+            claim.setClaimId("CLM-" + i);
+            claim.setAmount(100.0 + i);
+            claim.setClaimDate(LocalDate.now().minusDays(i % 5));
+            claim.setStatus(i % 2 == 0 ? ClaimStatus.PENDING : ClaimStatus.APPROVED);
+            claim.setPolicy(policy);
+            entityManager.persist(claim);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testEntityWalk_IssuesTwoQueriesPerClaim() {
+        List<Claim> claims = claimRepository.findByClaimDateBetween(LocalDate.now().minusDays(10), LocalDate.now());
+        claims.forEach(claim -> {
+            claim.getPolicy().getPolicyNumber();
+            claim.getPolicy().getCustomer().getName();
+        });
+
+        assertEquals(CLAIMS, claims.size());
+        assertEquals(2L * CLAIMS + 1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testProjectedReportRows_IssueOneQuery() {
+        List<ClaimReportDTO> rows;
+        try (Stream<ClaimReportDTO> stream = claimRepository.streamReportRows(
+                LocalDate.now().minusDays(10), LocalDate.now(), ClaimStatus.PENDING)) {
+            rows = stream.collect(Collectors.toList());
+        }
+
+        assertEquals((CLAIMS + 1) / 2, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.getStatus() == ClaimStatus.PENDING && row.getCustomerName() != null));
+        assertEquals(1L, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,25 +1,39 @@
 package com.sliit.healthins;
 
 import com.sliit.healthins.dto.ClaimDTO;
+import com.sliit.healthins.dto.ClaimReportDTO;
 import com.sliit.healthins.dto.ClaimUpdateDTO;
+import com.sliit.healthins.dto.PageQuery;
+import com.sliit.healthins.dto.SliceDTO;
 import com.sliit.healthins.exception.ResourceNotFoundException;
 import com.sliit.healthins.model.Claim;
 import com.sliit.healthins.model.ClaimStatus;
+import com.sliit.healthins.pattern.factory.DTOMapper;
+import com.sliit.healthins.pattern.factory.DTOMapperImpl;
 import com.sliit.healthins.repository.ClaimRepository;
 import com.sliit.healthins.repository.PolicyRepository;
 import com.sliit.healthins.repository.UserRepository;
 import com.sliit.healthins.service.ClaimsService;
+import com.sliit.healthins.service.DocumentStorageService;
 import com.sliit.healthins.util.EmailSenderUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,6 +50,10 @@ public class ClaimsServiceTest {
     private EmailSenderUtil emailUtil;
     @Mock
     private ModelMapper modelMapper;
+    @Mock
+    private DocumentStorageService documentStorageService;
+    @Spy
+    private DTOMapper dtoMapper = new DTOMapperImpl();
 
     @InjectMocks
     private ClaimsService claimsService;
@@ -117,12 +135,13 @@ public class ClaimsServiceTest {
         claim.setStatus(ClaimStatus.PENDING);
         
         when(claimRepository.findAll()).thenReturn(List.of(claim));
-        when(modelMapper.map(any(), eq(ClaimDTO.class))).thenReturn(new ClaimDTO());
 
         List<ClaimDTO> claims = claimsService.getAllClaims();
 
         assertNotNull(claims);
         assertEquals(1, claims.size());
+        assertEquals("CLM123", claims.getFirst().getClaimId());
+        assertEquals("PENDING", claims.getFirst().getStatus());
         verify(claimRepository, times(1)).findAll();
     }
 
@@ -133,4 +152,78 @@ public class ClaimsServiceTest {
         assertNotNull(report);
         verify(claimRepository, times(1)).findByClaimDateBetween(any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testStreamClaimsReport_WritesPdf() {
+        ClaimReportDTO row = new ClaimReportDTO("CLM-001", "John Doe", "POL-001", 100.0, LocalDate.now(), ClaimStatus.PENDING);
+        when(claimRepository.streamReportRows(any(), any(), eq(ClaimStatus.PENDING))).thenReturn(Stream.of(row));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        claimsService.streamClaimsReport(LocalDate.now().minusDays(1), LocalDate.now(), "PENDING", out);
+
+        assertTrue(out.size() > 0);
+        verify(claimRepository, times(1)).streamReportRows(any(), any(), eq(ClaimStatus.PENDING));
+        verify(claimRepository, never()).findByClaimDateBetween(any(), any());
+    }
+
+    @Test
+    public void testGetClaims_KeysetCursor() {
+        Claim first = new Claim();
+        first.setId(11L);
+        Claim second = new Claim();
+        second.setId(12L);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("id"));
+        when(claimRepository.findByIdGreaterThan(eq(10L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(first, second), pageable, true));
+
+        SliceDTO<ClaimDTO> page = claimsService.getClaims(new PageQuery(10L, 2));
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertEquals(12L, page.getNextCursor());
+        verify(claimRepository, never()).findAll();
+    }
+
+    @Test
+    public void testGetClaims_RejectsUnknownSortColumn() {
+        PageQuery query = new PageQuery();
+        query.setSort("notes");
+
+        assertThrows(IllegalArgumentException.class, () -> claimsService.getClaims(query));
+        verify(claimRepository, never()).findAllBy(any());
+    }
+
+    @Test
+    public void testGetDocument_UsesStoredTypeAndName() {
+        String contentId = "sha256:" + "a".repeat(64);
+        Claim claim = new Claim();
+        claim.setClaimId("CLM123");
+        claim.setDocumentPath(contentId);
+        claim.setDocumentContentType("application/pdf");
+        claim.setDocumentName("scan.pdf");
+        when(claimRepository.findByClaimId("CLM123")).thenReturn(Optional.of(claim));
+        when(documentStorageService.resolve(contentId)).thenReturn(Path.of("/store/aa/aa/" + "a".repeat(64)));
+
+        ClaimsService.ClaimDocument document = claimsService.getDocument("CLM123");
+
+        assertEquals(contentId, document.contentId());
+        assertEquals("application/pdf", document.contentType());
+        assertEquals("scan.pdf", document.filename());
+    }
+
+    @Test
+    public void testGetDocument_FallsBackToLegacyUploadPath() {
+        Claim claim = new Claim();
+        claim.setClaimId("CLM124");
+        claim.setDocumentPath("uploads/xray.png");
+        when(claimRepository.findByClaimId("CLM124")).thenReturn(Optional.of(claim));
+        when(documentStorageService.resolveLegacy("uploads/xray.png")).thenReturn(Path.of("/app/uploads/xray.png"));
+
+        ClaimsService.ClaimDocument document = claimsService.getDocument("CLM124");
+
+        assertNull(document.contentId());
+        assertEquals(Path.of("/app/uploads/xray.png"), document.path());
+        assertEquals("image/png", document.contentType());
+        assertEquals("xray.png", document.filename());
+    }
+}
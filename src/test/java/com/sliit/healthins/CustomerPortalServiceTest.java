@@ -1,11 +1,22 @@
 package com.sliit.healthins;
 
+import com.sliit.healthins.dto.BillingHistoryDTO;
 import com.sliit.healthins.dto.ContactUpdateDTO;
+import com.sliit.healthins.dto.PolicyClaimCountsDTO;
+import com.sliit.healthins.dto.PolicyDetailsDTO;
 import com.sliit.healthins.dto.ProfileDTO;
+import com.sliit.healthins.dto.ProfileSummaryDTO;
 import com.sliit.healthins.model.*;
+import com.sliit.healthins.pattern.factory.DTOMapper;
+import com.sliit.healthins.pattern.factory.DTOMapperImpl;
+import com.sliit.healthins.readmodel.ClaimView;
+import com.sliit.healthins.readmodel.PaymentView;
+import com.sliit.healthins.readmodel.PolicyView;
 import com.sliit.healthins.repository.ClaimRepository;
 import com.sliit.healthins.repository.InquiryRepository;
 import com.sliit.healthins.repository.PaymentRepository;
+import com.sliit.healthins.repository.PolicyRepository;
+import com.sliit.healthins.repository.UserRepository;
 import com.sliit.healthins.service.CustomerPortalService;
 import com.sliit.healthins.util.EmailSenderUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,8 +24,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.modelmapper.ModelMapper;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +41,10 @@ public class CustomerPortalServiceTest {
     @Mock
     private ClaimRepository claimRepository;
     @Mock
+    private PolicyRepository policyRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
     private PaymentRepository paymentRepository;
     @Mock
     private InquiryRepository inquiryRepository;
@@ -34,6 +52,8 @@ public class CustomerPortalServiceTest {
     private EmailSenderUtil emailUtil;
     @Mock
     private ModelMapper modelMapper;
+    @Spy
+    private DTOMapper dtoMapper = new DTOMapperImpl();
 
     @InjectMocks
     private CustomerPortalService customerPortalService;
@@ -76,6 +96,38 @@ public class CustomerPortalServiceTest {
         verify(paymentRepository, times(1)).findByPolicy_Id(123L);
     }
 
+    @Test
+    public void testGetBillingHistory_UsesPaymentDateThenDueDate() {
+        PaymentView paid = new PaymentView(1L, 10L, "POL-1", new BigDecimal("150.00"),
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 4, 28), PaymentStatus.PAID);
+        PaymentView pending = new PaymentView(2L, 10L, "POL-1", new BigDecimal("150.00"),
+                LocalDate.of(2024, 6, 1), null, PaymentStatus.PENDING);
+        when(paymentRepository.findViewsByCustomerId(1L)).thenReturn(List.of(paid, pending));
+
+        List<BillingHistoryDTO> history = customerPortalService.getBillingHistory(1L);
+
+        assertEquals(2, history.size());
+        assertEquals(LocalDate.of(2024, 4, 28), history.get(0).getDate());
+        assertEquals(150.0, history.get(0).getAmount());
+        assertEquals("PAID", history.get(0).getStatus());
+        assertEquals(LocalDate.of(2024, 6, 1), history.get(1).getDate());
+        assertEquals("PREMIUM", history.get(1).getType());
+        verifyNoInteractions(modelMapper);
+    }
+
+    @Test
+    public void testGetClaims_ReturnsReadModelWithoutTouchingEntities() {
+        ClaimView view = new ClaimView(1L, "CLM-1", ClaimStatus.PENDING, 250.0, "N/A", LocalDate.of(2024, 6, 1),
+                "Checkup", null, null, 10L, "POL-1", "Basic Health Coverage", PolicyStatus.ACTIVE);
+        when(claimRepository.findViewsByCustomerId(1L)).thenReturn(List.of(view));
+
+        List<ClaimView> claims = customerPortalService.getClaims(1L);
+
+        assertEquals(1, claims.size());
+        assertEquals("POL-1", claims.getFirst().policy().policyNumber());
+        verify(claimRepository, never()).findByPolicyCustomerId(anyLong());
+    }
+
     @Test
     public void testGetInquiryHistory_Success() {
         Inquiry inquiry = new Inquiry();
@@ -109,14 +161,41 @@ public class CustomerPortalServiceTest {
 
     @Test
     public void testGetProfile_Success() {
-        User user = new User();
-        user.setId(1L);
-        when(modelMapper.map(user, ProfileDTO.class)).thenReturn(new ProfileDTO());
-        // Mock repository logic as needed
+        ProfileSummaryDTO summary = new ProfileSummaryDTO(1L, "John Doe", "john_doe", "john@email.com", "+94", true,
+                null, "Bank of Ceylon", "1001234567", "John Doe", "Colombo", 2L, 5L, 1L);
+        when(userRepository.findProfileSummary(1L)).thenReturn(Optional.of(summary));
 
         ProfileDTO profile = customerPortalService.getProfile(1L);
 
         assertNotNull(profile);
-        verify(modelMapper, times(1)).map(user, ProfileDTO.class);
+        assertEquals("john_doe", profile.getUsername());
+        assertEquals("Bank of Ceylon", profile.getBankName());
+        assertEquals(2, profile.getTotalPolicies());
+        assertEquals(5, profile.getTotalClaims());
+        assertEquals(1, profile.getPendingClaims());
+        verify(userRepository, times(1)).findProfileSummary(1L);
+        verifyNoInteractions(claimRepository);
+    }
+
+    @Test
+    public void testGetPolicies_UsesGroupedClaimCounts() {
+        PolicyView first = new PolicyView(10L, 1L, "POL-10", PolicyStatus.ACTIVE, new BigDecimal("1000.00"),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1), "Basic Health Coverage");
+        PolicyView second = new PolicyView(11L, 1L, "POL-11", PolicyStatus.ACTIVE, new BigDecimal("2000.00"),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1), "Family Health Coverage");
+        when(policyRepository.findViewsByCustomerId(1L)).thenReturn(List.of(first, second));
+        when(claimRepository.countClaimsByPolicyForCustomer(1L))
+                .thenReturn(List.of(new PolicyClaimCountsDTO(10L, 3L, 1L)));
+
+        List<PolicyDetailsDTO> policies = customerPortalService.getPolicies(1L);
+
+        assertEquals(2, policies.size());
+        assertEquals("POL-10", policies.get(0).getPolicyNumber());
+        assertEquals("ACTIVE", policies.get(0).getStatus());
+        assertEquals(3, policies.get(0).getTotalClaims());
+        assertEquals(1, policies.get(0).getPendingClaims());
+        assertEquals(0, policies.get(1).getTotalClaims());
+        verify(claimRepository, times(1)).countClaimsByPolicyForCustomer(1L);
+        verify(claimRepository, never()).countByPolicy_Id(anyLong());
     }
-}
\ No newline at end of file
+}
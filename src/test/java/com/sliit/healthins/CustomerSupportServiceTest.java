@@ -1,10 +1,17 @@
 package com.sliit.healthins;
 
+import com.sliit.healthins.config.UserAccessInvalidator;
 import com.sliit.healthins.dto.*;
 import com.sliit.healthins.exception.ResourceNotFoundException;
 import com.sliit.healthins.model.*;
+import com.sliit.healthins.pattern.factory.DTOMapper;
+import com.sliit.healthins.pattern.factory.DTOMapperImpl;
+import com.sliit.healthins.readmodel.ClaimView;
+import com.sliit.healthins.readmodel.CustomerView;
+import com.sliit.healthins.readmodel.InquiryView;
 import com.sliit.healthins.repository.*;
 import com.sliit.healthins.service.CustomerSupportService;
+import com.sliit.healthins.service.DashboardCounters;
 import com.sliit.healthins.util.EmailSenderUtil;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,6 +21,7 @@ import org.modelmapper.ModelMapper;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.mail.javamail.JavaMailSender;
 
 import java.math.BigDecimal;
@@ -21,6 +29,7 @@ import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -41,6 +50,12 @@ public class CustomerSupportServiceTest {
     private EmailSenderUtil emailSenderUtil;
     @Mock
     private ModelMapper modelMapper;
+    @Mock
+    private DashboardCounters dashboardCounters;
+    @Mock
+    private UserAccessInvalidator userAccessInvalidator;
+    @Spy
+    private DTOMapper dtoMapper = new DTOMapperImpl();
     @Setter
     @Getter
     @Mock
@@ -57,19 +72,6 @@ public class CustomerSupportServiceTest {
     public void setUp() {
         MockitoAnnotations.openMocks(this);
         // Configure ModelMapper mock behavior
-        when(modelMapper.map(any(), eq(CustomerDTO.class))).thenAnswer(invocation -> {
-            User user = invocation.getArgument(0);
-            CustomerDTO dto = new CustomerDTO();
-            dto.setId(user.getId());
-            dto.setName(user.getName());
-            dto.setContact(user.getContact());
-            dto.setEmail(user.getEmail());
-            dto.setStatus("N/A");
-            dto.setPolicyNumber("N/A");
-            dto.setCreatedAt(user.getCreatedAt());
-            dto.setUpdatedAt(user.getUpdatedAt());
-            return dto;
-        });
         when(modelMapper.map(any(), eq(PolicyDetailsDTO.class))).thenReturn(new PolicyDetailsDTO());
         when(modelMapper.map(any(), eq(ClaimUpdateDTO.class))).thenReturn(new ClaimUpdateDTO());
         when(modelMapper.map(any(), eq(InquiryDTO.class))).thenAnswer(invocation -> {
@@ -80,10 +82,10 @@ public class CustomerSupportServiceTest {
 
     @Test
     public void testGetDashboardStats_Success() {
-        when(userRepository.countByRole(Role.POLICYHOLDER)).thenReturn(100L);
-        when(claimRepository.countByStatus(ClaimStatus.PENDING)).thenReturn(50L);
-        when(inquiryRepository.countByStatus(InquiryStatus.RESOLVED)).thenReturn(30L);
-        when(paymentRepository.countByStatus(PaymentStatus.OVERDUE)).thenReturn(20L);
+        when(dashboardCounters.count(Role.POLICYHOLDER)).thenReturn(100L);
+        when(dashboardCounters.count(ClaimStatus.PENDING)).thenReturn(50L);
+        when(dashboardCounters.count(InquiryStatus.RESOLVED)).thenReturn(30L);
+        when(dashboardCounters.count(PaymentStatus.OVERDUE)).thenReturn(20L);
 
         DashboardStatsDTO stats = customerSupportService.getDashboardStats();
 
@@ -92,30 +94,43 @@ public class CustomerSupportServiceTest {
         assertEquals(50L, stats.getPendingClaims());
         assertEquals(30L, stats.getResolvedInquiries());
         assertEquals(20L, stats.getOverduePayments());
-        verify(userRepository, times(1)).countByRole(Role.POLICYHOLDER);
-        verify(claimRepository, times(1)).countByStatus(ClaimStatus.PENDING);
-        verify(inquiryRepository, times(1)).countByStatus(InquiryStatus.RESOLVED);
-        verify(paymentRepository, times(1)).countByStatus(PaymentStatus.OVERDUE);
+        verify(userRepository, never()).countByRole(any());
+        verify(claimRepository, never()).countByStatus(any());
+        verify(inquiryRepository, never()).countByStatus(any());
+        verify(paymentRepository, never()).countByStatus(any());
     }
 
     @Test
     public void testSearchCustomers_Success() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("John Doe");
-        user.setContact("1234567890");
-        user.setEmail("john@example.com");
-        user.setCreatedAt(LocalDate.now().atStartOfDay());
-        user.setUpdatedAt(LocalDate.now().atStartOfDay());
-        when(userRepository.findByNameContainingIgnoreCaseOrContactContainingIgnoreCaseOrEmailContainingIgnoreCase(anyString(), anyString(), anyString()))
-                .thenReturn(Collections.singletonList(user));
+        CustomerView row = new CustomerView(1L, "jdoe", "John Doe", "1234567890", "john@example.com", null, true,
+                Role.POLICYHOLDER, LocalDate.now().atStartOfDay(), LocalDate.now().atStartOfDay(),
+                "POL-001", PolicyStatus.ACTIVE);
+        when(userRepository.searchByRoleIn(anyCollection(), eq("John")))
+                .thenReturn(Collections.singletonList(row));
 
         List<CustomerDTO> customers = customerSupportService.searchCustomers("John");
 
         assertNotNull(customers);
         assertEquals(1, customers.size());
         assertEquals("John Doe", customers.getFirst().getName());
-        verify(userRepository, times(1)).findByNameContainingIgnoreCaseOrContactContainingIgnoreCaseOrEmailContainingIgnoreCase(anyString(), anyString(), anyString());
+        assertEquals("POL-001", customers.getFirst().getPolicyNumber());
+        assertEquals("ACTIVE", customers.getFirst().getStatus());
+        verify(userRepository, times(1)).searchByRoleIn(anyCollection(), eq("John"));
+    }
+
+    @Test
+    public void testGetAllCustomers_FiltersRolesInQuery() {
+        CustomerView row = new CustomerView(2L, "jane", "Jane Doe", null, null, null, true, Role.CUSTOMER,
+                null, null, null, null);
+        when(userRepository.findByRoleIn(Set.of(Role.CUSTOMER, Role.POLICYHOLDER)))
+                .thenReturn(Collections.singletonList(row));
+
+        List<CustomerDTO> customers = customerSupportService.getAllCustomers();
+
+        assertEquals(1, customers.size());
+        assertEquals("N/A", customers.getFirst().getPolicyNumber());
+        assertEquals("N/A", customers.getFirst().getStatus());
+        verify(userRepository, never()).findAll();
     }
 
     @Test
@@ -138,10 +153,30 @@ public class CustomerSupportServiceTest {
 
         assertNotNull(result);
         assertEquals("Jane Doe", result.getName());
+        assertEquals("jane@example.com", user.getEmail());
+        assertEquals(1L, user.getId());
         verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).save(user);
     }
 
+    @Test
+    public void testUpdateCustomer_RenameEvictsAndRevokesTokens() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("jane");
+        user.setRole(Role.CUSTOMER);
+        CustomerDTO dto = new CustomerDTO();
+        dto.setUsername("jane.doe");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        customerSupportService.updateCustomer(1L, dto);
+
+        verify(userAccessInvalidator).evict("jane");
+        verify(userAccessInvalidator).evict("jane.doe");
+        verify(userAccessInvalidator).revokeTokens(1L);
+    }
+
     @Test
     public void testUpdateCustomer_NotFound() {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
@@ -184,15 +219,16 @@ public class CustomerSupportServiceTest {
 
     @Test
     public void testGetClaims_Success() {
-        Claim claim = new Claim();
-        claim.setId(1L);
-        when(claimRepository.findAll()).thenReturn(Collections.singletonList(claim));
+        ClaimView claim = new ClaimView(1L, "CLM-1", ClaimStatus.PENDING, 100.0, null, LocalDate.now(), "Checkup",
+                null, null, 10L, "POL-1", "Basic Health Coverage", PolicyStatus.ACTIVE);
+        when(claimRepository.findAllViews()).thenReturn(Collections.singletonList(claim));
 
         List<ClaimUpdateDTO> claims = customerSupportService.getClaims();
 
         assertNotNull(claims);
         assertEquals(1, claims.size());
-        verify(claimRepository, times(1)).findAll();
+        assertEquals("PENDING", claims.getFirst().getStatus());
+        verify(claimRepository, never()).findAll();
     }
 
     @Test
@@ -217,17 +253,17 @@ public class CustomerSupportServiceTest {
 
     @Test
     public void testGetPendingInquiries_Success() {
-        Inquiry inquiry = new Inquiry();
-        inquiry.setId(1L);
-        inquiry.setStatus(InquiryStatus.OPEN);
-        when(inquiryRepository.findByStatus(InquiryStatus.OPEN)).thenReturn(Collections.singletonList(inquiry));
+        InquiryView inquiry = new InquiryView(1L, 2L, "John Doe", "BILLING", "Billing Issue", "Charged twice",
+                InquiryStatus.OPEN, null, null);
+        when(inquiryRepository.findViewsByStatus(InquiryStatus.OPEN)).thenReturn(Collections.singletonList(inquiry));
 
         List<InquiryDTO> pendingInquiries = customerSupportService.getPendingInquiries();
 
         assertNotNull(pendingInquiries);
         assertEquals(1, pendingInquiries.size());
         assertEquals("OPEN", pendingInquiries.getFirst().getStatus());
-        verify(inquiryRepository, times(1)).findByStatus(InquiryStatus.OPEN);
+        assertEquals("John Doe", pendingInquiries.getFirst().getCustomerName());
+        verify(inquiryRepository, times(1)).findViewsByStatus(InquiryStatus.OPEN);
     }
 
     @Test
@@ -0,0 +1,178 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.config.ApplicationConfig;
+import com.sliit.healthins.dto.ClaimDTO;
+import com.sliit.healthins.dto.CustomerDTO;
+import com.sliit.healthins.dto.InquiryDTO;
+import com.sliit.healthins.dto.PaymentDTO;
+import com.sliit.healthins.dto.PaymentReminderDTO;
+import com.sliit.healthins.model.*;
+import com.sliit.healthins.pattern.factory.DTOMapper;
+import com.sliit.healthins.pattern.factory.DTOMapperImpl;
+import com.sliit.healthins.pattern.factory.impl.GeneratedDTOFactory;
+import com.sliit.healthins.pattern.factory.impl.StandardDTOFactory;
+import com.sliit.healthins.readmodel.CustomerView;
+import com.sliit.healthins.readmodel.PaymentView;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DTOMapperTest {
+
+    private final DTOMapper dtoMapper = new DTOMapperImpl();
+
+    private User customer() {
+        User user = new User("jdoe", "secret", "John Doe", "0771234567", "john@example.com", "+94771234567",
+                true, Role.POLICYHOLDER);
+        user.setId(7L);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 9, 0));
+        return user;
+    }
+
+    private Policy policy(User user) {
+        Policy policy = new Policy("POL-1", PolicyStatus.ACTIVE, new BigDecimal("15000.00"),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1), user, "Comprehensive Health Coverage");
+        policy.setId(3L);
+        return policy;
+    }
+
+    @Test
+    public void testToClaimDTO_FlattensPolicyAndCustomer() {
+        Claim claim = new Claim();
+        claim.setId(1L);
+        claim.setClaimId("CLM-1");
+        claim.setStatus(ClaimStatus.APPROVED);
+        claim.setAmount(1250.0);
+        claim.setClaimDate(LocalDate.of(2024, 6, 1));
+        claim.setNotes("Hospitalisation");
+        claim.setPolicy(policy(customer()));
+
+        ClaimDTO dto = dtoMapper.toClaimDTO(claim);
+
+        assertEquals("CLM-1", dto.getClaimId());
+        assertEquals("APPROVED", dto.getStatus());
+        assertEquals(1250.0, dto.getAmount());
+        assertEquals("POL-1", dto.getPolicyNumber());
+        assertEquals("Comprehensive Health Coverage", dto.getPolicyType());
+        assertEquals(7L, dto.getUserId());
+        assertEquals("John Doe", dto.getUserName());
+        assertEquals("Hospitalisation", dto.getDescription());
+    }
+
+    @Test
+    public void testToClaimDTO_WithoutPolicy() {
+        Claim claim = new Claim();
+        claim.setClaimId("CLM-2");
+
+        ClaimDTO dto = dtoMapper.toClaimDTO(claim);
+
+        assertEquals("PENDING", dto.getStatus());
+        assertNull(dto.getPolicyNumber());
+        assertNull(dto.getUserId());
+    }
+
+    @Test
+    public void testToPaymentDTO_ConvertsAmountStatusAndDate() {
+        PaymentView payment = new PaymentView(5L, 3L, "POL-1", new BigDecimal("99.50"), LocalDate.of(2024, 3, 1),
+                LocalDate.of(2024, 3, 15), PaymentStatus.PAID);
+
+        PaymentDTO dto = dtoMapper.toPaymentDTO(payment);
+
+        assertEquals(5L, dto.getId());
+        assertEquals(99.5, dto.getAmount());
+        assertEquals("PAID", dto.getStatus());
+        assertEquals("2024-03-15", dto.getPaymentDate());
+        assertNull(dto.getCardNumber());
+    }
+
+    @Test
+    public void testToCustomerDTO_LeavesPoliciesUntouched() {
+        User user = customer();
+        user.setPolicies(null);
+
+        CustomerDTO dto = dtoMapper.toCustomerDTO(user);
+
+        assertEquals("jdoe", dto.getUsername());
+        assertEquals("POLICYHOLDER", dto.getRole());
+        assertTrue(dto.isActive());
+        assertEquals(user.getCreatedAt(), dto.getCreatedAt());
+        assertNull(dto.getPolicyNumber());
+    }
+
+    @Test
+    public void testToCustomerDTO_FromReadModelDefaultsMissingPolicy() {
+        CustomerView view = new CustomerView(7L, "jdoe", "John Doe", "0771234567", "john@example.com", null, false,
+                Role.CUSTOMER, null, null, null, null);
+
+        CustomerDTO dto = dtoMapper.toCustomerDTO(view);
+
+        assertEquals("John Doe", dto.getName());
+        assertEquals("CUSTOMER", dto.getRole());
+        assertFalse(dto.isActive());
+        assertEquals("N/A", dto.getPolicyNumber());
+        assertEquals("N/A", dto.getStatus());
+    }
+
+    @Test
+    public void testUpdateUser_SkipsNullsAndIdentity() {
+        User user = customer();
+        CustomerDTO changes = new CustomerDTO();
+        changes.setId(99L);
+        changes.setEmail("new@example.com");
+        changes.setRole("CUSTOMER");
+        changes.setIsActive(true);
+
+        dtoMapper.updateUser(changes, user);
+
+        assertEquals(7L, user.getId());
+        assertEquals("new@example.com", user.getEmail());
+        assertEquals("John Doe", user.getName());
+        assertEquals(Role.CUSTOMER, user.getRole());
+        assertTrue(user.isActive());
+    }
+
+    @Test
+    public void testInquiryAndReminder_Defaults() {
+        Inquiry inquiry = new Inquiry();
+        inquiry.setId(4L);
+        inquiry.setTitle("Billing Issue");
+        inquiry.setStatus(InquiryStatus.OPEN);
+        Payment payment = new Payment();
+        payment.setId(6L);
+
+        InquiryDTO inquiryDTO = dtoMapper.toInquiryDTO(inquiry);
+        PaymentReminderDTO reminderDTO = dtoMapper.toPaymentReminderDTO(payment);
+
+        assertEquals("Unknown", inquiryDTO.getCustomerName());
+        assertEquals("Billing Issue", inquiryDTO.getResponse());
+        assertEquals("OPEN", inquiryDTO.getStatus());
+        assertEquals(6L, reminderDTO.getPaymentId());
+        assertEquals("N/A", reminderDTO.getPolicyNumber());
+        assertEquals("N/A", reminderDTO.getStatus());
+    }
+
+    @Test
+    public void testGeneratedFactory_MatchesStandardFactory() {
+        User user = customer();
+        user.setPolicies(List.of(policy(user)));
+
+        CustomerDTO generated = new GeneratedDTOFactory(dtoMapper).createCustomerDTO(user);
+        CustomerDTO standard = new StandardDTOFactory(new ApplicationConfig().modelMapper()).createCustomerDTO(user);
+
+        assertEquals(standard.getId(), generated.getId());
+        assertEquals(standard.getUsername(), generated.getUsername());
+        assertEquals(standard.getEmail(), generated.getEmail());
+        assertEquals(standard.getRole(), generated.getRole());
+        assertEquals(standard.isActive(), generated.isActive());
+        assertEquals(standard.getCreatedAt(), generated.getCreatedAt());
+        assertEquals(standard.getPolicyNumber(), generated.getPolicyNumber());
+        assertEquals(standard.getStatus(), generated.getStatus());
+        assertEquals("POL-1", generated.getPolicyNumber());
+    }
+}
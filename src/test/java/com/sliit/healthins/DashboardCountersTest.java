@@ -0,0 +1,127 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.model.*;
+import com.sliit.healthins.service.DashboardCounters;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.tuple.entity.EntityMetamodel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DashboardCountersTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private TypedQuery<Long> countQuery;
+    @Mock
+    private TypedQuery<Object[]> groupQuery;
+    @Mock
+    private TypedQuery<Object[]> claimGroupQuery;
+    @Mock
+    private EntityPersister claimPersister;
+    @Mock
+    private EntityMetamodel claimMetamodel;
+
+    private DashboardCounters counters;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        counters = new DashboardCounters(entityManagerFactory);
+        ReflectionTestUtils.setField(counters, "entityManager", entityManager);
+
+        when(entityManager.createQuery(anyString(), eq(Long.class))).thenReturn(countQuery);
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenReturn(groupQuery);
+        when(countQuery.getSingleResult()).thenReturn(3L);
+        when(groupQuery.getResultList()).thenReturn(List.of());
+        when(entityManager.createQuery(eq("SELECT e.status, COUNT(e) FROM Claim e GROUP BY e.status"), eq(Object[].class)))
+                .thenReturn(claimGroupQuery);
+        when(claimGroupQuery.getResultList()).thenReturn(List.of(
+                new Object[]{ClaimStatus.PENDING, 2L},
+                new Object[]{ClaimStatus.APPROVED, 1L}));
+
+        when(claimPersister.getEntityMetamodel()).thenReturn(claimMetamodel);
+        when(claimMetamodel.getPropertyIndex("status")).thenReturn(0);
+    }
+
+    @Test
+    public void testFirstRead_ReconcilesFromDatabase() {
+        assertEquals(3L, counters.total(Claim.class));
+        assertEquals(2L, counters.count(ClaimStatus.PENDING));
+        assertEquals(1L, counters.count(ClaimStatus.APPROVED));
+        assertEquals(0L, counters.count(ClaimStatus.REJECTED));
+        assertEquals(0L, counters.count(InquiryStatus.RESOLVED));
+
+        counters.count(ClaimStatus.PENDING);
+        verify(countQuery, times(10)).getSingleResult();
+    }
+
+    @Test
+    public void testCommittedEvents_AdjustCountsIncrementally() {
+        counters.reconcile();
+        Claim claim = new Claim();
+
+        PostInsertEvent insert = mock(PostInsertEvent.class);
+        when(insert.getEntity()).thenReturn(claim);
+        when(insert.getPersister()).thenReturn(claimPersister);
+        when(insert.getState()).thenReturn(new Object[]{ClaimStatus.PENDING});
+        counters.onPostInsert(insert);
+
+        PostUpdateEvent update = mock(PostUpdateEvent.class);
+        when(update.getEntity()).thenReturn(claim);
+        when(update.getPersister()).thenReturn(claimPersister);
+        when(update.getOldState()).thenReturn(new Object[]{ClaimStatus.PENDING});
+        when(update.getState()).thenReturn(new Object[]{ClaimStatus.APPROVED});
+        counters.onPostUpdate(update);
+
+        PostDeleteEvent delete = mock(PostDeleteEvent.class);
+        when(delete.getEntity()).thenReturn(claim);
+        when(delete.getPersister()).thenReturn(claimPersister);
+        when(delete.getDeletedState()).thenReturn(new Object[]{ClaimStatus.APPROVED});
+        counters.onPostDelete(delete);
+
+        assertEquals(3L, counters.total(Claim.class));
+        assertEquals(2L, counters.count(ClaimStatus.PENDING));
+        assertEquals(1L, counters.count(ClaimStatus.APPROVED));
+        verify(countQuery, times(10)).getSingleResult();
+    }
+
+    @Test
+    public void testReconcile_KeepsEventsCommittedWhileCounting() {
+        counters.reconcile();
+        Claim claim = new Claim();
+        PostInsertEvent insert = mock(PostInsertEvent.class);
+        when(insert.getEntity()).thenReturn(claim);
+        when(insert.getPersister()).thenReturn(claimPersister);
+        when(insert.getState()).thenReturn(new Object[]{ClaimStatus.PENDING});
+
+        // A claim committed after the GROUP BY read but before the reconcile writes its result
+        when(claimGroupQuery.getResultList()).thenAnswer(read -> {
+            counters.onPostInsert(insert);
+            return List.<Object[]>of(new Object[]{ClaimStatus.PENDING, 2L}, new Object[]{ClaimStatus.APPROVED, 1L});
+        });
+        counters.reconcile();
+
+        assertEquals(4L, counters.total(Claim.class));
+        assertEquals(3L, counters.count(ClaimStatus.PENDING));
+        assertEquals(1L, counters.count(ClaimStatus.APPROVED));
+    }
+}
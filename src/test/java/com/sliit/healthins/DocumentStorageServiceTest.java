@@ -0,0 +1,96 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.exception.ResourceNotFoundException;
+import com.sliit.healthins.service.DocumentStorageService;
+import com.sliit.healthins.service.DocumentStorageService.StoredDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DocumentStorageServiceTest {
+
+    @TempDir
+    Path root;
+
+    private DocumentStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new DocumentStorageService(root.resolve("documents").toString(), root.resolve("legacy").toString());
+    }
+
+    @Test
+    void storesByHashInShardedDirectories() throws Exception {
+        StoredDocument stored = storage.store(stream("hello".getBytes(StandardCharsets.UTF_8)));
+
+        // SHA-256 of "hello"
+        String hash = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+        assertEquals("sha256:" + hash, stored.contentId());
+        assertEquals(5, stored.size());
+        assertFalse(stored.duplicate());
+        assertTrue(Files.isRegularFile(root.resolve("documents").resolve("2c").resolve("f2").resolve(hash)));
+    }
+
+    @Test
+    void identicalUploadsAreStoredOnce() throws Exception {
+        byte[] scan = new byte[300 * 1024];
+        new Random(42).nextBytes(scan);
+
+        StoredDocument first = storage.store(stream(scan));
+        StoredDocument second = storage.store(stream(scan));
+
+        assertEquals(first.contentId(), second.contentId());
+        assertTrue(second.duplicate());
+        try (Stream<Path> files = Files.walk(root.resolve("documents"))) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void transferToCopiesTheStoredBytes() throws Exception {
+        byte[] scan = new byte[200 * 1024 + 17];
+        new Random(7).nextBytes(scan);
+        String contentId = storage.store(stream(scan)).contentId();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        storage.transferTo(contentId, Channels.newChannel(out));
+
+        assertArrayEquals(scan, out.toByteArray());
+        assertEquals(scan.length, storage.size(contentId));
+    }
+
+    @Test
+    void rejectsMalformedOrUnknownContentIds() {
+        assertThrows(ResourceNotFoundException.class, () -> storage.resolve("uploads/claim.pdf"));
+        assertThrows(ResourceNotFoundException.class, () -> storage.resolve("sha256:../../etc/passwd"));
+        assertThrows(ResourceNotFoundException.class, () -> storage.resolve("sha256:" + "0".repeat(64)));
+    }
+
+    @Test
+    void resolvesLegacyUploadsOnlyInsideTheLegacyDirectory() throws Exception {
+        Path legacyRoot = Files.createDirectories(root.resolve("legacy"));
+        Path legacy = Files.writeString(legacyRoot.resolve("claim1.pdf"), "scan");
+        Files.writeString(root.resolve("outside.pdf"), "secret");
+
+        assertEquals(legacy, storage.resolveLegacy(legacy.toString()));
+        assertThrows(ResourceNotFoundException.class, () -> storage.resolveLegacy(legacyRoot.resolve("../outside.pdf").toString()));
+        assertThrows(ResourceNotFoundException.class, () -> storage.resolveLegacy(legacyRoot.resolve("missing.pdf").toString()));
+        assertThrows(ResourceNotFoundException.class, () -> storage.resolveLegacy("N/A"));
+        assertThrows(ResourceNotFoundException.class, () -> storage.resolveLegacy(null));
+    }
+
+    private static ByteArrayInputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+}
@@ -0,0 +1,72 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.model.OutboundEmail;
+import com.sliit.healthins.service.EmailOutboxService;
+import com.sliit.healthins.util.EmailOutboxDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxService outboxService;
+    @Mock
+    private JavaMailSender mailSender;
+
+    private final CountDownLatch smtpStalled = new CountDownLatch(1);
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // One worker, chunks of 2: at most 3 chunks (1 sending, 2 queued) are in flight
+        dispatcher = new EmailOutboxDispatcher(outboxService, mailSender, new SimpleMeterRegistry(), 1, 100, 2);
+        when(outboxService.recordResults(anyCollection(), anyMap()))
+                .thenReturn(new EmailOutboxService.DeliveryCounts(2, 0, 0));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        smtpStalled.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void testDispatch_HandsOffWithoutWaitingForSmtp() throws Exception {
+        doAnswer(invocation -> smtpStalled.await(10, TimeUnit.SECONDS))
+                .when(mailSender).send(any(SimpleMailMessage[].class));
+        when(outboxService.claimDue(6)).thenReturn(emails(6));
+
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        // The second poll finds no free slot and claims nothing while SMTP is stalled
+        verify(outboxService, times(1)).claimDue(anyInt());
+        verify(outboxService, times(2)).countByStatus(any());
+
+        smtpStalled.countDown();
+        verify(outboxService, timeout(5000).times(3)).recordResults(anyCollection(), anyMap());
+    }
+
+    private List<OutboundEmail> emails(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> {
+            OutboundEmail email = new OutboundEmail("john@example.com", "Subject", "Body");
+            email.setId(id);
+            return email;
+        }).toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.model.OutboundEmail;
+import com.sliit.healthins.model.OutboundEmailStatus;
+import com.sliit.healthins.repository.OutboundEmailRepository;
+import com.sliit.healthins.service.EmailOutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class EmailOutboxServiceTest {
+
+    @Mock
+    private OutboundEmailRepository outboundEmailRepository;
+
+    private EmailOutboxService outboxService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxService = new EmailOutboxService(outboundEmailRepository, 3, 300, 30, 3600);
+    }
+
+    @Test
+    public void testClaimDue_LeasesAndCountsAttempt() {
+        OutboundEmail email = email(1L, 0);
+        when(outboundEmailRepository.findDueForUpdate(any(), any())).thenReturn(List.of(email));
+
+        List<OutboundEmail> claimed = outboxService.claimDue(10);
+
+        assertEquals(1, claimed.size());
+        assertEquals(OutboundEmailStatus.SENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(290)));
+    }
+
+    @Test
+    public void testRecordResults_RetriesWithBackoffThenDeadLetters() {
+        OutboundEmail sent = email(1L, 1);
+        OutboundEmail retry = email(2L, 2);
+        OutboundEmail dead = email(3L, 3);
+        when(outboundEmailRepository.findAllById(Set.of(1L))).thenReturn(List.of(sent));
+        when(outboundEmailRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(retry, dead));
+
+        EmailOutboxService.DeliveryCounts counts = outboxService.recordResults(
+                Set.of(1L), Map.of(2L, "421 try later", 3L, "550 no such user"));
+
+        assertEquals(new EmailOutboxService.DeliveryCounts(1, 1, 1), counts);
+        assertEquals(OutboundEmailStatus.SENT, sent.getStatus());
+        assertNotNull(sent.getSentAt());
+        assertEquals(OutboundEmailStatus.PENDING, retry.getStatus());
+        assertTrue(retry.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(50)));
+        assertEquals(OutboundEmailStatus.DEAD, dead.getStatus());
+        assertEquals("550 no such user", dead.getLastError());
+    }
+
+    private OutboundEmail email(Long id, int attempts) {
+        OutboundEmail email = new OutboundEmail("john@example.com", "Subject", "Body");
+        email.setId(id);
+        email.setAttempts(attempts);
+        email.setStatus(OutboundEmailStatus.SENDING);
+        return email;
+    }
+}
@@ -1,7 +1,9 @@
 package com.sliit.healthins;
 
+import com.sliit.healthins.config.UserAccessInvalidator;
 import com.sliit.healthins.dto.EmployeeDTO;
 import com.sliit.healthins.model.Employee;
+import com.sliit.healthins.model.User;
 import com.sliit.healthins.repository.EmployeeRepository;
 import com.sliit.healthins.repository.PayrollRepository;
 import com.sliit.healthins.repository.PerformanceReviewRepository;
@@ -34,6 +36,8 @@ public class HrServiceTest {
     private PasswordEncoder passwordEncoder;
     @Mock
     private PdfGeneratorUtil pdfGeneratorUtil;
+    @Mock
+    private UserAccessInvalidator userAccessInvalidator;
 
     @InjectMocks
     private HrService hrService;
@@ -43,6 +47,20 @@ public class HrServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @Test
+    public void testDeleteCustomer_RevokesIssuedTokens() {
+        User user = new User();
+        user.setId(5L);
+        user.setUsername("customer");
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+
+        hrService.deleteCustomer(5L);
+
+        verify(userRepository).delete(user);
+        verify(userAccessInvalidator).evict("customer");
+        verify(userAccessInvalidator).revokeTokens(5L);
+    }
+
     @Test
     public void testAddEmployee_Success() {
         Employee employee = new Employee();
@@ -0,0 +1,147 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.model.IdGeneratorNode;
+import com.sliit.healthins.repository.IdGeneratorNodeRepository;
+import com.sliit.healthins.service.IdGeneratorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class IdGeneratorServiceTest {
+
+    private static final long NOW = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+
+    @Mock
+    private IdGeneratorNodeRepository nodeRepository;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void idsAreUniqueAndSortableWhenTheClockStandsStillOrGoesBack() {
+        IdGeneratorService generator = new IdGeneratorService(nodeRepository, 7, 300, clock::get);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            if (i == 5000) {
+                clock.set(NOW - 60000);
+            }
+            ids.add(generator.nextClaimId());
+        }
+
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertEquals(ids, sorted);
+        assertTrue(ids.stream().allMatch(id -> id.matches("CLM-[0-9A-HJKMNP-TV-Z]{13}")));
+        verifyNoInteractions(nodeRepository);
+    }
+
+    @Test
+    void nodeIdIsEmbeddedInEveryId() {
+        IdGeneratorService generator = new IdGeneratorService(nodeRepository, 1023, 300, clock::get);
+
+        long id = generator.nextId();
+
+        assertEquals(1023, (id >>> 12) & 1023);
+        assertEquals(NOW - Instant.parse("2024-01-01T00:00:00Z").toEpochMilli(), id >>> 22);
+        assertTrue(generator.nextPolicyNumber().startsWith("POL-"));
+    }
+
+    @Test
+    void concurrentCallersNeverReceiveTheSameId() throws InterruptedException {
+        IdGeneratorService generator = new IdGeneratorService(nodeRepository, 1, 300, clock::get);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(40000, ids.size());
+    }
+
+    @Test
+    void leasesFirstFreeNodeIdWhenNoneIsConfigured() {
+        IdGeneratorNode taken = new IdGeneratorNode();
+        taken.setNodeId(0);
+        when(nodeRepository.findAll()).thenReturn(List.of(taken));
+        when(nodeRepository.takeOver(eq(0), anyString(), any(), any())).thenReturn(0);
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(nodeRepository).insertLease(eq(1), anyString(), any());
+
+        IdGeneratorService generator = new IdGeneratorService(nodeRepository, -1, 300, clock::get);
+
+        assertEquals(2, generator.getNodeId());
+        verify(nodeRepository).insertLease(eq(2), anyString(), any());
+    }
+
+    @Test
+    void lostLeaseMovesToAnotherNodeId() {
+        when(nodeRepository.findAll()).thenReturn(List.of());
+        IdGeneratorService generator = new IdGeneratorService(nodeRepository, -1, 300, clock::get);
+        assertEquals(0, generator.getNodeId());
+
+        when(nodeRepository.renew(eq(0), anyString(), any())).thenReturn(0);
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(nodeRepository).insertLease(eq(0), anyString(), any());
+        generator.renewLease();
+
+        assertEquals(1, generator.getNodeId());
+    }
+
+    @Test
+    void stopsIssuingIdsOnceTheLeaseExpiresUnrenewed() {
+        when(nodeRepository.findAll()).thenReturn(List.of());
+        IdGeneratorService generator = new IdGeneratorService(nodeRepository, -1, 300, clock::get);
+        generator.nextClaimId();
+
+        clock.addAndGet(300_000);
+        assertThrows(IllegalStateException.class, generator::nextClaimId);
+
+        when(nodeRepository.renew(eq(0), anyString(), any())).thenReturn(1);
+        generator.renewLease();
+
+        assertEquals(0, generator.getNodeId());
+        assertTrue(generator.nextClaimId().startsWith("CLM-"));
+        clock.addAndGet(299_999);
+        assertTrue(generator.nextClaimId().startsWith("CLM-"));
+    }
+
+    @Test
+    void encodingIsFixedWidthAndOrderPreserving() {
+        assertEquals("0000000000000", IdGeneratorService.encode(0));
+        assertEquals("0000000000010", IdGeneratorService.encode(32));
+        assertTrue(IdGeneratorService.encode(31).compareTo(IdGeneratorService.encode(32)) < 0);
+        assertEquals(13, IdGeneratorService.encode(Long.MAX_VALUE).length());
+    }
+}
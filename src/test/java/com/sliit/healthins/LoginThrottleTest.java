@@ -0,0 +1,105 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.config.LoginThrottle;
+import com.sliit.healthins.config.SystemConfigChangedEvent;
+import com.sliit.healthins.config.SystemConfigSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginThrottleTest {
+
+    private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    public void setUp() {
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+        throttle = new LoginThrottle(new SimpleMeterRegistry(), 3, 5, Duration.ofMinutes(15), clock);
+    }
+
+    @Test
+    public void testBlocksUsernameAfterMaxFailuresUntilWindowEnds() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(throttle.blockedFor("John", "10.0.0.1").isEmpty());
+            throttle.recordFailure("john", "10.0.0." + i);
+        }
+
+        assertEquals(Duration.ofMinutes(15), throttle.blockedFor("JOHN", "10.0.0.9").orElseThrow());
+        assertTrue(throttle.blockedFor("jane", "10.0.0.9").isEmpty());
+
+        now = now.plus(Duration.ofMinutes(15));
+        assertTrue(throttle.blockedFor("john", "10.0.0.9").isEmpty());
+    }
+
+    @Test
+    public void testSuccessClearsUsernameButNotIp() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure(i % 2 == 0 ? "john" : "user" + i, "10.0.0.1");
+        }
+        throttle.recordSuccess("john");
+
+        assertTrue(throttle.blockedFor("john", "10.0.0.2").isEmpty());
+        assertTrue(throttle.blockedFor("john", "10.0.0.1").isPresent());
+    }
+
+    @Test
+    public void testPerIpLimitOfZeroCountsUsernamesOnly() {
+        LoginThrottle usernameOnly = new LoginThrottle(new SimpleMeterRegistry(), 3, 0, Duration.ofMinutes(15), Clock.systemUTC());
+        for (int i = 0; i < 20; i++) {
+            usernameOnly.recordFailure("user" + i, "10.0.0.1");
+        }
+
+        assertTrue(usernameOnly.blockedFor("someone", "10.0.0.1").isEmpty());
+    }
+
+    @Test
+    public void testConfigChange_AppliesMaxAttemptsImmediately() {
+        throttle.recordFailure("john", null);
+
+        throttle.onConfigChanged(changed(LoginThrottle.MAX_ATTEMPTS_CONFIG, "1"));
+
+        assertEquals(1, throttle.getMaxAttempts());
+        assertTrue(throttle.blockedFor("john", null).isPresent());
+    }
+
+    @Test
+    public void testConfigChange_IgnoresInvalidLimitAndFallsBackWhenRemoved() {
+        throttle.onConfigChanged(changed(LoginThrottle.MAX_ATTEMPTS_CONFIG, "10"));
+        throttle.onConfigChanged(changed(LoginThrottle.MAX_ATTEMPTS_CONFIG, "0"));
+        assertEquals(10, throttle.getMaxAttempts());
+
+        throttle.onConfigChanged(new SystemConfigChangedEvent(SystemConfigSnapshot.EMPTY,
+                Set.of(LoginThrottle.MAX_ATTEMPTS_CONFIG)));
+        assertEquals(3, throttle.getMaxAttempts());
+    }
+
+    private static SystemConfigChangedEvent changed(String key, String value) {
+        return new SystemConfigChangedEvent(new SystemConfigSnapshot(Map.of(key, value)), Set.of(key));
+    }
+}
@@ -0,0 +1,94 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.model.PolicyInfo;
+import com.sliit.healthins.repository.PolicyInfoRepository;
+import com.sliit.healthins.service.PolicyCatalogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PolicyCatalogServiceTest {
+
+    @Mock
+    private PolicyInfoRepository policyInfoRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PolicyCatalogService catalog;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        catalog = new PolicyCatalogService(policyInfoRepository, meterRegistry);
+    }
+
+    @Test
+    public void testReads_LoadCatalogOnceAndCountHits() {
+        when(policyInfoRepository.findAll()).thenReturn(List.of(info(1L, "Basic", "100.00"), info(2L, "Premium", "250.00")));
+
+        assertEquals(2, catalog.getAll().size());
+        assertEquals("Premium", catalog.findById(2L).orElseThrow().getCoverageType());
+        assertEquals(1L, catalog.findByCoverageType("Basic").orElseThrow().getId());
+        assertTrue(catalog.findById(99L).isEmpty());
+
+        verify(policyInfoRepository, times(1)).findAll();
+        assertEquals(1.0, meterRegistry.get("policy.catalog.cache").tag("result", "miss").counter().count());
+        assertEquals(3.0, meterRegistry.get("policy.catalog.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    public void testInvalidate_ReloadsAndChangesETag() {
+        when(policyInfoRepository.findAll())
+                .thenReturn(List.of(info(1L, "Basic", "100.00")))
+                .thenReturn(List.of(info(1L, "Basic", "120.00")));
+
+        String before = catalog.getETag();
+        assertEquals(before, catalog.getETag());
+        assertTrue(before.startsWith("\"") && before.endsWith("\""));
+
+        catalog.invalidate();
+
+        assertNotEquals(before, catalog.getETag());
+        assertEquals(new BigDecimal("120.00"), catalog.findById(1L).orElseThrow().getPrice());
+        verify(policyInfoRepository, times(2)).findAll();
+    }
+
+    @Test
+    public void testCheckForChanges_ReloadsOnlyWhenTheTableChanged() {
+        when(policyInfoRepository.findAll()).thenReturn(List.of(info(1L, "Basic", "100.00")));
+        catalog.getAll();
+        PolicyInfoRepository.CatalogVersion unchanged = version(1, null);
+        PolicyInfoRepository.CatalogVersion rowAdded = version(2, LocalDateTime.now());
+        when(policyInfoRepository.findCatalogVersion()).thenReturn(unchanged).thenReturn(rowAdded);
+
+        catalog.checkForChanges();
+        catalog.getAll();
+        verify(policyInfoRepository, times(1)).findAll();
+
+        catalog.checkForChanges();
+        catalog.getAll();
+        verify(policyInfoRepository, times(2)).findAll();
+    }
+
+    private PolicyInfoRepository.CatalogVersion version(long rows, LocalDateTime lastChanged) {
+        PolicyInfoRepository.CatalogVersion version = mock(PolicyInfoRepository.CatalogVersion.class);
+        when(version.getRowCount()).thenReturn(rows);
+        when(version.getLastChanged()).thenReturn(lastChanged);
+        return version;
+    }
+
+    private PolicyInfo info(Long id, String coverageType, String price) {
+        PolicyInfo info = new PolicyInfo(coverageType, coverageType + " cover", "Benefits", "1000000", new BigDecimal(price));
+        info.setId(id);
+        return info;
+    }
+}
@@ -0,0 +1,155 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.dto.SearchResultDTO;
+import com.sliit.healthins.dto.SliceDTO;
+import com.sliit.healthins.exception.ValidationException;
+import com.sliit.healthins.model.Claim;
+import com.sliit.healthins.model.ClaimStatus;
+import com.sliit.healthins.model.Inquiry;
+import com.sliit.healthins.model.InquiryStatus;
+import com.sliit.healthins.model.Role;
+import com.sliit.healthins.model.User;
+import com.sliit.healthins.repository.ClaimRepository;
+import com.sliit.healthins.repository.InquiryRepository;
+import com.sliit.healthins.repository.UserRepository;
+import com.sliit.healthins.search.SearchDocuments;
+import com.sliit.healthins.search.SearchIndex;
+import com.sliit.healthins.search.SearchType;
+import com.sliit.healthins.service.SearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ClaimRepository claimRepository;
+    @Mock
+    private InquiryRepository inquiryRepository;
+
+    private SearchIndex searchIndex;
+    private SearchService searchService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        searchIndex = new SearchIndex();
+        searchService = new SearchService(searchIndex, userRepository, claimRepository, inquiryRepository);
+
+        searchIndex.index(SearchDocuments.of(customer(1L, "John Doe", "john@example.com")));
+        searchIndex.index(SearchDocuments.of(customer(2L, "Johnny Silva", "silva@example.com")));
+        searchIndex.index(SearchDocuments.of(customer(3L, "Mary Perera", "mary.johnson@example.com")));
+        Claim claim = new Claim();
+        claim.setId(10L);
+        claim.setClaimId("CLM-1001");
+        claim.setStatus(ClaimStatus.PENDING);
+        claim.setNotes("Hospital stay for John");
+        searchIndex.index(SearchDocuments.of(claim));
+    }
+
+    @Test
+    public void testSearch_RanksExactNameMatchFirst() {
+        SliceDTO<SearchResultDTO> result = searchService.search("john", null, null, null);
+
+        assertEquals(4, result.getContent().size());
+        assertEquals(1L, result.getContent().getFirst().getId());
+        assertEquals("CUSTOMER", result.getContent().getFirst().getType());
+    }
+
+    @Test
+    public void testSearch_PrefixAndTypeFilter() {
+        SliceDTO<SearchResultDTO> result = searchService.search("clm-10", Set.of(SearchType.CLAIM), null, null);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals("CLM-1001", result.getContent().getFirst().getTitle());
+    }
+
+    @Test
+    public void testSearch_PaginatesAndReflectsUpdates() {
+        SliceDTO<SearchResultDTO> first = searchService.search("john", Set.of(SearchType.CUSTOMER), 0, 2);
+        assertEquals(2, first.getContent().size());
+        assertTrue(first.isHasNext());
+
+        searchIndex.remove(SearchType.CUSTOMER, 2L);
+        SliceDTO<SearchResultDTO> afterRemove = searchService.search("john", Set.of(SearchType.CUSTOMER), 0, 2);
+        assertEquals(2, afterRemove.getContent().size());
+        assertFalse(afterRemove.isHasNext());
+    }
+
+    @Test
+    public void testSearch_InquiryFindsCustomerNameWithoutLoadingCustomer() {
+        // Only the id is known, as with an unloaded customer proxy
+        User customerReference = new User();
+        customerReference.setId(3L);
+        Inquiry inquiry = new Inquiry(customerReference, "BILLING", "Charged twice", "Double charge",
+                InquiryStatus.OPEN, null);
+        inquiry.setId(20L);
+        searchIndex.index(SearchDocuments.of(inquiry));
+
+        SliceDTO<SearchResultDTO> result = searchService.search("mary charge", Set.of(SearchType.INQUIRY), null, null);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals("Mary Perera", result.getContent().getFirst().getSubtitle());
+    }
+
+    @Test
+    public void testSearch_RenamingCustomerReindexesTheirInquiries() {
+        User customerReference = new User();
+        customerReference.setId(3L);
+        Inquiry inquiry = new Inquiry(customerReference, "BILLING", "Charged twice", "Double charge",
+                InquiryStatus.OPEN, null);
+        inquiry.setId(20L);
+        searchIndex.index(SearchDocuments.of(inquiry));
+
+        searchIndex.index(SearchDocuments.of(customer(3L, "Mary Fernando", "mary.johnson@example.com")));
+
+        assertTrue(searchService.search("perera", Set.of(SearchType.INQUIRY), null, null).getContent().isEmpty());
+        SliceDTO<SearchResultDTO> result = searchService.search("fernando", Set.of(SearchType.INQUIRY), null, null);
+        assertEquals(1, result.getContent().size());
+        assertEquals("Mary Fernando", result.getContent().getFirst().getSubtitle());
+    }
+
+    @Test
+    public void testRebuild_KeepsChangesMadeWhileItRuns() {
+        SearchIndex rebuilt = searchIndex.startRebuild();
+        rebuilt.index(SearchDocuments.of(customer(1L, "John Doe", "john@example.com")));
+        // Committed on this node after the rebuild read the customers
+        searchIndex.index(SearchDocuments.of(customer(4L, "Johan Mendis", "johan@example.com")));
+        searchIndex.finishRebuild(rebuilt);
+
+        SliceDTO<SearchResultDTO> result = searchService.search("joh", Set.of(SearchType.CUSTOMER), null, null);
+        assertEquals(List.of(1L, 4L), result.getContent().stream().map(SearchResultDTO::getId).sorted().toList());
+    }
+
+    @Test
+    public void testSearch_KeepsOnlyTheBestHits() {
+        List<SearchIndex.SearchHit> hits = searchIndex.search("john", EnumSet.allOf(SearchType.class), 2);
+
+        assertEquals(2, hits.size());
+        assertEquals(1L, hits.getFirst().document().getId());
+        assertTrue(hits.get(0).score() >= hits.get(1).score());
+    }
+
+    @Test
+    public void testSearch_EmptyQuery() {
+        assertThrows(ValidationException.class, () -> searchService.search(" ", null, null, null));
+    }
+
+    private User customer(Long id, String name, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(Role.CUSTOMER);
+        return user;
+    }
+}
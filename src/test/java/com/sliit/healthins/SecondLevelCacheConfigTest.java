@@ -0,0 +1,81 @@
+package com.sliit.healthins;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.sliit.healthins.config.SecondLevelCacheConfig;
+import org.hibernate.cache.spi.RegionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecondLevelCacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @AfterEach
+    public void tearDown() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<Object, Object> configuration(String region) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        assertNotNull(cache, region);
+        return cache.getConfiguration(CaffeineConfiguration.class);
+    }
+
+    @Test
+    public void testRegions_AreBoundedAndExpire() {
+        cacheManager = new SecondLevelCacheConfig().hibernateCacheManager(new MockEnvironment());
+
+        for (String region : new String[]{SecondLevelCacheConfig.CAMPAIGN, SecondLevelCacheConfig.CUSTOMER_SEGMENT,
+                SecondLevelCacheConfig.CUSTOMER_SEGMENT_MEMBERS, SecondLevelCacheConfig.EMPLOYEE,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME}) {
+            assertTrue(configuration(region).getMaximumSize().isPresent(), region);
+            assertTrue(configuration(region).getExpireAfterWrite().isPresent(), region);
+        }
+    }
+
+    @Test
+    public void testUpdateTimestampsRegion_IsNeverEvicted() {
+        cacheManager = new SecondLevelCacheConfig().hibernateCacheManager(new MockEnvironment());
+
+        CaffeineConfiguration<Object, Object> timestamps =
+                configuration(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+        assertTrue(timestamps.getMaximumSize().isEmpty());
+        assertTrue(timestamps.getExpireAfterWrite().isEmpty());
+    }
+
+    @Test
+    public void testEachContextGetsItsOwnCacheManager() {
+        cacheManager = new SecondLevelCacheConfig().hibernateCacheManager(new MockEnvironment());
+        CacheManager second = new SecondLevelCacheConfig().hibernateCacheManager(new MockEnvironment());
+        try {
+            assertNotSame(cacheManager, second);
+            assertNotNull(second.getCache(SecondLevelCacheConfig.CAMPAIGN));
+        } finally {
+            second.close();
+        }
+    }
+
+    @Test
+    public void testRegionLimits_CanBeOverridden() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("cache.l2.campaign.max-size", "50")
+                .withProperty("cache.l2.campaign.ttl-seconds", "30");
+
+        cacheManager = new SecondLevelCacheConfig().hibernateCacheManager(environment);
+
+        assertEquals(OptionalLong.of(50), configuration(SecondLevelCacheConfig.CAMPAIGN).getMaximumSize());
+        assertEquals(OptionalLong.of(Duration.ofSeconds(30).toNanos()),
+                configuration(SecondLevelCacheConfig.CAMPAIGN).getExpireAfterWrite());
+    }
+}
@@ -0,0 +1,124 @@
+package com.sliit.healthins;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sliit.healthins.config.SystemConfig;
+import com.sliit.healthins.config.SystemConfigChangedEvent;
+import com.sliit.healthins.config.SystemConfigStore;
+import com.sliit.healthins.dto.EmailConfigDTO;
+import com.sliit.healthins.dto.SecurityConfigDTO;
+import com.sliit.healthins.repository.SystemConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SystemConfigStoreTest {
+
+    @Mock
+    private SystemConfigRepository systemConfigRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SystemConfigStore store;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        store = new SystemConfigStore(systemConfigRepository, eventPublisher, new ObjectMapper());
+    }
+
+    private static SystemConfig row(String name, String value) {
+        SystemConfig config = new SystemConfig();
+        config.setConfigName(name);
+        config.setValue(value);
+        return config;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSave_PersistsNonNullFieldsAndPublishesChanges() {
+        SystemConfig existing = row("email.smtpServer", "old.example.com");
+        when(systemConfigRepository.findByConfigNameIn(anyCollection())).thenReturn(List.of(existing));
+
+        store.save(SystemConfigStore.EMAIL, new EmailConfigDTO("smtp.example.com", 465, "mailer", null, true));
+
+        ArgumentCaptor<List<SystemConfig>> saved = ArgumentCaptor.forClass(List.class);
+        verify(systemConfigRepository).saveAll(saved.capture());
+        assertEquals(4, saved.getValue().size());
+        assertTrue(saved.getValue().contains(existing));
+        assertEquals("smtp.example.com", existing.getValue());
+
+        ArgumentCaptor<SystemConfigChangedEvent> event = ArgumentCaptor.forClass(SystemConfigChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().sectionChanged(SystemConfigStore.EMAIL));
+        assertFalse(event.getValue().changed("email.smtpPassword"));
+
+        EmailConfigDTO current = store.get(SystemConfigStore.EMAIL, EmailConfigDTO.class);
+        assertEquals(465, current.getSmtpPort());
+        assertTrue(current.isSmtpSSL());
+        assertNull(current.getSmtpPassword());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSave_NeverStoresSecrets() {
+        when(systemConfigRepository.findByConfigNameIn(anyCollection())).thenReturn(Collections.emptyList());
+
+        store.save(SystemConfigStore.EMAIL, new EmailConfigDTO("smtp.example.com", 465, "mailer", "hunter2", true));
+        store.save(SystemConfigStore.EMAIL, new EmailConfigDTO("smtp.example.com", 465, "mailer", "", true));
+
+        ArgumentCaptor<List<SystemConfig>> saved = ArgumentCaptor.forClass(List.class);
+        verify(systemConfigRepository, times(2)).saveAll(saved.capture());
+        assertTrue(saved.getAllValues().stream().flatMap(List::stream)
+                .noneMatch(row -> row.getConfigName().equals("email.smtpPassword")));
+        assertTrue(store.snapshot().get("email.smtpPassword").isEmpty());
+    }
+
+    @Test
+    public void testRefresh_DeletesSecretsStoredByOlderVersions() {
+        SystemConfig secret = row("payment.privateKey", "pk_live_123");
+        when(systemConfigRepository.findAll()).thenReturn(List.of(secret, row("payment.merchantId", "M-1")));
+
+        store.refresh();
+
+        verify(systemConfigRepository).deleteAll(List.of(secret));
+        assertEquals(Map.of("merchantId", "M-1"), store.snapshot().section(SystemConfigStore.PAYMENT));
+    }
+
+    @Test
+    public void testSave_SameValuesPublishNothing() {
+        when(systemConfigRepository.findByConfigNameIn(anyCollection())).thenReturn(Collections.emptyList());
+        SecurityConfigDTO dto = new SecurityConfigDTO(30, null, false, false, 5);
+
+        store.save(SystemConfigStore.SECURITY, dto);
+        store.save(SystemConfigStore.SECURITY, dto);
+
+        verify(eventPublisher, times(1)).publishEvent(any(SystemConfigChangedEvent.class));
+        assertEquals(5, store.snapshot().getInt("security.maxLoginAttempts", 0));
+    }
+
+    @Test
+    public void testRefresh_InstallsTableAndReportsRemovedKeys() {
+        when(systemConfigRepository.findAll()).thenReturn(List.of(row("api.apiRateLimit", "1000"),
+                row("system.siteName", "HealthInsure")));
+        store.refresh();
+        when(systemConfigRepository.findAll()).thenReturn(List.of(row("api.apiRateLimit", "500")));
+
+        store.refresh();
+
+        ArgumentCaptor<SystemConfigChangedEvent> events = ArgumentCaptor.forClass(SystemConfigChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(Set.of("api.apiRateLimit", "system.siteName"), events.getValue().changedKeys());
+        assertEquals(Map.of("apiRateLimit", "500"), store.snapshot().section(SystemConfigStore.API));
+    }
+}
@@ -0,0 +1,136 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.config.TokenAuthenticationFilter;
+import com.sliit.healthins.config.TokenRevocationList;
+import com.sliit.healthins.config.TokenService;
+import com.sliit.healthins.dto.UserPrincipalDTO;
+import com.sliit.healthins.model.Role;
+import com.sliit.healthins.model.TokenWatermark;
+import com.sliit.healthins.repository.RevokedTokenRepository;
+import com.sliit.healthins.repository.TokenWatermarkRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class TokenRevocationListTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+    @Mock
+    private TokenWatermarkRepository tokenWatermarkRepository;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testFilter_RejectsTokenIssuedBeforeUserWatermark() throws Exception {
+        String token = tokens(NOW).issue(staff(true)).token();
+        TokenRevocationList revocationList = revocationList(NOW.plusSeconds(60));
+
+        revocationList.revokeUserTokens(7L);
+
+        verify(tokenWatermarkRepository).save(any(TokenWatermark.class));
+        assertFalse(authenticates(tokens(NOW.plusSeconds(90)), revocationList, token));
+        assertTrue(authenticates(tokens(NOW.plusSeconds(90)), revocationList,
+                tokens(NOW.plusSeconds(61)).issue(staff(true)).token()));
+    }
+
+    @Test
+    public void testFilter_RejectsTokenOfDeactivatedStaff() throws Exception {
+        TokenService tokens = tokens(NOW);
+
+        assertFalse(authenticates(tokens, revocationList(NOW), tokens.issue(staff(false)).token()));
+        assertTrue(authenticates(tokens, revocationList(NOW), tokens.issue(staff(true)).token()));
+    }
+
+    @Test
+    public void testRefresh_LoadsWatermarksSetOnOtherNodes() throws Exception {
+        String token = tokens(NOW).issue(staff(true)).token();
+        when(tokenWatermarkRepository.findActive(any(LocalDateTime.class))).thenReturn(
+                List.of(new TokenWatermark(7L, NOW.plusSeconds(30).toEpochMilli(), LocalDateTime.now().plusDays(1))));
+        TokenRevocationList revocationList = revocationList(NOW.plusSeconds(60));
+
+        assertTrue(authenticates(tokens(NOW.plusSeconds(60)), revocationList, token));
+        revocationList.refresh();
+
+        assertFalse(authenticates(tokens(NOW.plusSeconds(60)), revocationList, token));
+    }
+
+    @Test
+    public void testFilter_AcceptsLoginLaterInTheSecondOfTheRevocation() throws Exception {
+        TokenRevocationList revocationList = revocationList(NOW.plusMillis(100));
+        revocationList.revokeUserTokens(7L);
+
+        assertTrue(authenticates(tokens(NOW.plusMillis(200)), revocationList,
+                tokens(NOW.plusMillis(200)).issue(staff(true)).token()));
+        assertFalse(authenticates(tokens(NOW.plusMillis(200)), revocationList,
+                tokens(NOW.plusMillis(50)).issue(staff(true)).token()));
+    }
+
+    @Test
+    public void testRefresh_KeepsTokensRevokedWhileItRan() throws Exception {
+        TokenService tokens = tokens(NOW);
+        TokenService.IssuedToken issued = tokens.issue(staff(true));
+        TokenRevocationList revocationList = revocationList(NOW);
+        // The refresh reads the table before this node's revocation is committed
+        when(revokedTokenRepository.findActive(any(LocalDateTime.class))).thenAnswer(invocation -> {
+            revocationList.revoke(issued.jti(), issued.expiresAt());
+            return List.of();
+        });
+
+        revocationList.refresh();
+
+        assertFalse(authenticates(tokens, revocationList, issued.token()));
+    }
+
+    private boolean authenticates(TokenService tokens, TokenRevocationList revocationList, String token)
+            throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        new TokenAuthenticationFilter(tokens, revocationList)
+                .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication() != null;
+    }
+
+    private UserPrincipalDTO staff(boolean active) {
+        return new UserPrincipalDTO(7L, "jane_admin", "hash", "Jane Admin", "jane@example.com", Role.ADMIN, active);
+    }
+
+    private TokenService tokens(Instant now) {
+        return new TokenService("k1", SECRET, "", Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private TokenRevocationList revocationList(Instant now) {
+        return new TokenRevocationList(revokedTokenRepository, tokenWatermarkRepository, Duration.ofHours(1),
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,68 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.config.CustomUserDetails;
+import com.sliit.healthins.config.TokenService;
+import com.sliit.healthins.dto.UserPrincipalDTO;
+import com.sliit.healthins.model.Role;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final String NEW_SECRET = "fedcba9876543210fedcba9876543210";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final UserPrincipalDTO principal =
+            new UserPrincipalDTO(7L, "john_doe", "hash", "John Doe", "john@example.com", Role.POLICYHOLDER, true);
+
+    @Test
+    public void testVerify_RebuildsPrincipalFromClaims() {
+        TokenService tokens = service("k1", SECRET, "", NOW);
+        TokenService.IssuedToken issued = tokens.issue(principal);
+
+        TokenService.VerifiedToken verified = tokens.verify(issued.token()).orElseThrow();
+
+        CustomUserDetails details = verified.userDetails();
+        assertEquals(7L, details.getId());
+        assertEquals("john_doe", details.getUsername());
+        assertEquals(Role.POLICYHOLDER, details.getRole());
+        assertNull(details.getPassword());
+        assertEquals("ROLE_POLICYHOLDER", details.getAuthorities().iterator().next().getAuthority());
+        assertEquals(issued.jti(), verified.jti());
+    }
+
+    @Test
+    public void testVerify_RejectsTamperedAndExpiredTokens() {
+        TokenService tokens = service("k1", SECRET, "", NOW);
+        String token = tokens.issue(principal).token();
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + parts[1].substring(0, parts[1].length() - 2) + "AA." + parts[2];
+
+        assertTrue(tokens.verify(forged).isEmpty());
+        assertTrue(tokens.verify("not-a-token").isEmpty());
+        assertTrue(service("k1", NEW_SECRET, "", NOW).verify(token).isEmpty());
+        assertTrue(service("k1", SECRET, "", NOW.plus(Duration.ofHours(2))).verify(token).isEmpty());
+    }
+
+    @Test
+    public void testVerify_AcceptsTokensSignedWithPreviousKey() {
+        String oldToken = service("k1", SECRET, "", NOW).issue(principal).token();
+
+        TokenService rotated = service("k2", NEW_SECRET, "k1:" + SECRET, NOW);
+
+        assertTrue(rotated.verify(oldToken).isPresent());
+        assertTrue(rotated.verify(rotated.issue(principal).token()).isPresent());
+        assertTrue(service("k2", NEW_SECRET, "", NOW).verify(oldToken).isEmpty());
+    }
+
+    private TokenService service(String keyId, String secret, String previous, Instant now) {
+        return new TokenService(keyId, secret, previous, Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
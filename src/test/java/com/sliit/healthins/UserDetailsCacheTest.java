@@ -0,0 +1,139 @@
+package com.sliit.healthins;
+
+import com.sliit.healthins.config.CustomUserDetails;
+import com.sliit.healthins.config.UserAccessInvalidator;
+import com.sliit.healthins.config.UserDetailsCache;
+import com.sliit.healthins.dto.UserPrincipalDTO;
+import com.sliit.healthins.model.Role;
+import com.sliit.healthins.model.UserCacheEviction;
+import com.sliit.healthins.repository.UserCacheEvictionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class UserDetailsCacheTest {
+
+    private MutableClock clock;
+    private UserDetailsCache cache;
+    private AtomicInteger loads;
+    private Function<String, CustomUserDetails> loader;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        cache = new UserDetailsCache(2, Duration.ofMinutes(5), clock);
+        loads = new AtomicInteger();
+        loader = username -> {
+            loads.incrementAndGet();
+            return new CustomUserDetails(new UserPrincipalDTO((long) loads.get(), username, "hash", username, username + "@example.com", Role.CUSTOMER, true));
+        };
+    }
+
+    @Test
+    public void testGet_ServesFromCacheUntilTtlExpires() {
+        CustomUserDetails first = cache.get("john", loader);
+        assertSame(first, cache.get("john", loader));
+        assertEquals(1, loads.get());
+
+        clock.advance(Duration.ofMinutes(5));
+
+        assertNotSame(first, cache.get("john", loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testGet_EvictsLeastRecentlyUsedBeyondMaxSize() {
+        cache.get("a", loader);
+        cache.get("b", loader);
+        cache.get("a", loader);
+        cache.get("c", loader);
+
+        assertEquals(2, cache.size());
+        cache.get("a", loader);
+        assertEquals(3, loads.get());
+        cache.get("b", loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testEvict_ForcesReload() {
+        cache.get("john", loader);
+        cache.evict("john");
+        cache.get("john", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSync_ReplaysEvictionsWrittenByOtherNodes() {
+        UserCacheEvictionRepository repository = mock(UserCacheEvictionRepository.class);
+        UserAccessInvalidator invalidator = new UserAccessInvalidator(cache, repository,
+                mock(ObjectProvider.class), Duration.ofMinutes(5), clock);
+        cache.get("john", loader);
+        cache.get("jane", loader);
+        when(repository.findSince(any())).thenReturn(List.of(new UserCacheEviction(1L, "john", LocalDateTime.now())));
+
+        invalidator.sync();
+
+        cache.get("john", loader);
+        cache.get("jane", loader);
+        assertEquals(3, loads.get());
+        verify(repository).deleteBefore(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEvictAll_IsSharedWithOtherNodes() {
+        UserCacheEvictionRepository repository = mock(UserCacheEvictionRepository.class);
+        UserAccessInvalidator invalidator = new UserAccessInvalidator(cache, repository,
+                mock(ObjectProvider.class), Duration.ofMinutes(5), clock);
+        cache.get("john", loader);
+
+        invalidator.evictAll();
+
+        assertEquals(0, cache.size());
+        verify(repository).save(argThat(eviction -> eviction.getUsername() == null));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}